@@ -0,0 +1,162 @@
+package sobol.base.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import sobol.base.solution.SolutionSet;
+
+/**
+ * Evaluates groups of solutions, either one after the other or spread over the threads
+ * of an executor. Each evaluation only writes the objectives of its own solution, so the
+ * results do not depend on the order in which the evaluations finish, as long as the
+ * problem can evaluate different solutions at the same time.
+ */
+public class BatchEvaluator
+{
+	/**
+	 * Problem that evaluates the solutions
+	 */
+	private Problem problem;
+
+	/**
+	 * Executor that runs the evaluations, or null to run them in the calling thread
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Number of solutions evaluated by each task submitted to the executor
+	 */
+	private int chunkSize;
+
+	/**
+	 * Creates an evaluator that runs the evaluations on an executor
+	 * 
+	 * @param problem		Problem that evaluates the solutions
+	 * @param executor		Executor that runs the evaluations, or null to run them in sequence
+	 * @param chunkSize		Number of solutions evaluated by each task
+	 */
+	public BatchEvaluator(Problem problem, ExecutorService executor, int chunkSize)
+	{
+		if (chunkSize < 1)
+			throw new IllegalArgumentException("Each evaluation task must hold at least one solution");
+		
+		this.problem = problem;
+		this.executor = executor;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Creates an evaluator that runs the evaluations on an executor, one solution per task
+	 */
+	public BatchEvaluator(Problem problem, ExecutorService executor)
+	{
+		this(problem, executor, 1);
+	}
+
+	/**
+	 * Creates an evaluator that runs the evaluations in the calling thread
+	 */
+	public BatchEvaluator(Problem problem)
+	{
+		this(problem, null, 1);
+	}
+
+	/**
+	 * Returns the problem that evaluates the solutions
+	 */
+	public Problem getProblem()
+	{
+		return problem;
+	}
+
+	/**
+	 * Evaluates the solutions of a set placed between two positions
+	 * 
+	 * @param solutions		Set holding the solutions
+	 * @param from			Position of the first solution to evaluate
+	 * @param to			Position after the last solution to evaluate
+	 */
+	public void evaluate(final SolutionSet solutions, int from, int to)
+	{
+		if (executor == null || to - from <= 1)
+		{
+			for (int i = from; i < to; i++)
+				problem.evaluate(solutions.get(i));
+			
+			return;
+		}
+		
+		List<Future<?>> tasks = new ArrayList<Future<?>>();
+		
+		for (int start = from; start < to; start += chunkSize)
+		{
+			final int first = start;
+			final int last = Math.min(to, start + chunkSize);
+			
+			tasks.add(executor.submit(new Runnable()
+			{
+				public void run()
+				{
+					for (int i = first; i < last; i++)
+						problem.evaluate(solutions.get(i));
+				}
+			}));
+		}
+		
+		await(tasks);
+	}
+
+	/**
+	 * Evaluates all the solutions of a set
+	 */
+	public void evaluate(SolutionSet solutions)
+	{
+		evaluate(solutions, 0, solutions.size());
+	}
+
+	/**
+	 * Waits for all the tasks of a batch, reporting the first failure after all of them end
+	 */
+	private static void await(List<Future<?>> tasks)
+	{
+		Throwable failure = null;
+		boolean interrupted = false;
+		
+		for (Future<?> task : tasks)
+		{
+			while (true)
+			{
+				try
+				{
+					task.get();
+					break;
+				}
+				catch (InterruptedException e)
+				{
+					interrupted = true;
+				}
+				catch (ExecutionException e)
+				{
+					if (failure == null)
+						failure = e.getCause();
+					
+					break;
+				}
+			}
+		}
+		
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		
+		if (failure instanceof Error)
+			throw (Error) failure;
+		
+		if (failure != null)
+			throw new IllegalStateException("Could not evaluate a solution", failure);
+	}
+}
\ No newline at end of file
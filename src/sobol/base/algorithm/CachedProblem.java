@@ -0,0 +1,180 @@
+package sobol.base.algorithm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import sobol.base.solution.Solution;
+
+/**
+ * Problem that keeps the objective values of the solutions recently evaluated by another
+ * problem, so that solutions with the same values are not evaluated again. Solutions are
+ * indexed by the hash of their values and compared value by value before the cached
+ * objectives are used. The cache is split into segments, each one kept in least recently
+ * used order and locked on its own, so that it may be shared by concurrent evaluations.
+ * The cached copies have no values pending, so comparing them outside the lock only
+ * reads them.
+ */
+public class CachedProblem extends Problem
+{
+	/**
+	 * Distance below which two solutions are considered identical
+	 */
+	private static final double EPSILON = 1e-10;
+
+	/**
+	 * Default number of segments of the cache
+	 */
+	private static final int DEFAULT_SEGMENTS = 16;
+
+	/**
+	 * Problem that evaluates the solutions not found in the cache
+	 */
+	private Problem problem;
+
+	/**
+	 * Segments of the cache, selected by the hash of the solutions
+	 */
+	private Segment[] segments;
+
+	/**
+	 * Number of evaluations answered by the cache
+	 */
+	private AtomicLong hits;
+
+	/**
+	 * Number of evaluations forwarded to the problem
+	 */
+	private AtomicLong misses;
+
+	/**
+	 * Creates a cache for a problem
+	 * 
+	 * @param problem		Problem that evaluates the solutions
+	 * @param capacity		Maximum number of solutions kept in the cache
+	 * @param segmentCount	Number of segments that can be used at the same time
+	 */
+	public CachedProblem(Problem problem, int capacity, int segmentCount)
+	{
+		super(problem.solutionType_, problem.getNumberOfObjectives());
+		
+		if (capacity < segmentCount || segmentCount < 1)
+			throw new IllegalArgumentException("The capacity of the cache must be at least the number of segments");
+		
+		this.problem = problem;
+		this.segments = new Segment[segmentCount];
+		this.hits = new AtomicLong();
+		this.misses = new AtomicLong();
+		
+		for (int i = 0; i < segmentCount; i++)
+			segments[i] = new Segment(capacity / segmentCount + ((i < capacity % segmentCount) ? 1 : 0));
+	}
+
+	/**
+	 * Creates a cache for a problem with the default number of segments
+	 * 
+	 * @param problem		Problem that evaluates the solutions
+	 * @param capacity		Maximum number of solutions kept in the cache
+	 */
+	public CachedProblem(Problem problem, int capacity)
+	{
+		this(problem, capacity, Math.min(DEFAULT_SEGMENTS, capacity));
+	}
+
+	/**
+	 * Returns the problem that evaluates the solutions not found in the cache
+	 */
+	public Problem getProblem()
+	{
+		return problem;
+	}
+
+	/**
+	 * Returns the number of evaluations answered by the cache
+	 */
+	public long getHitCount()
+	{
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of evaluations forwarded to the problem
+	 */
+	public long getMissCount()
+	{
+		return misses.get();
+	}
+
+	/**
+	 * Removes all solutions from the cache and resets the counters
+	 */
+	public void clear()
+	{
+		for (Segment segment : segments)
+			synchronized (segment)
+			{
+				segment.clear();
+			}
+		
+		hits.set(0);
+		misses.set(0);
+	}
+
+	/**
+	 * Evaluates a solution, copying the objective values of an identical solution found
+	 * in the cache or asking the problem otherwise
+	 */
+	@Override
+	public void evaluate(Solution solution)
+	{
+		long hash = solution.getGenotypeHash();
+		Segment segment = segments[(int) ((hash ^ (hash >>> 32)) & 0x7FFFFFFF) % segments.length];
+		Solution cached;
+		
+		synchronized (segment)
+		{
+			cached = segment.get(hash);
+		}
+		
+		if (cached != null && cached.numberOfVariables() == solution.numberOfVariables() && cached.calculateDistance(solution) < EPSILON)
+		{
+			for (int i = 0; i < numberOfObjectives_; i++)
+				solution.setObjective(i, cached.getObjective(i));
+			
+			hits.incrementAndGet();
+			return;
+		}
+		
+		problem.evaluate(solution);
+		misses.incrementAndGet();
+		cached = solution.clone();
+		cached.drawAll();
+		
+		synchronized (segment)
+		{
+			segment.put(hash, cached);
+		}
+	}
+
+	/**
+	 * Segment of the cache, holding copies of the evaluated solutions by hash and
+	 * dropping the least recently used one when full
+	 */
+	private static class Segment extends LinkedHashMap<Long, Solution>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private int capacity;
+		
+		public Segment(int capacity)
+		{
+			super(2 * capacity, 0.75f, true);
+			this.capacity = capacity;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Solution> eldest)
+		{
+			return size() > capacity;
+		}
+	}
+}
\ No newline at end of file
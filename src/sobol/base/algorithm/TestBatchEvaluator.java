@@ -0,0 +1,95 @@
+package sobol.base.algorithm;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import junit.framework.TestCase;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.solution.IntSolution;
+import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionSet;
+import sobol.base.solutionType.IntSolutionType;
+
+public class TestBatchEvaluator extends TestCase
+{
+	private static final int SIZE = 200;
+	
+	private Problem createProblem()
+	{
+		return new Problem(new IntSolutionType(10, 0, 100), 1)
+		{
+			public void evaluate(Solution solution)
+			{
+				IntSolution intSolution = (IntSolution) solution;
+				
+				if (intSolution.getValue(0) < 0)
+					throw new IllegalArgumentException("Negative value");
+				
+				double sum = 0;
+				
+				for (int i = 0; i < intSolution.numberOfVariables(); i++)
+					sum += intSolution.getValue(i) * (i + 1);
+				
+				solution.setObjective(0, sum);
+			}
+		};
+	}
+	
+	public void testParallelEvaluation()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		Problem problem = createProblem();
+		SolutionSet solutions = new SolutionSet(SIZE);
+		
+		for (int i = 0; i < SIZE; i++)
+			solutions.add(problem.newSolution());
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try
+		{
+			new BatchEvaluator(problem, executor, 7).evaluate(solutions, 10, SIZE);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		for (int i = 0; i < SIZE; i++)
+		{
+			Solution expected = solutions.get(i).clone();
+			expected.setObjective(0, 0.0);
+			
+			if (i >= 10)
+				problem.evaluate(expected);
+			
+			assertEquals(expected.getObjective(0), solutions.get(i).getObjective(0), 0.0);
+		}
+	}
+	
+	public void testFailure()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		Problem problem = createProblem();
+		SolutionSet solutions = new SolutionSet(SIZE);
+		
+		for (int i = 0; i < SIZE; i++)
+			solutions.add(problem.newSolution());
+		
+		((IntSolution) solutions.get(50)).setValue(0, -1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try
+		{
+			new BatchEvaluator(problem, executor).evaluate(solutions);
+			fail();
+		}
+		catch (IllegalArgumentException e)
+		{
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+}
\ No newline at end of file
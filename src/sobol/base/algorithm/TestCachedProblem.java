@@ -0,0 +1,126 @@
+package sobol.base.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import junit.framework.TestCase;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.solution.IntSolution;
+import sobol.base.solution.Solution;
+import sobol.base.solutionType.IntSolutionType;
+
+public class TestCachedProblem extends TestCase
+{
+	private int evaluations;
+	
+	private Problem createProblem()
+	{
+		return createProblem(new IntSolutionType(3, 0, 4));
+	}
+	
+	private Problem createProblem(IntSolutionType type)
+	{
+		return new Problem(type, 2)
+		{
+			public void evaluate(Solution solution)
+			{
+				IntSolution intSolution = (IntSolution) solution;
+				evaluations++;
+				solution.setObjective(0, intSolution.getValue(0) + intSolution.getValue(1));
+				solution.setObjective(1, intSolution.getValue(1) * intSolution.getValue(2));
+			}
+		};
+	}
+	
+	public void testCache()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		Problem original = createProblem();
+		CachedProblem cached = new CachedProblem(original, 1000);
+		evaluations = 0;
+		
+		for (int i = 0; i < 300; i++)
+		{
+			Solution solution = cached.newSolution();
+			cached.evaluate(solution);
+			
+			Solution expected = solution.clone();
+			original.evaluate(expected);
+			assertEquals(expected.getObjective(0), solution.getObjective(0), 0.0);
+			assertEquals(expected.getObjective(1), solution.getObjective(1), 0.0);
+		}
+		
+		assertEquals(300, cached.getHitCount() + cached.getMissCount());
+		assertEquals(64, cached.getMissCount());
+		assertEquals(300 + 64, evaluations);
+	}
+	
+	public void testEviction()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		CachedProblem cached = new CachedProblem(createProblem(), 1, 1);
+		IntSolution first = (IntSolution) cached.newSolution();
+		IntSolution second = (IntSolution) first.clone();
+		second.setValue(0, (first.getValue(0) + 1) % 4);
+		
+		cached.evaluate(first);
+		cached.evaluate(first);
+		cached.evaluate(second);
+		cached.evaluate(first);
+		assertEquals(1, cached.getHitCount());
+		assertEquals(3, cached.getMissCount());
+	}
+	
+	public void testConcurrentSparseSolutions() throws Exception
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		IntSolutionType type = new IntSolutionType(200, 0, 4);
+		type.setSparseInitialization(true);
+		final Problem original = createProblem(type);
+		final CachedProblem cached = new CachedProblem(original, 100);
+		final List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 20; i++)
+			solutions.add(cached.newSolution());
+		
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+		
+		try
+		{
+			for (int task = 0; task < 8; task++)
+				results.add(executor.submit(new Callable<Boolean>()
+				{
+					public Boolean call()
+					{
+						for (int round = 0; round < 50; round++)
+							for (Solution solution : solutions)
+							{
+								Solution copy = solution.clone();
+								cached.evaluate(copy);
+								Solution expected = copy.clone();
+								original.evaluate(expected);
+								
+								if (expected.getObjective(0) != copy.getObjective(0) || expected.getObjective(1) != copy.getObjective(1))
+									return false;
+							}
+						
+						return true;
+					}
+				}));
+			
+			for (Future<Boolean> result : results)
+				assertTrue(result.get());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		assertEquals(8 * 50 * 20, cached.getHitCount() + cached.getMissCount());
+	}
+}
\ No newline at end of file
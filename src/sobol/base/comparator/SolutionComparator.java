@@ -24,6 +24,9 @@ public class SolutionComparator implements Comparator<Solution>
 		if (solution1.numberOfVariables() != solution2.numberOfVariables())
 			return -1;
 		
+		if (solution1.getGenotypeHash() != solution2.getGenotypeHash())
+			return -1;
+		
 		if (solution1.calculateDistance(solution2) < EPSILON)
 			return 0;
 		
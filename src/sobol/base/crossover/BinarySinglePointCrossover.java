@@ -9,11 +9,13 @@ public class BinarySinglePointCrossover implements CrossoverOperator
 {
 	private AbstractRandomGenerator random;
 	private double probability;
+	private int[] point;
 	
 	public BinarySinglePointCrossover(double probability)
 	{
 		this.random = RandomGeneratorFactory.createForOperator(1);
 		this.probability = probability;
+		this.point = new int[1];
 	}
 
 	public Solution[] execute(Solution parent0, Solution parent1)
@@ -21,26 +23,32 @@ public class BinarySinglePointCrossover implements CrossoverOperator
 		BinarySolution[] offSpring = new BinarySolution[2];
 		offSpring[0] = (BinarySolution) parent0.clone();
 		offSpring[1] = (BinarySolution) parent1.clone();
+		recombine(offSpring[0], offSpring[1]);
+		return offSpring;
+	}
 
-		if (random.singleDouble() < probability)
-		{
-			int numberOfBits = parent0.numberOfVariables();
-			int crossoverPoint = random.randInt(0, numberOfBits - 1)[0];
-
-			for (int i = crossoverPoint; i < numberOfBits; i++)
-			{
-				boolean swap = offSpring[0].bits_.get(i);
-				offSpring[0].bits_.set(i, offSpring[1].bits_.get(i));
-				offSpring[1].bits_.set(i, swap);
-			}
-		}
+	public void executeInto(Solution parent0, Solution parent1, Solution child0, Solution child1)
+	{
+		child0.copyFrom(parent0);
+		child1.copyFrom(parent1);
+		recombine((BinarySolution) child0, (BinarySolution) child1);
+	}
 
-		for (int i = 0; i < offSpring.length; i++)
+	/**
+	 * Recombines, in place, two solutions that start as copies of the parents
+	 */
+	private void recombine(BinarySolution child0, BinarySolution child1)
+	{
+		if (random.singleDouble() < probability)
 		{
-			offSpring[i].setCrowdingDistance(0.0);
-			offSpring[i].setRank(0);
+			int numberOfBits = child0.numberOfVariables();
+			random.randInt(0, numberOfBits - 1, point, 0, 1);
+			child0.exchangeFrom(child1, point[0]);
 		}
 
-		return offSpring;
+		child0.setCrowdingDistance(0.0);
+		child0.setRank(0);
+		child1.setCrowdingDistance(0.0);
+		child1.setRank(0);
 	}
 }
\ No newline at end of file
@@ -21,32 +21,42 @@ public class BinaryUniformCrossover implements CrossoverOperator
 		BinarySolution[] offSpring = new BinarySolution[2];
 		offSpring[0] = (BinarySolution) parent0.clone();
 		offSpring[1] = (BinarySolution) parent1.clone();
-		
+		recombine(offSpring[0], offSpring[1]);
+		return offSpring;
+	}
+
+	public void executeInto(Solution parent0, Solution parent1, Solution child0, Solution child1)
+	{
+		child0.copyFrom(parent0);
+		child1.copyFrom(parent1);
+		recombine((BinarySolution) child0, (BinarySolution) child1);
+	}
+
+	/**
+	 * Recombines, in place, two solutions that start as copies of the parents
+	 */
+	private void recombine(BinarySolution child0, BinarySolution child1)
+	{
 		if (random.singleDouble() < probability)
 		{
-			for (int j = 0; j < parent0.numberOfVariables(); j++)
+			int numberOfBits = child0.numberOfVariables();
+			
+			for (int w = 0; w < child0.getNumberOfWords(); w++)
 			{
-				boolean bit0 = offSpring[0].bits_.get(j);
-				boolean bit1 = offSpring[1].bits_.get(j);
-
-				if (random.singleDouble() > 0.5)
-				{
-					boolean swap = bit1;
-					bit1 = bit0;
-					bit0 = swap;
-				}
-
-				offSpring[0].bits_.set(j, bit0);
-				offSpring[1].bits_.set(j, bit1);
+				long mask = 0;
+				int last = Math.min(64, numberOfBits - (w << 6));
+
+				for (int j = 0; j < last; j++)
+					if (random.singleDouble() > 0.5)
+						mask |= 1L << j;
+
+				child0.exchangeWord(child1, w, mask);
 			}
 		}
 
-		for (int i = 0; i < offSpring.length; i++)
-		{
-			offSpring[i].setCrowdingDistance(0.0);
-			offSpring[i].setRank(0);
-		}
-		
-		return offSpring;
+		child0.setCrowdingDistance(0.0);
+		child0.setRank(0);
+		child1.setCrowdingDistance(0.0);
+		child1.setRank(0);
 	}
 }
\ No newline at end of file
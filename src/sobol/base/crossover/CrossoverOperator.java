@@ -9,7 +9,18 @@ package sobol.base.crossover;
 
 import sobol.base.solution.Solution;
 
+/**
+ * Operator that combines two parents into offspring. Implementations keep their random
+ * generator and scratch buffers in the instance, so an instance must be used by one
+ * thread at a time.
+ */
 public interface CrossoverOperator
 {
 	Solution[] execute(Solution parent0, Solution parent1);
+
+	/**
+	 * Writes the offspring of two parents into two existing solutions, whose previous
+	 * contents are discarded. The children must be distinct from the parents.
+	 */
+	void executeInto(Solution parent0, Solution parent1, Solution child0, Solution child1);
 }
\ No newline at end of file
@@ -9,11 +9,13 @@ public class IntSinglePointCrossover implements CrossoverOperator
 {
 	private AbstractRandomGenerator random;
 	private double probability;
+	private int[] point;
 
 	public IntSinglePointCrossover(double probability)
 	{
 		this.random = RandomGeneratorFactory.createForOperator(1);
 		this.probability = probability;
+		this.point = new int[1];
 	}
 
 	public Solution[] execute(Solution parent0, Solution parent1)
@@ -21,26 +23,39 @@ public class IntSinglePointCrossover implements CrossoverOperator
 		IntSolution[] offSpring = new IntSolution[2];
 		offSpring[0] = (IntSolution)parent0.clone();
 		offSpring[1] = (IntSolution)parent1.clone();
+		recombine(offSpring[0], offSpring[1]);
+		return offSpring;
+	}
+
+	public void executeInto(Solution parent0, Solution parent1, Solution child0, Solution child1)
+	{
+		child0.copyFrom(parent0);
+		child1.copyFrom(parent1);
+		recombine((IntSolution) child0, (IntSolution) child1);
+	}
 
+	/**
+	 * Recombines, in place, two solutions that start as copies of the parents
+	 */
+	private void recombine(IntSolution child0, IntSolution child1)
+	{
 		if (random.singleDouble() < probability)
 		{
-			int crossoverPoint = random.randInt(0, parent0.numberOfVariables() - 1)[0];
+			random.randInt(0, child0.numberOfVariables() - 1, point, 0, 1);
+			int crossoverPoint = point[0];
 
-			for (int i = crossoverPoint; i < parent0.numberOfVariables(); i++)
+			for (int i = crossoverPoint; i < child0.numberOfVariables(); i++)
 			{
-				int value0 = offSpring[0].getValue(i);
-				int value1 = offSpring[1].getValue(i);
-				offSpring[0].setValue(i, value1);
-				offSpring[1].setValue(i, value0);
+				int value0 = child0.getValue(i);
+				int value1 = child1.getValue(i);
+				child0.setValue(i, value1);
+				child1.setValue(i, value0);
 			}
 		}
 
-		for (int i = 0; i < offSpring.length; i++)
-		{
-			offSpring[i].setCrowdingDistance(0.0);
-			offSpring[i].setRank(0);
-		}
-
-		return offSpring;
+		child0.setCrowdingDistance(0.0);
+		child0.setRank(0);
+		child1.setCrowdingDistance(0.0);
+		child1.setRank(0);
 	}
 }
\ No newline at end of file
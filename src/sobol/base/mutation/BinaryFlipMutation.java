@@ -20,9 +20,20 @@ public class BinaryFlipMutation implements MutationOperator
 	{
 		BinarySolution binSolution = (BinarySolution)solution;
 		
-		for (int i = 0; i < binSolution.numberOfVariables(); i++)
-			if (random.singleDouble() < probability)
-				binSolution.bits_.flip(i);
+		int numberOfBits = binSolution.numberOfVariables();
+		
+		for (int w = 0; w < binSolution.getNumberOfWords(); w++)
+		{
+			long mask = 0;
+			int last = Math.min(64, numberOfBits - (w << 6));
+			
+			for (int j = 0; j < last; j++)
+				if (random.singleDouble() < probability)
+					mask |= 1L << j;
+			
+			if (mask != 0)
+				binSolution.flipWord(w, mask);
+		}
 
 		return solution;
 	}
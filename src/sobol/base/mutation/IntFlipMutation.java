@@ -10,11 +10,13 @@ public class IntFlipMutation implements MutationOperator
 {
 	private AbstractRandomGenerator random;
 	private double probability;
+	private int[] value;
 	
 	public IntFlipMutation(double probability)
 	{
 		this.random = RandomGeneratorFactory.createForOperator(1);
 		this.probability = probability;
+		this.value = new int[1];
 	}
 
 	public Solution execute(Solution solution)
@@ -25,8 +27,8 @@ public class IntFlipMutation implements MutationOperator
 		for (int i = 0; i < type.getSolutionSize(); i++)
 			if (random.singleDouble() < probability)
 			{
-				int value = random.randInt(type.getUpperBound(i), type.getLowerBound(i))[0];
-				intSolution.setValue(i, value);
+				random.randInt(type.getUpperBound(i), type.getLowerBound(i), value, 0, 1);
+				intSolution.setValue(i, value[0]);
 			}
 
 		return solution;
@@ -27,8 +27,7 @@ public class IntUniformMutation implements MutationOperator
 			{
 				int low = type.getLowerBound(i);
 				int high = type.getUpperBound(i);
-				double rand = low + random.singleDouble() * (high - low);
-				intSolution.setValue(i, (int)rand);
+				intSolution.setValue(i, low + (int)(random.singleDouble() * (high - low)));
 			}
 
 		return solution;
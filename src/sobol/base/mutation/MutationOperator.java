@@ -2,6 +2,11 @@ package sobol.base.mutation;
 
 import sobol.base.solution.Solution;
 
+/**
+ * Operator that changes a solution in place. As with the crossover operators, an
+ * instance keeps its random generator and buffers, and must be used by one thread at
+ * a time.
+ */
 public interface MutationOperator
 {
 	Solution execute(Solution object);
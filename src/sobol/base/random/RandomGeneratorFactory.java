@@ -5,8 +5,11 @@ import sobol.base.random.generic.AbstractRandomGeneratorFactory;
 
 public class RandomGeneratorFactory
 {
-	private static AbstractRandomGeneratorFactory currentOperatorFactory = null;
-	private static AbstractRandomGeneratorFactory currentPopulationFactory = null;
+	private static volatile AbstractRandomGeneratorFactory currentOperatorFactory = null;
+	private static volatile AbstractRandomGeneratorFactory currentPopulationFactory = null;
+	
+	private static final ThreadLocal<AbstractRandomGeneratorFactory> threadOperatorFactory = new ThreadLocal<AbstractRandomGeneratorFactory>();
+	private static final ThreadLocal<AbstractRandomGeneratorFactory> threadPopulationFactory = new ThreadLocal<AbstractRandomGeneratorFactory>();
 	
 	public static void setRandomFactoryForOperator(AbstractRandomGeneratorFactory factory)
 	{
@@ -18,19 +21,58 @@ public class RandomGeneratorFactory
 		currentPopulationFactory = factory;
 	}
 
+	/**
+	 * Sets the factory used for operators created by the current thread, overriding
+	 * the one shared by all threads. Algorithm runs executed in parallel should each
+	 * set their own factories, so that they never share generator streams.
+	 */
+	public static void setThreadRandomFactoryForOperator(AbstractRandomGeneratorFactory factory)
+	{
+		threadOperatorFactory.set(factory);
+	}
+
+	/**
+	 * Sets the factory used for populations created by the current thread, overriding
+	 * the one shared by all threads.
+	 */
+	public static void setThreadRandomFactoryForPopulation(AbstractRandomGeneratorFactory factory)
+	{
+		threadPopulationFactory.set(factory);
+	}
+
+	/**
+	 * Removes the factories set for the current thread, which falls back to the
+	 * factories shared by all threads
+	 */
+	public static void clearThreadRandomFactories()
+	{
+		threadOperatorFactory.remove();
+		threadPopulationFactory.remove();
+	}
+
 	public static AbstractRandomGenerator createForOperator(int dimensions)
 	{
-		if (currentOperatorFactory == null)
+		AbstractRandomGeneratorFactory factory = threadOperatorFactory.get();
+		
+		if (factory == null)
+			factory = currentOperatorFactory;
+		
+		if (factory == null)
 			throw new AssertionError("You have not set the random number generator factory for operators");
 		
-		return currentOperatorFactory.create(dimensions);
+		return factory.create(dimensions);
 	}
 	
 	public static AbstractRandomGenerator createForPopulation(int dimensions)
 	{
-		if (currentPopulationFactory == null)
+		AbstractRandomGeneratorFactory factory = threadPopulationFactory.get();
+		
+		if (factory == null)
+			factory = currentPopulationFactory;
+		
+		if (factory == null)
 			throw new AssertionError("You have not set the random number generator factory for the population");
 
-		return currentPopulationFactory.create(dimensions);
+		return factory.create(dimensions);
 	}
 }
\ No newline at end of file
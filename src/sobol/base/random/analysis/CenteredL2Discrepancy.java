@@ -0,0 +1,122 @@
+package sobol.base.random.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Calculates Hickernell's centered L2 discrepancy of a set of points:
+ * 
+ * CD^2 = (13/12)^s - (2/n) sum_i prod_k (1 + |x_ik - 1/2| / 2 - |x_ik - 1/2|^2 / 2)
+ *      + (1/n^2) sum_i sum_j prod_k (1 + |x_ik - 1/2| / 2 + |x_jk - 1/2| / 2 - |x_ik - x_jk| / 2)
+ * 
+ * The double sum takes O(n^2 s) time and is split by rows among worker threads.
+ */
+public class CenteredL2Discrepancy
+{
+	/**
+	 * Number of rows of the double sum handled by each task
+	 */
+	private static final int ROWS_PER_TASK = 64;
+
+	/**
+	 * Calculates the centered L2 discrepancy of a set of points
+	 * 
+	 * @param points		Coordinates of the points, one point after the other
+	 * @param dimensions	Number of dimensions of the points
+	 * @param count			Number of points
+	 * @param threads		Number of worker threads
+	 */
+	public static double calculate(final double[] points, final int dimensions, final int count, int threads) throws InterruptedException
+	{
+		final double[] distance = new double[count * dimensions];
+		double single = 0.0;
+
+		for (int i = 0; i < count; i++)
+		{
+			double product = 1.0;
+
+			for (int k = 0; k < dimensions; k++)
+			{
+				double d = Math.abs(points[i * dimensions + k] - 0.5);
+				distance[i * dimensions + k] = d;
+				product *= 1.0 + 0.5 * d - 0.5 * d * d;
+			}
+
+			single += product;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<Double>> partials = new ArrayList<Future<Double>>();
+
+		try
+		{
+			for (int start = 0; start < count; start += ROWS_PER_TASK)
+			{
+				final int first = start;
+				final int last = Math.min(count, start + ROWS_PER_TASK);
+
+				partials.add(executor.submit(new Callable<Double>()
+				{
+					public Double call()
+					{
+						return doubleSum(points, distance, dimensions, count, first, last);
+					}
+				}));
+			}
+
+			double pairs = 0.0;
+
+			for (Future<Double> partial : partials)
+				pairs += partial.get();
+
+			double squared = Math.pow(13.0 / 12.0, dimensions) - 2.0 * single / count + pairs / ((double) count * count);
+			return Math.sqrt(Math.max(squared, 0.0));
+		}
+		catch (ExecutionException e)
+		{
+			throw new RuntimeException(e.getCause());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Calculates the rows of the double sum from first to last - 1. The sum is symmetric,
+	 * so each row only visits the columns after the diagonal and counts them twice.
+	 */
+	private static double doubleSum(double[] points, double[] distance, int dimensions, int count, int first, int last)
+	{
+		double result = 0.0;
+
+		for (int i = first; i < last; i++)
+		{
+			int row = i * dimensions;
+			double diagonal = 1.0;
+
+			for (int k = 0; k < dimensions; k++)
+				diagonal *= 1.0 + distance[row + k];
+
+			result += diagonal;
+
+			for (int j = i + 1; j < count; j++)
+			{
+				int column = j * dimensions;
+				double product = 1.0;
+
+				for (int k = 0; k < dimensions; k++)
+					product *= 1.0 + 0.5 * distance[row + k] + 0.5 * distance[column + k] - 0.5 * Math.abs(points[row + k] - points[column + k]);
+
+				result += 2.0 * product;
+			}
+		}
+
+		return result;
+	}
+}
\ No newline at end of file
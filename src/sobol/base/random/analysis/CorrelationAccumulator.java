@@ -0,0 +1,133 @@
+package sobol.base.random.analysis;
+
+/**
+ * Calculates the correlation between every pair of dimensions of a stream of points.
+ * Coordinates are centered on 1/2, the mean of a uniform distribution, before the
+ * sums are accumulated, to reduce cancellation over long streams.
+ */
+public class CorrelationAccumulator implements PointAccumulator
+{
+	/**
+	 * Number of dimensions of the points
+	 */
+	private int dimensions;
+
+	/**
+	 * Number of points added
+	 */
+	private long count;
+
+	/**
+	 * Sum of the centered coordinates of each dimension
+	 */
+	private double[] sum;
+
+	/**
+	 * Sum of the products of centered coordinates, for each pair of dimensions k <= l,
+	 * stored row by row in the upper triangle
+	 */
+	private double[] products;
+
+	/**
+	 * Centered coordinates of the current point
+	 */
+	private double[] centered;
+
+	public CorrelationAccumulator(int dimensions)
+	{
+		this.dimensions = dimensions;
+		this.count = 0;
+		this.sum = new double[dimensions];
+		this.products = new double[dimensions * (dimensions + 1) / 2];
+		this.centered = new double[dimensions];
+	}
+
+	public void add(double[] points, int offset)
+	{
+		for (int k = 0; k < dimensions; k++)
+		{
+			centered[k] = points[offset + k] - 0.5;
+			sum[k] += centered[k];
+		}
+
+		int position = 0;
+
+		for (int k = 0; k < dimensions; k++)
+		{
+			double value = centered[k];
+
+			for (int l = k; l < dimensions; l++)
+				products[position++] += value * centered[l];
+		}
+
+		count++;
+	}
+
+	public PointAccumulator emptyCopy()
+	{
+		return new CorrelationAccumulator(dimensions);
+	}
+
+	public void merge(PointAccumulator other)
+	{
+		CorrelationAccumulator source = (CorrelationAccumulator) other;
+
+		for (int k = 0; k < dimensions; k++)
+			sum[k] += source.sum[k];
+
+		for (int i = 0; i < products.length; i++)
+			products[i] += source.products[i];
+
+		count += source.count;
+	}
+
+	/**
+	 * Returns the number of points added
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the position of the product of two dimensions, with k <= l
+	 */
+	private int position(int k, int l)
+	{
+		return k * dimensions - k * (k - 1) / 2 + (l - k);
+	}
+
+	/**
+	 * Returns the covariance between two dimensions
+	 */
+	private double covariance(int k, int l)
+	{
+		if (k > l)
+			return covariance(l, k);
+
+		return products[position(k, l)] / count - (sum[k] / count) * (sum[l] / count);
+	}
+
+	/**
+	 * Returns the Pearson correlation between two dimensions
+	 */
+	public double getCorrelation(int k, int l)
+	{
+		double variance = covariance(k, k) * covariance(l, l);
+		return (variance > 0.0) ? covariance(k, l) / Math.sqrt(variance) : 0.0;
+	}
+
+	/**
+	 * Returns the largest absolute correlation between two different dimensions
+	 */
+	public double getMaximumCorrelation()
+	{
+		double maximum = 0.0;
+
+		for (int k = 0; k < dimensions; k++)
+			for (int l = k + 1; l < dimensions; l++)
+				maximum = Math.max(maximum, Math.abs(getCorrelation(k, l)));
+
+		return maximum;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package sobol.base.random.analysis;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.AbstractRandomGeneratorFactory;
+
+/**
+ * Chooses the cheapest random number generator whose points meet a uniformity target.
+ * Each candidate draws the same number of points in a given dimension; the time taken
+ * and the centered L2 discrepancy of the points are measured, and the fastest candidate
+ * within the target is selected.
+ */
+public class GeneratorSelector
+{
+	/**
+	 * Cost and uniformity measured for a candidate generator
+	 */
+	public static class Evaluation
+	{
+		private String name;
+		private double nanosPerPoint;
+		private double discrepancy;
+
+		public Evaluation(String name, double nanosPerPoint, double discrepancy)
+		{
+			this.name = name;
+			this.nanosPerPoint = nanosPerPoint;
+			this.discrepancy = discrepancy;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public double getNanosPerPoint()
+		{
+			return nanosPerPoint;
+		}
+
+		public double getDiscrepancy()
+		{
+			return discrepancy;
+		}
+	}
+
+	/**
+	 * Candidate generators, indexed by name
+	 */
+	private Map<String, AbstractRandomGeneratorFactory> candidates;
+
+	/**
+	 * Number of threads used to calculate the discrepancies
+	 */
+	private int threads;
+
+	public GeneratorSelector()
+	{
+		this.candidates = new LinkedHashMap<String, AbstractRandomGeneratorFactory>();
+		this.threads = Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Adds a candidate generator
+	 */
+	public void addCandidate(String name, AbstractRandomGeneratorFactory factory)
+	{
+		candidates.put(name, factory);
+	}
+
+	/**
+	 * Measures every candidate that supports a number of dimensions
+	 * 
+	 * @param dimensions	Number of dimensions of the points
+	 * @param points		Number of points drawn from each candidate
+	 */
+	public List<Evaluation> evaluate(int dimensions, int points) throws InterruptedException
+	{
+		List<Evaluation> result = new ArrayList<Evaluation>();
+		double[] data = new double[points * dimensions];
+
+		for (Map.Entry<String, AbstractRandomGeneratorFactory> candidate : candidates.entrySet())
+		{
+			AbstractRandomGenerator generator;
+
+			try
+			{
+				draw(candidate.getValue().create(dimensions), data, dimensions, points);
+				generator = candidate.getValue().create(dimensions);
+			}
+			catch (AssertionError e)
+			{
+				continue;
+			}
+
+			long start = System.nanoTime();
+			draw(generator, data, dimensions, points);
+			double nanosPerPoint = (double) (System.nanoTime() - start) / points;
+			
+			double discrepancy = CenteredL2Discrepancy.calculate(data, dimensions, points, threads);
+			result.add(new Evaluation(candidate.getKey(), nanosPerPoint, discrepancy));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Draws a number of points into a flat array
+	 */
+	private void draw(AbstractRandomGenerator generator, double[] data, int dimensions, int points)
+	{
+		for (int j = 0; j < points; j++)
+			System.arraycopy(generator.randDouble(), 0, data, j * dimensions, dimensions);
+	}
+
+	/**
+	 * Returns the cheapest candidate whose centered L2 discrepancy does not exceed a
+	 * target, or null if no candidate meets the target
+	 * 
+	 * @param dimensions	Number of dimensions of the points
+	 * @param points		Number of points drawn from each candidate
+	 * @param target		Largest acceptable centered L2 discrepancy
+	 */
+	public Evaluation select(int dimensions, int points, double target) throws InterruptedException
+	{
+		Evaluation best = null;
+
+		for (Evaluation evaluation : evaluate(dimensions, points))
+			if (evaluation.getDiscrepancy() <= target)
+				if (best == null || evaluation.getNanosPerPoint() < best.getNanosPerPoint())
+					best = evaluation;
+
+		return best;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package sobol.base.random.analysis;
+
+/**
+ * Statistic calculated over a stream of points, one point at a time. Accumulators can
+ * be copied and merged, so that parts of a stream can be processed in parallel.
+ */
+public interface PointAccumulator
+{
+	/**
+	 * Adds a point to the statistic
+	 * 
+	 * @param points	Array holding the coordinates of the point
+	 * @param offset	Position of the first coordinate of the point in the array
+	 */
+	void add(double[] points, int offset);
+
+	/**
+	 * Creates an accumulator with the same parameters and no points
+	 */
+	PointAccumulator emptyCopy();
+
+	/**
+	 * Adds the points of another accumulator, created by emptyCopy, to this one
+	 */
+	void merge(PointAccumulator other);
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package sobol.base.random.analysis;
+
+import java.util.SplittableRandom;
+
+/**
+ * Estimates the star discrepancy of a stream of points from a sample of boxes anchored
+ * at the origin. The largest local discrepancy over the sampled boxes is a lower bound
+ * on the star discrepancy, and it approaches the exact value as more boxes are sampled.
+ * The volume of each box is drawn uniformly and then split among the dimensions by
+ * random weights, so that boxes of every size are tested even in high dimension.
+ */
+public class SampledStarDiscrepancy implements PointAccumulator
+{
+	/**
+	 * Number of dimensions of the points
+	 */
+	private int dimensions;
+
+	/**
+	 * Number of sampled boxes
+	 */
+	private int boxCount;
+
+	/**
+	 * Upper corners of the boxes, one after the other
+	 */
+	private double[] corners;
+
+	/**
+	 * Volume of each box
+	 */
+	private double[] volumes;
+
+	/**
+	 * Number of points inside each closed box
+	 */
+	private long[] closed;
+
+	/**
+	 * Number of points inside each open box
+	 */
+	private long[] open;
+
+	/**
+	 * Number of points added
+	 */
+	private long count;
+
+	/**
+	 * Creates the accumulator, sampling the boxes
+	 * 
+	 * @param dimensions	Number of dimensions of the points
+	 * @param boxCount		Number of boxes to be sampled
+	 * @param seed			Seed for the sample of boxes
+	 */
+	public SampledStarDiscrepancy(int dimensions, int boxCount, long seed)
+	{
+		this(dimensions, boxCount);
+		SplittableRandom random = new SplittableRandom(seed);
+		double[] weights = new double[dimensions];
+
+		for (int b = 0; b < boxCount; b++)
+		{
+			double volume = random.nextDouble();
+			double total = 0.0;
+
+			for (int k = 0; k < dimensions; k++)
+			{
+				weights[k] = -Math.log(1.0 - random.nextDouble());
+				total += weights[k];
+			}
+
+			double product = 1.0;
+
+			for (int k = 0; k < dimensions; k++)
+			{
+				double corner = Math.pow(volume, weights[k] / total);
+				corners[b * dimensions + k] = corner;
+				product *= corner;
+			}
+
+			volumes[b] = product;
+		}
+	}
+
+	private SampledStarDiscrepancy(int dimensions, int boxCount)
+	{
+		this.dimensions = dimensions;
+		this.boxCount = boxCount;
+		this.corners = new double[boxCount * dimensions];
+		this.volumes = new double[boxCount];
+		this.closed = new long[boxCount];
+		this.open = new long[boxCount];
+		this.count = 0;
+	}
+
+	public void add(double[] points, int offset)
+	{
+		for (int b = 0; b < boxCount; b++)
+		{
+			int corner = b * dimensions;
+			boolean insideOpen = true;
+			int k = 0;
+
+			while (k < dimensions)
+			{
+				double x = points[offset + k];
+				double y = corners[corner + k];
+
+				if (x > y)
+					break;
+
+				if (x == y)
+					insideOpen = false;
+
+				k++;
+			}
+
+			if (k == dimensions)
+			{
+				closed[b]++;
+
+				if (insideOpen)
+					open[b]++;
+			}
+		}
+
+		count++;
+	}
+
+	public PointAccumulator emptyCopy()
+	{
+		SampledStarDiscrepancy result = new SampledStarDiscrepancy(dimensions, boxCount);
+		result.corners = corners;
+		result.volumes = volumes;
+		return result;
+	}
+
+	public void merge(PointAccumulator other)
+	{
+		SampledStarDiscrepancy source = (SampledStarDiscrepancy) other;
+
+		for (int b = 0; b < boxCount; b++)
+		{
+			closed[b] += source.closed[b];
+			open[b] += source.open[b];
+		}
+
+		count += source.count;
+	}
+
+	/**
+	 * Returns the largest local discrepancy over the sampled boxes, a lower bound on the
+	 * star discrepancy of the points added
+	 */
+	public double getLowerBound()
+	{
+		double result = 0.0;
+
+		for (int b = 0; b < boxCount; b++)
+		{
+			result = Math.max(result, (double) closed[b] / count - volumes[b]);
+			result = Math.max(result, volumes[b] - (double) open[b] / count);
+		}
+
+		return result;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package sobol.base.random.analysis;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Calculates the exact star discrepancy of a set of points in one or two dimensions. In
+ * one dimension the discrepancy follows from the sorted points; in two dimensions every
+ * box whose upper corner is formed by point coordinates is checked, in O(n^2) time.
+ * Higher dimensions must be estimated by a SampledStarDiscrepancy.
+ */
+public class StarDiscrepancy
+{
+	/**
+	 * Calculates the star discrepancy of a set of points
+	 * 
+	 * @param points		Coordinates of the points, one point after the other
+	 * @param dimensions	Number of dimensions of the points, either one or two
+	 * @param count			Number of points
+	 */
+	public static double exact(double[] points, int dimensions, int count)
+	{
+		if (dimensions == 1)
+			return exact1D(Arrays.copyOf(points, count));
+
+		if (dimensions == 2)
+			return exact2D(points, count);
+
+		throw new IllegalArgumentException("The exact star discrepancy is only available in one or two dimensions");
+	}
+
+	/**
+	 * Star discrepancy in one dimension: 1 / 2n + max |x(i) - (2i - 1) / 2n|
+	 */
+	private static double exact1D(double[] x)
+	{
+		int n = x.length;
+		Arrays.sort(x);
+		double result = 0.0;
+
+		for (int i = 0; i < n; i++)
+			result = Math.max(result, Math.abs(x[i] - (2.0 * i + 1) / (2.0 * n)));
+
+		return result + 1.0 / (2.0 * n);
+	}
+
+	/**
+	 * Star discrepancy in two dimensions. For each first coordinate of the upper corner,
+	 * taken in increasing order, the sorted second coordinates of the points inside the
+	 * closed and open boxes are kept and swept against every second coordinate.
+	 */
+	private static double exact2D(double[] points, int n)
+	{
+		Integer[] order = new Integer[n];
+
+		for (int i = 0; i < n; i++)
+			order[i] = i;
+
+		final double[] data = points;
+		Arrays.sort(order, new Comparator<Integer>()
+		{
+			public int compare(Integer a, Integer b)
+			{
+				return Double.compare(data[2 * a], data[2 * b]);
+			}
+		});
+
+		double[] grid = new double[n + 1];
+
+		for (int i = 0; i < n; i++)
+			grid[i] = points[2 * i + 1];
+
+		grid[n] = 1.0;
+		Arrays.sort(grid);
+
+		double[] closedY = new double[n];
+		double[] openY = new double[n];
+		int closedCount = 0;
+		double result = 0.0;
+		int next = 0;
+
+		while (true)
+		{
+			boolean last = (next == n);
+			double a = last ? 1.0 : points[2 * order[next]];
+			int openCount = closedCount;
+			System.arraycopy(closedY, 0, openY, 0, closedCount);
+
+			while (next < n && points[2 * order[next]] == a)
+			{
+				closedCount = insert(closedY, closedCount, points[2 * order[next] + 1]);
+				next++;
+			}
+
+			int c = 0;
+			int o = 0;
+
+			for (int g = 0; g <= n; g++)
+			{
+				double b = grid[g];
+
+				while (c < closedCount && closedY[c] <= b)
+					c++;
+
+				while (o < openCount && openY[o] < b)
+					o++;
+
+				result = Math.max(result, (double) c / n - a * b);
+				result = Math.max(result, a * b - (double) o / n);
+			}
+
+			if (last)
+				break;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Inserts a value into a sorted array, returning the new number of values
+	 */
+	private static int insert(double[] values, int count, double value)
+	{
+		int i = count;
+
+		while (i > 0 && values[i - 1] > value)
+		{
+			values[i] = values[i - 1];
+			i--;
+		}
+
+		values[i] = value;
+		return count + 1;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package sobol.base.random.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import sobol.base.random.generic.AbstractRandomGenerator;
+
+/**
+ * Feeds a stream of points from a generator to a set of accumulators, without holding
+ * the stream in memory. The points are drawn by the calling thread into a few reusable
+ * blocks, which are processed by worker threads that keep their own copies of the
+ * accumulators. The copies are merged when the stream ends. If an accumulator fails in
+ * a worker, no more points are drawn and the failure is thrown by the analysis.
+ */
+public class StreamAnalyzer
+{
+	/**
+	 * Approximate number of coordinates in each block of points
+	 */
+	private static final int BLOCK_COORDINATES = 1 << 16;
+
+	/**
+	 * Number of worker threads
+	 */
+	private int threads;
+
+	/**
+	 * Creates an analyzer that uses all available processors
+	 */
+	public StreamAnalyzer()
+	{
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an analyzer that uses a given number of worker threads
+	 */
+	public StreamAnalyzer(int threads)
+	{
+		if (threads < 1)
+			throw new IllegalArgumentException("The number of threads must be positive");
+
+		this.threads = threads;
+	}
+
+	/**
+	 * Block of consecutive points, stored one after the other
+	 */
+	private static class Block
+	{
+		private double[] data;
+		private int points;
+
+		public Block(int capacity)
+		{
+			this.data = new double[capacity];
+			this.points = 0;
+		}
+	}
+
+	/**
+	 * Block returned by a worker that failed, telling the calling thread to stop drawing
+	 */
+	private static final Block FAILED = new Block(0);
+
+	/**
+	 * Thread that adds the blocks it receives to its own copies of the accumulators
+	 */
+	private static class Worker extends Thread
+	{
+		private BlockingQueue<Block> full;
+		private BlockingQueue<Block> empty;
+		private PointAccumulator[] accumulators;
+		private int dimensions;
+		private Throwable failure;
+
+		public Worker(BlockingQueue<Block> full, BlockingQueue<Block> empty, PointAccumulator[] prototypes, int dimensions)
+		{
+			this.full = full;
+			this.empty = empty;
+			this.dimensions = dimensions;
+			this.accumulators = new PointAccumulator[prototypes.length];
+
+			for (int i = 0; i < prototypes.length; i++)
+				accumulators[i] = prototypes[i].emptyCopy();
+
+			setDaemon(true);
+		}
+
+		@Override
+		public void run()
+		{
+			try
+			{
+				Block block = full.take();
+
+				while (block.points > 0)
+				{
+					addBlock(accumulators, block, dimensions);
+					empty.put(block);
+					block = full.take();
+				}
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			catch (Throwable e)
+			{
+				// The block held by the worker is never returned, so there is room for the marker
+				failure = e;
+				empty.offer(FAILED);
+			}
+		}
+	}
+
+	/**
+	 * Adds all points of a block to a set of accumulators
+	 */
+	private static void addBlock(PointAccumulator[] accumulators, Block block, int dimensions)
+	{
+		for (int j = 0; j < block.points; j++)
+			for (PointAccumulator accumulator : accumulators)
+				accumulator.add(block.data, j * dimensions);
+	}
+
+	/**
+	 * Draws the next points of a generator into a block
+	 */
+	private static void fill(AbstractRandomGenerator generator, Block block, int points)
+	{
+		generator.randDouble(block.data, 0, points);
+		block.points = points;
+	}
+
+	/**
+	 * Draws a number of points from a generator and adds them to a set of accumulators
+	 * 
+	 * @param generator		Generator providing the points
+	 * @param dimensions	Number of dimensions of the points, which must be those of the generator
+	 * @param points		Number of points to be drawn
+	 * @param accumulators	Accumulators that receive the points
+	 */
+	public void analyze(AbstractRandomGenerator generator, int dimensions, long points, PointAccumulator... accumulators) throws InterruptedException
+	{
+		int blockPoints = Math.max(1, BLOCK_COORDINATES / dimensions);
+
+		if (threads == 1)
+		{
+			Block block = new Block(blockPoints * dimensions);
+
+			for (long drawn = 0; drawn < points; drawn += block.points)
+			{
+				fill(generator, block, (int) Math.min(blockPoints, points - drawn));
+				addBlock(accumulators, block, dimensions);
+			}
+
+			return;
+		}
+
+		BlockingQueue<Block> full = new ArrayBlockingQueue<Block>(3 * threads);
+		BlockingQueue<Block> empty = new ArrayBlockingQueue<Block>(2 * threads);
+		List<Worker> workers = new ArrayList<Worker>();
+
+		for (int i = 0; i < 2 * threads; i++)
+			empty.put(new Block(blockPoints * dimensions));
+
+		try
+		{
+			for (int i = 0; i < threads; i++)
+			{
+				Worker worker = new Worker(full, empty, accumulators, dimensions);
+				workers.add(worker);
+				worker.start();
+			}
+
+			for (long drawn = 0; drawn < points; )
+			{
+				Block block = empty.take();
+
+				if (block == FAILED)
+					break;
+
+				fill(generator, block, (int) Math.min(blockPoints, points - drawn));
+				drawn += block.points;
+				full.put(block);
+			}
+
+			for (int i = 0; i < threads; i++)
+				full.put(new Block(0));
+
+			for (Worker worker : workers)
+				worker.join();
+		}
+		finally
+		{
+			for (Worker worker : workers)
+				worker.interrupt();
+		}
+
+		for (Worker worker : workers)
+			if (worker.failure instanceof RuntimeException)
+				throw (RuntimeException) worker.failure;
+			else if (worker.failure instanceof Error)
+				throw (Error) worker.failure;
+			else if (worker.failure != null)
+				throw new IllegalStateException("Could not analyze the points", worker.failure);
+
+		for (Worker worker : workers)
+			for (int i = 0; i < accumulators.length; i++)
+				accumulators[i].merge(worker.accumulators[i]);
+	}
+}
\ No newline at end of file
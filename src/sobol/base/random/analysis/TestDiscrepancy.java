@@ -0,0 +1,147 @@
+package sobol.base.random.analysis;
+
+import java.util.SplittableRandom;
+import junit.framework.TestCase;
+import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.sobol.SobolRandomGeneratorFactory;
+
+public class TestDiscrepancy extends TestCase
+{
+	public void testStarDiscrepancy1D()
+	{
+		assertEquals(0.5, StarDiscrepancy.exact(new double[] { 0.5 }, 1, 1), 1e-12);
+		assertEquals(0.25, StarDiscrepancy.exact(new double[] { 0.75, 0.25 }, 1, 2), 1e-12);
+		assertEquals(0.5, StarDiscrepancy.exact(new double[] { 0.75, 0.0 }, 1, 2), 1e-12);
+	}
+
+	public void testStarDiscrepancy2D()
+	{
+		SplittableRandom random = new SplittableRandom(1);
+		int n = 40;
+		double[] points = new double[2 * n];
+
+		for (int i = 0; i < 2 * n; i++)
+			points[i] = Math.floor(random.nextDouble() * 20) / 20;
+
+		double expected = 0.0;
+
+		for (int i = 0; i <= n; i++)
+		{
+			for (int j = 0; j <= n; j++)
+			{
+				double a = (i < n) ? points[2 * i] : 1.0;
+				double b = (j < n) ? points[2 * j + 1] : 1.0;
+				int closed = 0;
+				int open = 0;
+
+				for (int p = 0; p < n; p++)
+				{
+					if (points[2 * p] <= a && points[2 * p + 1] <= b)
+						closed++;
+
+					if (points[2 * p] < a && points[2 * p + 1] < b)
+						open++;
+				}
+
+				expected = Math.max(expected, Math.max((double) closed / n - a * b, a * b - (double) open / n));
+			}
+		}
+
+		assertEquals(expected, StarDiscrepancy.exact(points, 2, n), 1e-12);
+	}
+
+	public void testSampledStarDiscrepancy() throws InterruptedException
+	{
+		AbstractRandomGenerator generator = new SobolRandomGeneratorFactory().create(2);
+		double[] points = new double[2 * 256];
+
+		for (int i = 0; i < 256; i++)
+			System.arraycopy(generator.randDouble(), 0, points, 2 * i, 2);
+
+		SampledStarDiscrepancy sampled = new SampledStarDiscrepancy(2, 2000, 1);
+		new StreamAnalyzer(1).analyze(new SobolRandomGeneratorFactory().create(2), 2, 256, sampled);
+		double exact = StarDiscrepancy.exact(points, 2, 256);
+
+		assertTrue(sampled.getLowerBound() <= exact + 1e-12);
+		assertTrue(sampled.getLowerBound() > exact / 2);
+	}
+
+	public void testParallelAccumulation() throws InterruptedException
+	{
+		CorrelationAccumulator sequential = new CorrelationAccumulator(5);
+		CorrelationAccumulator parallel = new CorrelationAccumulator(5);
+		new StreamAnalyzer(1).analyze(new SobolRandomGeneratorFactory().create(5), 5, 100000, sequential);
+		new StreamAnalyzer(4).analyze(new SobolRandomGeneratorFactory().create(5), 5, 100000, parallel);
+
+		assertEquals(100000, parallel.getCount());
+
+		for (int k = 0; k < 5; k++)
+			for (int l = 0; l < 5; l++)
+				assertEquals(sequential.getCorrelation(k, l), parallel.getCorrelation(k, l), 1e-9);
+
+		assertTrue(parallel.getMaximumCorrelation() < 0.01);
+	}
+
+	public void testCenteredL2Discrepancy() throws InterruptedException
+	{
+		assertEquals(Math.sqrt(1.0 / 12.0), CenteredL2Discrepancy.calculate(new double[] { 0.5 }, 1, 1, 1), 1e-12);
+
+		AbstractRandomGenerator sobol = new SobolRandomGeneratorFactory().create(3);
+		SplittableRandom random = new SplittableRandom(1);
+		double[] quasi = new double[3 * 512];
+		double[] pseudo = new double[3 * 512];
+
+		for (int i = 0; i < 512; i++)
+		{
+			System.arraycopy(sobol.randDouble(), 0, quasi, 3 * i, 3);
+
+			for (int k = 0; k < 3; k++)
+				pseudo[3 * i + k] = random.nextDouble();
+		}
+
+		double one = CenteredL2Discrepancy.calculate(quasi, 3, 512, 1);
+		assertEquals(one, CenteredL2Discrepancy.calculate(quasi, 3, 512, 4), 1e-12);
+		assertTrue(one < CenteredL2Discrepancy.calculate(pseudo, 3, 512, 4));
+	}
+
+	/**
+	 * Accumulator that fails after receiving a number of points
+	 */
+	private static class FailingAccumulator implements PointAccumulator
+	{
+		private int remaining;
+
+		public FailingAccumulator(int remaining)
+		{
+			this.remaining = remaining;
+		}
+
+		public void add(double[] points, int offset)
+		{
+			if (--remaining == 0)
+				throw new IllegalArgumentException("Failed");
+		}
+
+		public PointAccumulator emptyCopy()
+		{
+			return new FailingAccumulator(remaining);
+		}
+
+		public void merge(PointAccumulator other)
+		{
+		}
+	}
+
+	public void testWorkerFailure() throws InterruptedException
+	{
+		try
+		{
+			new StreamAnalyzer(4).analyze(new SobolRandomGeneratorFactory().create(5), 5, 100000000, new FailingAccumulator(1000));
+			fail();
+		}
+		catch (IllegalArgumentException e)
+		{
+			assertEquals("Failed", e.getMessage());
+		}
+	}
+}
\ No newline at end of file
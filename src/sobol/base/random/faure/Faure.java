@@ -1,157 +1,527 @@
 package sobol.base.random.faure;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import sobol.base.random.generic.DigitScrambler;
+import sobol.base.random.generic.RandomAccessSequence;
+import sobol.base.random.generic.Scrambling;
 import sobol.base.random.halton.Primes;
 
-public class Faure
+/**
+ * Faure sequence generator. Dimension k holds the radical inverse of the digits of the
+ * index multiplied by the k-th power of the Pascal matrix modulo the base. The digits of
+ * every dimension are kept between points: when the index is incremented with c carries,
+ * its digits change by one in positions 0 to c, so each dimension adds the sum of the
+ * first c + 1 columns of its matrix. These sums are computed once for each base and shared.
+ */
+public class Faure implements RandomAccessSequence
 {
+	/**
+	 * Largest denominator of the coordinates: numerators are exactly represented by a
+	 * double and their product by the inverse of the denominator stays below one
+	 */
+	private static final long MAX_DENOMINATOR = 1L << 52;
+
+	/**
+	 * Sums of the first columns of the powers of the Pascal matrix, indexed by base
+	 */
+	private static Map<Integer, int[][]> columnSumsCache = new HashMap<Integer, int[][]>();
+
+	/**
+	 * Number of dimensions to be generated by the current instance
+	 */
 	private int dimensions;
-	private int dimensionPrime;
-	private int[] coef = null;
-	private int[] ytemp = null;
-	private int hisum_save;
-	private int seed;
-	
+
+	/**
+	 * Base of the sequence, the smallest prime not less than the number of dimensions
+	 */
+	private int base;
+
+	/**
+	 * Number of digits required to represent any index in the base
+	 */
+	private int digitCount;
+
+	/**
+	 * For each dimension, the sums of the first c + 1 columns of its matrix: position
+	 * c * digitCount + j holds row j of the sum
+	 */
+	private int[][] columnSums;
+
+	/**
+	 * Weight of each digit in the numerators; digits below the precision of a double
+	 * have weight zero
+	 */
+	private long[] weights;
+
+	/**
+	 * Inverse of the denominator of the coordinates
+	 */
+	private double inverse;
+
+	/**
+	 * Digits of the index of the next point
+	 */
+	private int[] indexDigits;
+
+	/**
+	 * Digits of the next point, digit-major: digit j of dimension k is stored at
+	 * position j * dimensions + k
+	 */
+	private int[] digits;
+
+	/**
+	 * Numerator of the next coordinate of each dimension
+	 */
+	private long[] numerator;
+
+	/**
+	 * Number of digits of the index of the next point that may be nonzero, at least one
+	 */
+	private int length;
+
+	/**
+	 * Scramblers applied to each dimension, or null for the original sequence
+	 */
+	private DigitScrambler[] scramblers;
+
+	/**
+	 * Digits of a single dimension, gathered for the scramblers
+	 */
+	private int[] work;
+
+	/**
+	 * Index of the next point to be generated
+	 */
+	private long count;
+
+	/**
+	 * Indicates that points were taken by index only, so the digits must be rebuilt
+	 * before the next point is generated
+	 */
+	private boolean stale;
+
+	/**
+	 * Creates a Faure sequence, given the number of dimensions
+	 * 
+	 * @param dimensions		Number of dimensions to generate
+	 */
 	public Faure(int dimensions)
 	{
 		this.dimensions = dimensions;
-		this.dimensionPrime = primeGreaterEqual(dimensions);
-		this.hisum_save = -1;
-		this.seed = 0;
+		this.base = primeGreaterEqual(dimensions);
+		this.digitCount = 0;
+		
+		for (long n = Long.MAX_VALUE; n > 0; n /= base)
+			digitCount++;
+		
+		this.columnSums = getColumnSums(base, digitCount, dimensions);
+		this.weights = new long[digitCount];
+		this.indexDigits = new int[digitCount];
+		this.digits = new int[digitCount * dimensions];
+		this.numerator = new long[dimensions];
+		this.work = new int[digitCount];
+		this.scramblers = null;
+		
+		long power = 1;
+		int precision = 0;
+		
+		while (power <= MAX_DENOMINATOR / base)
+		{
+			power *= base;
+			precision++;
+		}
+		
+		long weight = power;
+		
+		for (int j = 0; j < precision && j < digitCount; j++)
+		{
+			weight /= base;
+			weights[j] = weight;
+		}
+		
+		this.inverse = 1.0 / power;
+		this.length = 1;
+		this.count = 0;
 	}
 
-	public Faure(int dimensions, int seed)
+	/**
+	 * Creates a Faure sequence starting at a given index
+	 * 
+	 * @param dimensions		Number of dimensions to generate
+	 * @param seed				Index of the first point to be generated
+	 */
+	public Faure(int dimensions, long seed)
 	{
 		this(dimensions);
-		this.seed = seed;
+		skipTo(seed);
 	}
 
-	public double[] next()
+	/**
+	 * Creates a scrambled replicate of the sequence, in which the digits of each dimension
+	 * are randomized by tables built here
+	 */
+	public Faure(int dimensions, Scrambling scrambling, long scramblingSeed)
 	{
-		  /*for ( k = 1; k < dim_num; k++ )
-		  {
-		    quasi[k] = 0.0;
-		    r = 1.0 / ( ( double ) qs );
-
-		    for ( j = 0; j <= hisum; j++ )
-		    {
-		      ztemp = 0;
-		      for ( i = j; i <= hisum; i++ )
-		      {
-		        ztemp = ztemp + ytemp[i] * coef[i+j*(hisum+1)];
-		      }
-
-		      ytemp[j] = ztemp % qs;
-		      quasi[k] = quasi[k] + ( ( double ) ytemp[j] ) * r;
-		      r = r / ( ( double ) qs );
-		    }
-		  }*/
-
-		  
-		  
-		double[] quasi = new double[dimensions];
-		int hisum = (seed == 0) ? 0 : i4_log_i4(seed, dimensionPrime);
-
-		if (hisum_save != hisum)
-		{
-			hisum_save = hisum;
-			coef = binomialTable(dimensionPrime, hisum, hisum);
-			ytemp = new int[hisum + 1];
-		}
-
-		double p = Math.pow(dimensionPrime, hisum);
-		int ltemp = seed;
+		this(dimensions);
+		SplittableRandom random = new SplittableRandom(scramblingSeed);
+		this.scramblers = new DigitScrambler[dimensions];
+		
+		for (int k = 0; k < dimensions; k++)
+			scramblers[k] = new DigitScrambler(base, scrambling, random);
+	}
 
-		for (int i = hisum; i >= 0; i--)
+	/**
+	 * Returns the sums of the first columns of the powers of the Pascal matrix modulo a
+	 * base, for the first dimensions. The arrays are shared and must not be changed.
+	 */
+	private static synchronized int[][] getColumnSums(int base, int digitCount, int dimensions)
+	{
+		int[][] cached = columnSumsCache.get(base);
+		
+		if (cached == null || cached.length < dimensions)
 		{
-			int fator = ltemp;
+			int[][] extended = new int[dimensions][];
+			int start = 0;
 			
-			for (int k = 0; k < i; k++)
-				fator /= dimensionPrime;
+			if (cached != null)
+			{
+				System.arraycopy(cached, 0, extended, 0, cached.length);
+				start = cached.length;
+			}
 			
-			ytemp[i] = fator;
+			int[] binomial = binomialTable(base, digitCount);
 			
-			double d = ltemp - fator * p;
-			p /= dimensionPrime;
-			ltemp = (int)d;
+			for (int k = start; k < dimensions; k++)
+				extended[k] = calculateColumnSums(binomial, base, digitCount, k);
+			
+			columnSumsCache.put(base, extended);
+			cached = extended;
 		}
-
-		double r = ytemp[hisum];
 		
-		for (int i = hisum - 1; 0 <= i; i--)
-			r = ytemp[i] + r / dimensionPrime;
-
-		quasi[0] = r / dimensionPrime;
+		return cached;
+	}
 
-		for (int k = 1; k < dimensions; k++)
+	/**
+	 * Calculates the binomial coefficients modulo a base: position i * size + j holds
+	 * the number of combinations of i elements taken j at a time
+	 */
+	private static int[] binomialTable(int base, int size)
+	{
+		int[] coef = new int[size * size];
+		
+		for (int i = 0; i < size; i++)
 		{
-			quasi[k] = 0.0;
-			r = 1.0 / dimensionPrime;
+			coef[i * size] = 1;
+			
+			for (int j = 1; j <= i; j++)
+				coef[i * size + j] = (coef[(i - 1) * size + j - 1] + coef[(i - 1) * size + j]) % base;
+		}
+		
+		return coef;
+	}
 
-			for (int j = 0; j <= hisum; j++)
+	/**
+	 * Calculates the sums of the first columns of the k-th power of the Pascal matrix,
+	 * whose element in row j and column i is C(i, j) * k^(i - j) modulo the base
+	 */
+	private static int[] calculateColumnSums(int[] binomial, int base, int size, int k)
+	{
+		int[] powers = new int[size];
+		powers[0] = 1;
+		
+		for (int e = 1; e < size; e++)
+			powers[e] = (powers[e - 1] * (k % base)) % base;
+		
+		int[] sums = new int[size * size];
+		
+		for (int j = 0; j < size; j++)
+		{
+			int sum = 0;
+			
+			for (int c = j; c < size; c++)
 			{
-				int z = 0;
-				
-				for (int i = j; i <= hisum; i++)
-					z += ytemp[i] * coef[i + j * (hisum + 1)];
-
-				ytemp[j] = z % dimensionPrime;
-				quasi[k] += ytemp[j] * r;
-				r /= dimensionPrime;
+				sum = (sum + binomial[c * size + j] * powers[c - j]) % base;
+				sums[c * size + j] = sum;
 			}
 		}
-
-		seed++;
-		return quasi;
+		
+		return sums;
 	}
-
-	private int[] binomialTable(int qs, int m, int n)
+	
+	/**
+	 * Returns the number of dimensions generated by the sequence
+	 */
+	public int getDimensions()
 	{
-		int[] coef = new int[(m + 1) * (n + 1)];
-
-		for (int j = 0; j <= n; j++)
-			for (int i = 0; i <= m; i++)
-				coef[i + j * (m + 1)] = 0;
-
-		coef[0] = 1;
-
-		for (int i = 1; i <= m; i++)
-			coef[i] = 1;
+		return dimensions;
+	}
 
-		for (int i = 1; i <= i4_min(m, n); i++)
-			coef[i + i * (m + 1)] = 1;
+	/**
+	 * Moves the state so that the next point is the one at a given index
+	 * 
+	 * @param index		Zero based index of the next point to be generated
+	 */
+	public void skipTo(long index)
+	{
+		if (index < 0)
+			throw new IllegalArgumentException("The index of a Faure sequence must not be negative");
+		
+		long n = index;
+		length = 1;
+		
+		for (int i = 0; i < digitCount; i++)
+		{
+			indexDigits[i] = (int) (n % base);
+			n /= base;
+			
+			if (indexDigits[i] != 0)
+				length = i + 1;
+		}
+		
+		for (int k = 0; k < dimensions; k++)
+		{
+			int[] sums = columnSums[k];
+			numerator[k] = 0;
+			
+			for (int j = 0; j < digitCount; j++)
+			{
+				digits[j * dimensions + k] = transformedDigit(sums, indexDigits, length, j);
+				numerator[k] += digits[j * dimensions + k] * weights[j];
+			}
+		}
+		
+		count = index;
+		stale = false;
+	}
 
-		for (int j = 1; j <= n; j++)
-			for (int i = j + 1; i <= m; i++)
-				coef[i + j * (m + 1)] = (coef[i - 1 + j * (m + 1)] + coef[i - 1 + (j - 1) * (m + 1)]) % qs;
+	/**
+	 * Rebuilds the digits if points were taken by index only
+	 */
+	private void catchUp()
+	{
+		if (stale)
+			skipTo(count);
+	}
 
-		return coef;
+	/**
+	 * Takes the index of the next point without updating the digits
+	 */
+	public long nextIndex()
+	{
+		stale = true;
+		return count++;
 	}
 
-	private int i4_log_i4(int i4, int j4)
+	/**
+	 * Calculates a single coordinate of a point, multiplying the digits of its index
+	 * by the matrix of the dimension. The digits are kept in local arrays, so that
+	 * several threads may read coordinates of the same sequence at once.
+	 * 
+	 * @param index			Zero based index of the point
+	 * @param dimension		Dimension whose coordinate is required
+	 */
+	public double coordinate(long index, int dimension)
 	{
-		int value = 0;
-		int i4_abs = Math.abs(i4);
+		int[] sums = columnSums[dimension];
+		int[] digitsOfIndex = new int[digitCount];
+		int[] transformed = (scramblers != null) ? new int[digitCount] : null;
+		int size = 0;
+		long value = 0;
+		
+		for (long n = index; n > 0; n /= base)
+			digitsOfIndex[size++] = (int) (n % base);
+		
+		for (int j = 0; j < size; j++)
+		{
+			int digit = transformedDigit(sums, digitsOfIndex, size, j);
+			value += digit * weights[j];
+			
+			if (transformed != null)
+				transformed[j] = digit;
+		}
+		
+		if (scramblers != null)
+			return scramblers[dimension].scramble(transformed, size);
+		
+		return value * inverse;
+	}
 
-		if (i4_abs >= 2)
+	/**
+	 * Returns a digit of the product of the matrix of a dimension by the digits of an
+	 * index. Column i of the matrix is the difference between the sums of its first
+	 * i + 1 and i columns.
+	 */
+	private int transformedDigit(int[] sums, int[] indexDigits, int size, int j)
+	{
+		long digit = 0;
+		
+		for (int i = j; i < size; i++)
 		{
-			int j4_abs = Math.abs(j4);
+			int column = sums[i * digitCount + j] - ((i > j) ? sums[(i - 1) * digitCount + j] : 0);
+			digit += (long) indexDigits[i] * (column + base);
+		}
+		
+		return (int) (digit % base);
+	}
 
-			if (j4_abs >= 2)
+	/**
+	 * Moves the state to the next point
+	 */
+	private void advance()
+	{
+		int c = 0;
+		
+		while (indexDigits[c] == base - 1)
+		{
+			indexDigits[c] = 0;
+			c++;
+		}
+		
+		indexDigits[c]++;
+		
+		if (c >= length)
+			length = c + 1;
+		
+		if (c == 0)
+		{
+			long weight = weights[0];
+			
+			for (int k = 0; k < dimensions; k++)
 			{
-				while (j4_abs <= i4_abs)
+				int digit = digits[k] + 1;
+				
+				if (digit < base)
+				{
+					digits[k] = digit;
+					numerator[k] += weight;
+				}
+				else
 				{
-					i4_abs /= j4_abs;
-					value++;
+					digits[k] = 0;
+					numerator[k] -= (base - 1) * weight;
 				}
 			}
 		}
+		else
+		{
+			for (int k = 0; k < dimensions; k++)
+				addColumns(k, c);
+		}
+		
+		count++;
+	}
+
+	/**
+	 * Adds the sum of the first c + 1 columns of the matrix of a dimension to its digits
+	 */
+	private void addColumns(int k, int c)
+	{
+		int[] sums = columnSums[k];
+		int row = c * digitCount;
+		
+		for (int j = 0; j <= c; j++)
+		{
+			int sum = sums[row + j];
+			
+			if (sum != 0)
+			{
+				int position = j * dimensions + k;
+				int previous = digits[position];
+				int digit = previous + sum;
+				
+				if (digit >= base)
+					digit -= base;
+				
+				digits[position] = digit;
+				numerator[k] += (digit - previous) * weights[j];
+			}
+		}
+	}
+
+	/**
+	 * Returns a coordinate of the current point
+	 */
+	private double coordinate(int k)
+	{
+		if (scramblers == null)
+			return numerator[k] * inverse;
+		
+		for (int j = 0; j < length; j++)
+			work[j] = digits[j * dimensions + k];
+		
+		return scramblers[k].scramble(work, length);
+	}
+
+	/**
+	 * Creates the next point
+	 */
+	public double[] next()
+	{
+		double[] quasi = new double[dimensions];
+		next(quasi, 0);
+		return quasi;
+	}
+
+	/**
+	 * Creates the next point, storing it into a caller supplied array
+	 * 
+	 * @param results	Array that will receive the coordinates of the point
+	 * @param offset	Position of the first coordinate in the array
+	 */
+	public void next(double[] results, int offset)
+	{
+		catchUp();
+		
+		for (int k = 0; k < dimensions; k++)
+			results[offset + k] = coordinate(k);
+		
+		advance();
+	}
+
+	/**
+	 * Creates a block of consecutive points, stored one after the other in a flat array
+	 * 
+	 * @param results	Array with room for (points * dimensions) coordinates after the offset
+	 * @param offset	Position of the first coordinate of the first point in the array
+	 * @param points	Number of points to be generated
+	 */
+	public void next(double[] results, int offset, int points)
+	{
+		for (int j = 0; j < points; j++)
+			next(results, offset + j * dimensions);
+	}
+
+	/**
+	 * Creates the next point, storing its first coordinates as integers between two
+	 * bounds into a caller supplied array
+	 * 
+	 * @param minBound		Lower bound for the integers
+	 * @param maxBound		Upper bound for the integers
+	 * @param results		Array that will receive the integers
+	 * @param offset		Position of the first integer in the array
+	 * @param coordinates	Number of coordinates to be converted
+	 */
+	public void next(int minBound, int maxBound, int[] results, int offset, int coordinates)
+	{
+		catchUp();
+		
+		for (int k = 0; k < coordinates; k++)
+			results[offset + k] = minBound + (int)(coordinate(k) * (maxBound - minBound));
 		
-		return value;
+		advance();
 	}
 
-	private int i4_min(int i1, int i2)
+	/**
+	 * Returns the first coordinate of the next point, without creating the point
+	 */
+	public double nextFirst()
 	{
-		return (i1 < i2) ? i1 : i2;
+		catchUp();
+		double result = coordinate(0);
+		advance();
+		return result;
 	}
 
 	private int primeGreaterEqual(int n)
@@ -164,7 +534,7 @@ public class Faure
 		int p_hi = Primes.PRIME[i_hi - 1];
 
 		if (p_hi < n)
-			return -p_hi;
+			throw new AssertionError("The number of dimensions of a Faure sequence must up to " + p_hi);
 
 		while (i_lo + 1 != i_hi)
 		{
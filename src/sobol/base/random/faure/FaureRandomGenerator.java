@@ -1,36 +1,67 @@
 package sobol.base.random.faure;
 
-import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.LazyPoint;
+import sobol.base.random.generic.LazyRandomGenerator;
+import sobol.base.random.generic.Scrambling;
 
-class FaureRandomGenerator implements AbstractRandomGenerator
+class FaureRandomGenerator implements LazyRandomGenerator
 {
-	private int dimensions;
 	private Faure generator;
+	private int dimensions;
+	private double[] points;
 	
 	public FaureRandomGenerator(int dimensions)
 	{
 		this.dimensions = dimensions;
 		this.generator = new Faure(dimensions);
+		this.points = new double[dimensions];
+	}
+	
+	public FaureRandomGenerator(int dimensions, Scrambling scrambling, long seed)
+	{
+		this.dimensions = dimensions;
+		this.generator = new Faure(dimensions, scrambling, seed);
+		this.points = new double[dimensions];
 	}
 
 	public int[] randInt(int minBound, int maxBound)
 	{
 		int[] result = new int[dimensions];
-		double[] data = generator.next();
+		generator.next(points, 0);
 		
 		for (int i = 0; i < dimensions; i++)
-			result[i] = minBound + (int)(data[i] * (maxBound - minBound));
+			result[i] = minBound + (int)(points[i] * (maxBound - minBound));
 		
 		return result;
 	}
 
+	public void randInt(int minBound, int maxBound, int[] result, int offset, int count)
+	{
+		generator.next(minBound, maxBound, result, offset, count);
+	}
+
 	public double[] randDouble()
 	{
 		return generator.next();
 	}
 
+	public void randDouble(double[] result, int offset, int points)
+	{
+		generator.next(result, offset, points);
+	}
+
 	public double singleDouble()
 	{
-		return generator.next()[0];
+		return generator.nextFirst();
+	}
+
+	public LazyPoint nextPoint()
+	{
+		return new LazyPoint(generator, generator.nextIndex());
+	}
+
+	public void skipTo(long index)
+	{
+		generator.skipTo(index);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package sobol.base.random.faure;
+
+import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.Scrambling;
+import sobol.base.random.generic.SeededRandomGeneratorFactory;
+
+/**
+ * Creates scrambled Faure generators. Each generator is an independent replicate of the
+ * sequence, selected by a seed drawn from the stream of the factory.
+ */
+public class ScrambledFaureRandomGeneratorFactory extends SeededRandomGeneratorFactory
+{
+	private Scrambling scrambling;
+	
+	public ScrambledFaureRandomGeneratorFactory(Scrambling scrambling)
+	{
+		this.scrambling = scrambling;
+	}
+	
+	public ScrambledFaureRandomGeneratorFactory(Scrambling scrambling, long seed)
+	{
+		super(seed);
+		this.scrambling = scrambling;
+	}
+	
+	public Scrambling getScrambling()
+	{
+		return scrambling;
+	}
+
+	public AbstractRandomGenerator create(int dimensions)
+	{
+		return new FaureRandomGenerator(dimensions, scrambling, nextSeed());
+	}
+}
\ No newline at end of file
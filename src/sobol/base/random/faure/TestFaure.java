@@ -117,4 +117,96 @@ public class TestFaure extends TestCase
 		assertEquals(0.71712, result[2], 0.00001);
 		assertEquals(0.75552, result[3], 0.00001);
 	}
+
+	public void testFaureSkipTo()
+	{
+		Faure sequential = new Faure(4);
+		Faure skipping = new Faure(4);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			double[] expected = sequential.next();
+
+			if (i % 37 == 0)
+			{
+				skipping.skipTo(i);
+				double[] result = skipping.next();
+
+				for (int j = 0; j < 4; j++)
+					assertEquals(expected[j], result[j], 0.0);
+			}
+		}
+	}
+
+	public void testFaureLongIndex()
+	{
+		long index = 5000000000L;
+		double[] result = new Faure(5, index).next();
+		int[] digits = new int[20];
+		int length = 0;
+
+		for (long n = index; n > 0; n /= 5)
+			digits[length++] = (int) (n % 5);
+
+		for (int k = 0; k < 5; k++)
+		{
+			double expected = 0.0;
+			double weight = 0.2;
+
+			for (int j = 0; j < length; j++)
+			{
+				expected += digits[j] * weight;
+				weight /= 5;
+			}
+
+			assertEquals(expected, result[k], 1e-12);
+
+			for (int j = 0; j < length; j++)
+			{
+				int z = 0;
+
+				for (int i = j; i < length; i++)
+					z += digits[i] * binomial(i, j);
+
+				digits[j] = z % 5;
+			}
+		}
+	}
+
+	private int binomial(int n, int k)
+	{
+		int result = 1;
+
+		for (int i = 1; i <= k; i++)
+			result = result * (n - k + i) / i;
+
+		return result;
+	}
+
+	public void testFaureLazyPoints()
+	{
+		Faure dense = new Faure(5);
+		Faure lazy = new Faure(5);
+
+		for (int i = 0; i < 200; i++)
+		{
+			double[] expected = dense.next();
+
+			if (i % 3 == 0)
+			{
+				long index = lazy.nextIndex();
+				assertEquals(i, index);
+
+				for (int j = 0; j < 5; j++)
+					assertEquals(expected[j], lazy.coordinate(index, j), 1e-15);
+			}
+			else
+			{
+				double[] point = lazy.next();
+
+				for (int j = 0; j < 5; j++)
+					assertEquals(expected[j], point[j], 1e-15);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -4,7 +4,28 @@ public interface AbstractRandomGenerator
 {
 	int[] randInt(int minBound, int maxBound);
 
+	/**
+	 * Draws the next point and stores its first count coordinates, mapped to integers
+	 * between the bounds, into a given array instead of creating a new one
+	 */
+	void randInt(int minBound, int maxBound, int[] result, int offset, int count);
+
 	double[] randDouble();
+
+	/**
+	 * Draws a number of consecutive points into a given array, one after the other,
+	 * instead of creating an array for each point
+	 */
+	void randDouble(double[] result, int offset, int points);
 	
+	/**
+	 * Returns the first coordinate of the next point without creating the point
+	 */
 	double singleDouble();
+
+	/**
+	 * Moves the generator so that the next draw returns the point at a given
+	 * (zero based) index of its sequence
+	 */
+	void skipTo(long index);
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package sobol.base.random.generic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Scrambles the digits of a coordinate of a low-discrepancy sequence in a given base.
+ * The random choices are drawn when the scrambler is created and kept in tables, so
+ * that scrambling a point only combines its digits with the tables.
+ */
+public class DigitScrambler
+{
+	/**
+	 * Largest double below one, returned if rounding takes a coordinate up to one
+	 */
+	private static final double ALMOST_ONE = 1.0 - 0x1.0p-53;
+	
+	/**
+	 * Base of the digits
+	 */
+	private int base;
+	
+	/**
+	 * Randomization applied to the digits
+	 */
+	private Scrambling scrambling;
+	
+	/**
+	 * Number of digits required to fill the precision of a double
+	 */
+	private int digitCount;
+	
+	/**
+	 * Weight of each digit, starting at 1 / base
+	 */
+	private double[] scale;
+	
+	/**
+	 * Random digit added to each digit
+	 */
+	private int[] shift;
+	
+	/**
+	 * Value of the shifted digits from a given position onwards, for points whose digits
+	 * are zero from that position onwards
+	 */
+	private double[] tail;
+	
+	/**
+	 * Random lower triangular matrix with nonzero diagonal, indexed by row and column
+	 */
+	private int[][] matrix;
+	
+	/**
+	 * Seed of the hash that selects the permutation applied to each digit
+	 */
+	private long seed;
+	
+	/**
+	 * Creates a scrambler for a given base
+	 * 
+	 * @param base			Base of the digits
+	 * @param scrambling	Randomization applied to the digits
+	 * @param random		Source for the random choices
+	 */
+	public DigitScrambler(int base, Scrambling scrambling, SplittableRandom random)
+	{
+		this.base = base;
+		this.scrambling = scrambling;
+		this.digitCount = Math.max(1, (int) (53 * Math.log(2) / Math.log(base)));
+		this.scale = new double[digitCount];
+		this.shift = new int[digitCount];
+		this.tail = new double[digitCount + 1];
+		
+		double weight = 1.0;
+		
+		for (int k = 0; k < digitCount; k++)
+		{
+			weight /= base;
+			scale[k] = weight;
+			shift[k] = random.nextInt(base);
+		}
+		
+		for (int k = digitCount - 1; k >= 0; k--)
+			tail[k] = tail[k + 1] + shift[k] * scale[k];
+		
+		if (scrambling == Scrambling.LINEAR_MATRIX)
+		{
+			this.matrix = new int[digitCount][];
+			
+			for (int k = 0; k < digitCount; k++)
+			{
+				matrix[k] = new int[k + 1];
+				
+				for (int j = 0; j < k; j++)
+					matrix[k][j] = random.nextInt(base);
+				
+				matrix[k][k] = 1 + random.nextInt(base - 1);
+			}
+		}
+		
+		this.seed = random.nextLong();
+	}
+	
+	/**
+	 * Returns the scrambled value of a coordinate, given its digits
+	 * 
+	 * @param digits	Digits of the coordinate, starting at the one with weight 1 / base
+	 * @param count		Number of digits in the array; the following ones are zero
+	 */
+	public double scramble(int[] digits, int count)
+	{
+		if (count > digitCount)
+			count = digitCount;
+		
+		double result = 0.0;
+		
+		if (scrambling == Scrambling.DIGITAL_SHIFT)
+		{
+			result = tail[count];
+			
+			for (int k = 0; k < count; k++)
+				result += ((digits[k] + shift[k]) % base) * scale[k];
+		}
+		else if (scrambling == Scrambling.LINEAR_MATRIX)
+		{
+			for (int k = 0; k < digitCount; k++)
+			{
+				int[] row = matrix[k];
+				int last = Math.min(k + 1, count);
+				long sum = shift[k];
+				
+				for (int j = 0; j < last; j++)
+					sum += row[j] * digits[j];
+				
+				result += (sum % base) * scale[k];
+			}
+		}
+		else
+		{
+			long hash = seed;
+			
+			for (int k = 0; k < digitCount; k++)
+			{
+				int digit = (k < count) ? digits[k] : 0;
+				result += ((digit + (int) ((hash >>> 1) % base)) % base) * scale[k];
+				hash = mix(hash + (digit + 1) * SeededRandomGeneratorFactory.GOLDEN_GAMMA);
+			}
+		}
+		
+		return (result < 1.0) ? result : ALMOST_ONE;
+	}
+	
+	/**
+	 * Mixes the bits of a hash value
+	 */
+	private static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package sobol.base.random.generic;
+
+/**
+ * Point of a sequence whose coordinates are only calculated when they are read. Taking
+ * a lazy point costs the same for any number of dimensions, so that solutions that read
+ * a few coordinates never pay for the whole vector.
+ */
+public class LazyPoint
+{
+	/**
+	 * Sequence that provides the coordinates
+	 */
+	private RandomAccessSequence sequence;
+	
+	/**
+	 * Index of the point in the sequence
+	 */
+	private long index;
+	
+	/**
+	 * Creates a view of a point of a sequence
+	 * 
+	 * @param sequence		Sequence that provides the coordinates
+	 * @param index			Zero based index of the point
+	 */
+	public LazyPoint(RandomAccessSequence sequence, long index)
+	{
+		this.sequence = sequence;
+		this.index = index;
+	}
+	
+	/**
+	 * Returns the index of the point in the sequence
+	 */
+	public long getIndex()
+	{
+		return index;
+	}
+	
+	/**
+	 * Returns the number of dimensions of the point
+	 */
+	public int getDimensions()
+	{
+		return sequence.getDimensions();
+	}
+	
+	/**
+	 * Calculates a coordinate of the point, in [0, 1)
+	 */
+	public double get(int dimension)
+	{
+		return sequence.coordinate(index, dimension);
+	}
+	
+	/**
+	 * Calculates a coordinate of the point, mapped to an integer between two bounds
+	 */
+	public int getInt(int dimension, int minBound, int maxBound)
+	{
+		return minBound + (int)(get(dimension) * (maxBound - minBound));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package sobol.base.random.generic;
+
+/**
+ * Generator that can hand out points whose coordinates are calculated on demand
+ */
+public interface LazyRandomGenerator extends AbstractRandomGenerator
+{
+	/**
+	 * Takes the next point of the sequence without calculating any of its coordinates.
+	 * The point is consumed as if it had been drawn by any other method.
+	 */
+	LazyPoint nextPoint();
+}
\ No newline at end of file
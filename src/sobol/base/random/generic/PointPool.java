@@ -0,0 +1,83 @@
+package sobol.base.random.generic;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * First points of a deterministic sequence, calculated once and kept in a block of
+ * memory outside the heap. The block is only read after being filled, so it can be
+ * shared by any number of generators and threads.
+ */
+class PointPool implements RandomAccessSequence
+{
+	/**
+	 * Coordinates of the points, stored one point after the other
+	 */
+	private DoubleBuffer block;
+	
+	/**
+	 * Number of dimensions of each point
+	 */
+	private int dimensions;
+	
+	/**
+	 * Number of points in the pool
+	 */
+	private int points;
+	
+	/**
+	 * Fills a pool with the first points produced by a new generator
+	 * 
+	 * @param generator		Generator positioned at the first point of its sequence
+	 * @param dimensions	Number of dimensions of each point
+	 * @param points		Number of points to be kept
+	 */
+	public PointPool(AbstractRandomGenerator generator, int dimensions, int points)
+	{
+		if ((long) points * dimensions * 8 > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("A pool of " + points + " points with " + dimensions + " dimensions does not fit in a single block");
+		
+		this.dimensions = dimensions;
+		this.points = points;
+		this.block = ByteBuffer.allocateDirect(points * dimensions * 8).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+		
+		for (int j = 0; j < points; j++)
+			block.put(generator.randDouble(), 0, dimensions);
+	}
+	
+	/**
+	 * Returns the number of dimensions of each point
+	 */
+	public int getDimensions()
+	{
+		return dimensions;
+	}
+	
+	/**
+	 * Returns the number of points in the pool
+	 */
+	public int getPoints()
+	{
+		return points;
+	}
+	
+	/**
+	 * Returns a coordinate stored in the block, given its position
+	 */
+	public double get(int position)
+	{
+		return block.get(position);
+	}
+	
+	/**
+	 * Returns a coordinate of a point kept in the pool
+	 * 
+	 * @param index			Zero based index of the point, lower than the number of points
+	 * @param dimension		Dimension whose coordinate is required
+	 */
+	public double coordinate(long index, int dimension)
+	{
+		return block.get((int) index * dimensions + dimension);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package sobol.base.random.generic;
+
+/**
+ * Generator that reads the first points of its sequence from a shared pool and only
+ * creates a generator of its own when it moves beyond the pool
+ */
+class PooledRandomGenerator implements LazyRandomGenerator
+{
+	private PointPool pool;
+	private AbstractRandomGeneratorFactory factory;
+	private AbstractRandomGenerator fallback;
+	private int dimensions;
+	
+	/**
+	 * Index of the next point to be drawn
+	 */
+	private long index;
+	
+	/**
+	 * Index of the next point of the fallback generator
+	 */
+	private long fallbackIndex;
+	
+	public PooledRandomGenerator(PointPool pool, AbstractRandomGeneratorFactory factory)
+	{
+		this.pool = pool;
+		this.factory = factory;
+		this.fallback = null;
+		this.dimensions = pool.getDimensions();
+		this.index = 0;
+	}
+	
+	/**
+	 * Returns the generator that provides the points beyond the pool, positioned at
+	 * the next point to be drawn
+	 */
+	private AbstractRandomGenerator fallback()
+	{
+		if (fallback == null)
+		{
+			fallback = factory.create(dimensions);
+			fallbackIndex = 0;
+		}
+		
+		if (fallbackIndex != index)
+			fallback.skipTo(index);
+		
+		fallbackIndex = index + 1;
+		return fallback;
+	}
+
+	public int[] randInt(int minBound, int maxBound)
+	{
+		int[] result = new int[dimensions];
+		randInt(minBound, maxBound, result, 0, dimensions);
+		return result;
+	}
+
+	public void randInt(int minBound, int maxBound, int[] result, int offset, int count)
+	{
+		if (index < pool.getPoints())
+		{
+			int base = (int) index * dimensions;
+			
+			for (int i = 0; i < count; i++)
+				result[offset + i] = minBound + (int)(pool.get(base + i) * (maxBound - minBound));
+		}
+		else
+			fallback().randInt(minBound, maxBound, result, offset, count);
+		
+		index++;
+	}
+
+	public double[] randDouble()
+	{
+		double[] result;
+		
+		if (index < pool.getPoints())
+		{
+			int base = (int) index * dimensions;
+			result = new double[dimensions];
+			
+			for (int i = 0; i < dimensions; i++)
+				result[i] = pool.get(base + i);
+		}
+		else
+			result = fallback().randDouble();
+		
+		index++;
+		return result;
+	}
+
+	public void randDouble(double[] result, int offset, int points)
+	{
+		for (int j = 0; j < points; j++)
+		{
+			if (index < pool.getPoints())
+			{
+				int base = (int) index * dimensions;
+				
+				for (int i = 0; i < dimensions; i++)
+					result[offset + j * dimensions + i] = pool.get(base + i);
+			}
+			else
+				fallback().randDouble(result, offset + j * dimensions, 1);
+			
+			index++;
+		}
+	}
+
+	public double singleDouble()
+	{
+		double result = (index < pool.getPoints()) ? pool.get((int) index * dimensions) : fallback().singleDouble();
+		index++;
+		return result;
+	}
+
+	public LazyPoint nextPoint()
+	{
+		LazyPoint result;
+		
+		if (index < pool.getPoints())
+			result = new LazyPoint(pool, index);
+		else
+		{
+			AbstractRandomGenerator generator = fallback();
+			
+			if (!(generator instanceof LazyRandomGenerator))
+				throw new AssertionError("The pooled generator cannot take lazy points beyond the pool");
+			
+			result = ((LazyRandomGenerator) generator).nextPoint();
+		}
+		
+		index++;
+		return result;
+	}
+
+	public void skipTo(long index)
+	{
+		this.index = index;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package sobol.base.random.generic;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decorates the factory of a deterministic sequence, such as Sobol, Halton or Faure,
+ * whose generators always start from the same point. The first points of the sequence
+ * are calculated once for each number of dimensions and shared by every generator the
+ * factory creates afterwards, so that repeated cycles and instances of an experiment
+ * read them instead of calculating them again. Generators that move beyond the pool
+ * continue the sequence with a generator of the decorated factory. Only the pools of
+ * the most recently used numbers of dimensions are kept, so that an experiment running
+ * instances of many sizes does not accumulate memory outside the heap.
+ */
+public class PooledRandomGeneratorFactory implements AbstractRandomGeneratorFactory
+{
+	/**
+	 * Default number of pools kept by the factory
+	 */
+	public static final int DEFAULT_MAXIMUM_POOLS = 4;
+	
+	private AbstractRandomGeneratorFactory factory;
+	private int points;
+	private Map<Integer, PointPool> pools;
+	
+	/**
+	 * Creates the decorator
+	 * 
+	 * @param factory	Factory whose generators produce the same sequence every time
+	 * @param points	Number of points kept for each number of dimensions
+	 */
+	public PooledRandomGeneratorFactory(AbstractRandomGeneratorFactory factory, int points)
+	{
+		this(factory, points, DEFAULT_MAXIMUM_POOLS);
+	}
+	
+	/**
+	 * Creates the decorator, limiting the number of pools kept at the same time
+	 * 
+	 * @param factory		Factory whose generators produce the same sequence every time
+	 * @param points		Number of points kept for each number of dimensions
+	 * @param maximumPools	Number of pools kept; the least recently used one is dropped
+	 */
+	public PooledRandomGeneratorFactory(AbstractRandomGeneratorFactory factory, int points, final int maximumPools)
+	{
+		if (points < 1)
+			throw new IllegalArgumentException("The pool must hold at least one point");
+		
+		if (maximumPools < 1)
+			throw new IllegalArgumentException("The factory must keep at least one pool");
+		
+		this.factory = factory;
+		this.points = points;
+		this.pools = new LinkedHashMap<Integer, PointPool>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			protected boolean removeEldestEntry(Map.Entry<Integer, PointPool> eldest)
+			{
+				return size() > maximumPools;
+			}
+		};
+	}
+	
+	public AbstractRandomGeneratorFactory getFactory()
+	{
+		return factory;
+	}
+	
+	public int getPoints()
+	{
+		return points;
+	}
+
+	/**
+	 * Drops every pool. Generators already created keep reading their pools, whose
+	 * memory is released once they are no longer referenced.
+	 */
+	public synchronized void clear()
+	{
+		pools.clear();
+	}
+
+	/**
+	 * Returns the number of pools currently kept
+	 */
+	public synchronized int getPoolCount()
+	{
+		return pools.size();
+	}
+
+	/**
+	 * Returns the pool for a number of dimensions, filling it on the first request
+	 */
+	private synchronized PointPool getPool(int dimensions)
+	{
+		PointPool pool = pools.get(dimensions);
+		
+		if (pool == null)
+		{
+			pool = new PointPool(factory.create(dimensions), dimensions, points);
+			pools.put(dimensions, pool);
+		}
+		
+		return pool;
+	}
+
+	public AbstractRandomGenerator create(int dimensions)
+	{
+		return new PooledRandomGenerator(getPool(dimensions), factory);
+	}
+}
\ No newline at end of file
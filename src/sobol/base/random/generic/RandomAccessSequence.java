@@ -0,0 +1,23 @@
+package sobol.base.random.generic;
+
+/**
+ * Sequence whose coordinates can be calculated directly from the index of a point,
+ * without generating the points before it or the other coordinates of the same point
+ */
+public interface RandomAccessSequence
+{
+	/**
+	 * Returns the number of dimensions of the points
+	 */
+	int getDimensions();
+	
+	/**
+	 * Returns a single coordinate of a point. Lazy points read their coordinates during
+	 * evaluation, possibly on worker threads, so implementations must not change any
+	 * state shared by concurrent calls.
+	 * 
+	 * @param index			Zero based index of the point
+	 * @param dimension		Dimension whose coordinate is required
+	 */
+	double coordinate(long index, int dimension);
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package sobol.base.random.generic;
+
+/**
+ * Randomizations available for the low-discrepancy sequences. All of them keep the
+ * stratification of the original sequence, while each random choice yields an
+ * independent replicate of the sequence.
+ */
+public enum Scrambling
+{
+	/**
+	 * Adds a random digit to each digit of the points (XOR in base 2)
+	 */
+	DIGITAL_SHIFT,
+	
+	/**
+	 * Multiplies the digits of the points by a random lower triangular matrix and adds a
+	 * random digital shift
+	 */
+	LINEAR_MATRIX,
+	
+	/**
+	 * Owen's nested scrambling: the permutation applied to each digit depends on all the
+	 * digits that precede it
+	 */
+	OWEN
+}
\ No newline at end of file
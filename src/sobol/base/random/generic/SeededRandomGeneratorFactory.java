@@ -0,0 +1,76 @@
+package sobol.base.random.generic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Base of the factories whose generators are derived from a seed. The seeds of the
+ * generators and of the factories of each cycle are drawn here, so that subclasses only
+ * create the generators.
+ */
+public abstract class SeededRandomGeneratorFactory implements SplittableRandomGeneratorFactory, Cloneable
+{
+	/**
+	 * Odd constant close to 2^64 divided by the golden ratio, spreading consecutive
+	 * integers over the range of longs
+	 */
+	static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	
+	private long seed;
+	private SplittableRandom streams;
+	
+	/**
+	 * Creates a factory with a random seed
+	 */
+	protected SeededRandomGeneratorFactory()
+	{
+		this(new SplittableRandom().nextLong());
+	}
+	
+	/**
+	 * Creates a factory with a given seed
+	 */
+	protected SeededRandomGeneratorFactory(long seed)
+	{
+		this.seed = seed;
+		this.streams = new SplittableRandom(seed);
+	}
+	
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	/**
+	 * Returns a copy of the factory with the seed derived for a cycle
+	 */
+	public SeededRandomGeneratorFactory forCycle(int cycle)
+	{
+		try
+		{
+			SeededRandomGeneratorFactory result = (SeededRandomGeneratorFactory) clone();
+			result.seed = new SplittableRandom(seed + (cycle + 1) * GOLDEN_GAMMA).nextLong();
+			result.streams = new SplittableRandom(result.seed);
+			return result;
+		}
+		catch (CloneNotSupportedException e)
+		{
+			throw new AssertionError(e);
+		}
+	}
+	
+	/**
+	 * Draws the seed of the next generator
+	 */
+	protected synchronized long nextSeed()
+	{
+		return streams.nextLong();
+	}
+	
+	/**
+	 * Splits the stream of the next generator from the stream of the factory
+	 */
+	protected synchronized SplittableRandom nextStream()
+	{
+		return streams.split();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package sobol.base.random.generic;
+
+/**
+ * Factory whose generators are derived from a seed. A factory derived for a given
+ * cycle always produces the same streams, independent of the streams of any other
+ * cycle, so cycles can be repeated exactly and executed in parallel.
+ */
+public interface SplittableRandomGeneratorFactory extends AbstractRandomGeneratorFactory
+{
+	public long getSeed();
+	
+	public SplittableRandomGeneratorFactory forCycle(int cycle);
+}
\ No newline at end of file
@@ -0,0 +1,397 @@
+package sobol.base.random.halton;
+
+import java.util.SplittableRandom;
+import sobol.base.random.generic.DigitScrambler;
+import sobol.base.random.generic.RandomAccessSequence;
+import sobol.base.random.generic.Scrambling;
+
+/**
+ * Halton sequence generator. The digits of the index of the next point are kept for
+ * every dimension and updated with carries, so that moving to the next point costs
+ * amortized constant time per dimension. Each coordinate is held as an exact integer
+ * numerator over a power of the base of its dimension.
+ */
+class Halton implements RandomAccessSequence
+{
+	/**
+	 * Maximum number of digits of an index, reached in base 2
+	 */
+	private static final int MAX_DIGITS = Long.SIZE;
+
+	/**
+	 * Largest denominator of the coordinates: numerators are exactly represented by a
+	 * double and their product by the inverse of the denominator stays below one
+	 */
+	private static final long MAX_DENOMINATOR = 1L << 52;
+
+	/**
+	 * Number of dimensions to be generated by the current instance
+	 */
+	private int dimensions;
+
+	/**
+	 * Base of each dimension
+	 */
+	private int[] base;
+
+	/**
+	 * Digits of the index of the next point, digit-major: digit k of dimension i is
+	 * stored at position k * dimensions + i
+	 */
+	private int[] digits;
+
+	/**
+	 * Weight of each digit in the numerators, with the same layout as the digits. Digits
+	 * below the precision of a double have weight zero.
+	 */
+	private long[] weights;
+
+	/**
+	 * Numerator of the next coordinate of each dimension
+	 */
+	private long[] numerator;
+
+	/**
+	 * Inverse of the denominator of the coordinates of each dimension, a power of its base
+	 */
+	private double[] inverse;
+
+	/**
+	 * Number of digits of the index of the next point that may be nonzero, for each
+	 * dimension. It is at least one, so that changing the lowest digit keeps it valid.
+	 */
+	private int[] length;
+
+	/**
+	 * Scramblers applied to each dimension, or null for the original sequence
+	 */
+	private DigitScrambler[] scramblers;
+
+	/**
+	 * Digits of a single dimension, gathered for the scramblers
+	 */
+	private int[] work;
+
+	/**
+	 * Index of the next point to be generated
+	 */
+	private long count;
+
+	/**
+	 * Indicates that points were taken by index only, so the digits must be rebuilt
+	 * before the next point is generated
+	 */
+	private boolean stale;
+
+	/**
+	 * Creates a Halton sequence using the first prime numbers as bases
+	 * 
+	 * @param dimensions		Number of dimensions to generate
+	 */
+	public Halton(int dimensions)
+	{
+		this(primeBases(dimensions), null);
+	}
+
+	/**
+	 * Creates a scrambled replicate of the Halton sequence
+	 * 
+	 * @param dimensions		Number of dimensions to generate
+	 * @param scrambling		Randomization applied to the sequence
+	 * @param seed				Seed that selects the replicate
+	 */
+	public Halton(int dimensions, Scrambling scrambling, long seed)
+	{
+		this(primeBases(dimensions), createScramblers(dimensions, scrambling, seed));
+	}
+
+	/**
+	 * Creates a sequence over arbitrary bases
+	 * 
+	 * @param bases			Base of each dimension
+	 * @param scramblers	Scrambler of each dimension, or null for the original sequence
+	 */
+	public Halton(int[] bases, DigitScrambler[] scramblers)
+	{
+		this.dimensions = bases.length;
+		this.base = bases.clone();
+		this.digits = new int[MAX_DIGITS * dimensions];
+		this.weights = new long[MAX_DIGITS * dimensions];
+		this.numerator = new long[dimensions];
+		this.inverse = new double[dimensions];
+		this.length = new int[dimensions];
+		this.scramblers = scramblers;
+		this.work = new int[MAX_DIGITS];
+		
+		for (int i = 0; i < dimensions; i++)
+		{
+			long power = 1;
+			int precision = 0;
+			
+			while (power <= MAX_DENOMINATOR / base[i])
+			{
+				power *= base[i];
+				precision++;
+			}
+			
+			long weight = power;
+			
+			for (int k = 0; k < precision; k++)
+			{
+				weight /= base[i];
+				weights[k * dimensions + i] = weight;
+			}
+			
+			inverse[i] = 1.0 / power;
+			length[i] = 1;
+		}
+		
+		this.count = 0;
+	}
+
+	/**
+	 * Returns the first prime numbers, used as bases for the dimensions
+	 */
+	private static int[] primeBases(int dimensions)
+	{
+		if (dimensions > Primes.PRIME.length)
+			throw new AssertionError("The number of dimensions of a Halton sequence must up to " + Primes.PRIME.length);
+
+		int[] bases = new int[dimensions];
+		System.arraycopy(Primes.PRIME, 0, bases, 0, dimensions);
+		return bases;
+	}
+
+	/**
+	 * Creates the scramblers for the dimensions, in order, from a single seed
+	 */
+	private static DigitScrambler[] createScramblers(int dimensions, Scrambling scrambling, long seed)
+	{
+		SplittableRandom random = new SplittableRandom(seed);
+		DigitScrambler[] result = new DigitScrambler[dimensions];
+		
+		for (int i = 0; i < dimensions; i++)
+			result[i] = new DigitScrambler(Primes.PRIME[i], scrambling, random);
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the number of dimensions generated by the sequence
+	 */
+	public int getDimensions()
+	{
+		return dimensions;
+	}
+
+	/**
+	 * Moves the state to the next point, adding one to the digits of every dimension
+	 */
+	private void advance()
+	{
+		for (int i = 0; i < dimensions; i++)
+		{
+			int digit = digits[i] + 1;
+			
+			if (digit < base[i])
+			{
+				digits[i] = digit;
+				numerator[i] += weights[i];
+			}
+			else
+				carry(i);
+		}
+		
+		count++;
+	}
+
+	/**
+	 * Adds one to the digits of a dimension whose lowest digit is the largest one
+	 */
+	private void carry(int i)
+	{
+		int b = base[i];
+		int position = i;
+		int k = 0;
+		
+		while (digits[position] == b - 1)
+		{
+			digits[position] = 0;
+			numerator[i] -= (b - 1) * weights[position];
+			position += dimensions;
+			k++;
+		}
+		
+		digits[position]++;
+		numerator[i] += weights[position];
+		
+		if (k >= length[i])
+			length[i] = k + 1;
+	}
+
+	/**
+	 * Moves the state so that the next point is the one at a given index
+	 * 
+	 * @param index		Zero based index of the next point to be generated
+	 */
+	public void skipTo(long index)
+	{
+		for (int i = 0; i < dimensions; i++)
+		{
+			long n = index;
+			int k = 0;
+			numerator[i] = 0;
+			
+			for (int position = i; position < digits.length; position += dimensions)
+				digits[position] = 0;
+			
+			while (n > 0)
+			{
+				int position = k * dimensions + i;
+				digits[position] = (int) (n % base[i]);
+				numerator[i] += digits[position] * weights[position];
+				n /= base[i];
+				k++;
+			}
+			
+			length[i] = Math.max(k, 1);
+		}
+		
+		count = index;
+		stale = false;
+	}
+
+	/**
+	 * Rebuilds the digits if points were taken by index only
+	 */
+	private void catchUp()
+	{
+		if (stale)
+			skipTo(count);
+	}
+
+	/**
+	 * Takes the index of the next point without updating the digits
+	 */
+	public long nextIndex()
+	{
+		stale = true;
+		return count++;
+	}
+
+	/**
+	 * Calculates a single coordinate of a point from the digits of its index. The
+	 * digits are kept in a local array, so that several threads may read coordinates
+	 * of the same sequence at once.
+	 * 
+	 * @param index			Zero based index of the point
+	 * @param dimension		Dimension whose coordinate is required
+	 */
+	public double coordinate(long index, int dimension)
+	{
+		int b = base[dimension];
+		int[] indexDigits = (scramblers != null) ? new int[MAX_DIGITS] : null;
+		int k = 0;
+		long value = 0;
+		
+		for (long n = index; n > 0; n /= b)
+		{
+			int digit = (int) (n % b);
+			value += digit * weights[k * dimensions + dimension];
+			
+			if (indexDigits != null)
+				indexDigits[k] = digit;
+			
+			k++;
+		}
+		
+		if (scramblers != null)
+			return scramblers[dimension].scramble(indexDigits, k);
+		
+		return value * inverse[dimension];
+	}
+
+	/**
+	 * Returns a coordinate of the current point
+	 */
+	private double coordinate(int i)
+	{
+		if (scramblers == null)
+			return numerator[i] * inverse[i];
+		
+		for (int k = 0; k < length[i]; k++)
+			work[k] = digits[k * dimensions + i];
+		
+		return scramblers[i].scramble(work, length[i]);
+	}
+
+	/**
+	 * Creates the next point
+	 */
+	public double[] next()
+	{
+		double[] results = new double[dimensions];
+		next(results, 0);
+		return results;
+	}
+
+	/**
+	 * Creates the next point, storing it into a caller supplied array
+	 * 
+	 * @param results	Array that will receive the coordinates of the point
+	 * @param offset	Position of the first coordinate in the array
+	 */
+	public void next(double[] results, int offset)
+	{
+		catchUp();
+		
+		for (int i = 0; i < dimensions; i++)
+			results[offset + i] = coordinate(i);
+		
+		advance();
+	}
+
+	/**
+	 * Creates a block of consecutive points, stored one after the other in a flat array
+	 * 
+	 * @param results	Array with room for (points * dimensions) coordinates after the offset
+	 * @param offset	Position of the first coordinate of the first point in the array
+	 * @param points	Number of points to be generated
+	 */
+	public void next(double[] results, int offset, int points)
+	{
+		for (int j = 0; j < points; j++)
+			next(results, offset + j * dimensions);
+	}
+
+	/**
+	 * Creates the next point, storing its first coordinates as integers between two
+	 * bounds into a caller supplied array
+	 * 
+	 * @param minBound		Lower bound for the integers
+	 * @param maxBound		Upper bound for the integers
+	 * @param results		Array that will receive the integers
+	 * @param offset		Position of the first integer in the array
+	 * @param coordinates	Number of coordinates to be converted
+	 */
+	public void next(int minBound, int maxBound, int[] results, int offset, int coordinates)
+	{
+		catchUp();
+		
+		for (int i = 0; i < coordinates; i++)
+			results[offset + i] = minBound + (int)(coordinate(i) * (maxBound - minBound));
+		
+		advance();
+	}
+
+	/**
+	 * Returns the first coordinate of the next point, without creating the point
+	 */
+	public double nextFirst()
+	{
+		catchUp();
+		double result = coordinate(0);
+		advance();
+		return result;
+	}
+}
\ No newline at end of file
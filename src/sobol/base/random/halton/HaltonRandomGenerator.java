@@ -1,48 +1,67 @@
 package sobol.base.random.halton;
 
-import java.util.ArrayList;
-import java.util.List;
-import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.LazyPoint;
+import sobol.base.random.generic.LazyRandomGenerator;
+import sobol.base.random.generic.Scrambling;
 
-class HaltonRandomGenerator implements AbstractRandomGenerator
+class HaltonRandomGenerator implements LazyRandomGenerator
 {
-	private List<VDCorputSequence> sequences;
+	private Halton generator;
+	private int dimensions;
+	private double[] points;
 	
 	public HaltonRandomGenerator(int dimensions)
 	{
-		if (dimensions > Primes.PRIME.length)
-			throw new AssertionError("The number of dimensions of a Halton sequence must up to 1000");
-
-		this.sequences = new ArrayList<VDCorputSequence>();
-		
-		for (int i = 0; i < dimensions; i++)
-			this.sequences.add(new VDCorputSequence(Primes.PRIME[i]));
+		this.dimensions = dimensions;
+		this.generator = new Halton(dimensions);
+		this.points = new double[dimensions];
+	}
+	
+	public HaltonRandomGenerator(int dimensions, Scrambling scrambling, long seed)
+	{
+		this.dimensions = dimensions;
+		this.generator = new Halton(dimensions, scrambling, seed);
+		this.points = new double[dimensions];
 	}
 
 	public int[] randInt(int minBound, int maxBound)
 	{
-		int dimensions = sequences.size();
 		int[] result = new int[dimensions];
+		generator.next(points, 0);
 		
 		for (int i = 0; i < dimensions; i++)
-			result[i] = minBound + (int)(sequences.get(i).next() * (maxBound - minBound));
+			result[i] = minBound + (int)(points[i] * (maxBound - minBound));
 		
 		return result;
 	}
 
+	public void randInt(int minBound, int maxBound, int[] result, int offset, int count)
+	{
+		generator.next(minBound, maxBound, result, offset, count);
+	}
+
 	public double[] randDouble()
 	{
-		int dimensions = sequences.size();
-		double[] result = new double[dimensions];
-		
-		for (int i = 0; i < dimensions; i++)
-			result[i] = sequences.get(i).next();
-		
-		return result;
+		return generator.next();
+	}
+
+	public void randDouble(double[] result, int offset, int points)
+	{
+		generator.next(result, offset, points);
 	}
 
 	public double singleDouble()
 	{
-		return sequences.get(0).next();
+		return generator.nextFirst();
+	}
+
+	public LazyPoint nextPoint()
+	{
+		return new LazyPoint(generator, generator.nextIndex());
+	}
+
+	public void skipTo(long index)
+	{
+		generator.skipTo(index);
 	}
 }
\ No newline at end of file
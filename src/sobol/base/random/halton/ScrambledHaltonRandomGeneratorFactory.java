@@ -0,0 +1,35 @@
+package sobol.base.random.halton;
+
+import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.Scrambling;
+import sobol.base.random.generic.SeededRandomGeneratorFactory;
+
+/**
+ * Creates scrambled Halton generators. Each generator is an independent replicate of the
+ * sequence, selected by a seed drawn from the stream of the factory.
+ */
+public class ScrambledHaltonRandomGeneratorFactory extends SeededRandomGeneratorFactory
+{
+	private Scrambling scrambling;
+	
+	public ScrambledHaltonRandomGeneratorFactory(Scrambling scrambling)
+	{
+		this.scrambling = scrambling;
+	}
+	
+	public ScrambledHaltonRandomGeneratorFactory(Scrambling scrambling, long seed)
+	{
+		super(seed);
+		this.scrambling = scrambling;
+	}
+	
+	public Scrambling getScrambling()
+	{
+		return scrambling;
+	}
+
+	public AbstractRandomGenerator create(int dimensions)
+	{
+		return new HaltonRandomGenerator(dimensions, scrambling, nextSeed());
+	}
+}
\ No newline at end of file
@@ -1,6 +1,9 @@
 package sobol.base.random.halton;
 
+import java.util.SplittableRandom;
 import junit.framework.TestCase;
+import sobol.base.random.generic.DigitScrambler;
+import sobol.base.random.generic.Scrambling;
 
 public class TestHalton extends TestCase
 {
@@ -1555,4 +1558,141 @@ public class TestHalton extends TestCase
 		assertEquals(0.9961, data[0], 0.001);
 		assertEquals(0.1495, data[1], 0.001);
 	}
+
+	public void testHaltonSkipTo()
+	{
+		HaltonRandomGenerator sequential = new HaltonRandomGenerator(3);
+		HaltonRandomGenerator skipping = new HaltonRandomGenerator(3);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			double[] expected = sequential.randDouble();
+
+			if (i % 37 == 0)
+			{
+				skipping.skipTo(i);
+				double[] data = skipping.randDouble();
+
+				for (int j = 0; j < 3; j++)
+					assertEquals(expected[j], data[j], 0.0);
+			}
+		}
+	}
+
+	public void testScrambledVanDerCorput()
+	{
+		int[] bases = {2, 3, 5};
+		int[] counts = {32, 27, 25};
+		SplittableRandom random = new SplittableRandom(1);
+
+		for (Scrambling scrambling : Scrambling.values())
+		{
+			for (int b = 0; b < bases.length; b++)
+			{
+				VDCorputSequence sequence = new VDCorputSequence(bases[b], new DigitScrambler(bases[b], scrambling, random));
+				boolean[] used = new boolean[counts[b]];
+
+				for (int i = 0; i < counts[b]; i++)
+				{
+					double value = sequence.next();
+					assertTrue(value >= 0.0 && value < 1.0);
+
+					int cell = (int) (value * counts[b]);
+					assertFalse(used[cell]);
+					used[cell] = true;
+				}
+			}
+		}
+	}
+
+	public void testHaltonRadicalInverse()
+	{
+		Halton sequence = new Halton(1000);
+		sequence.skipTo(123456789L);
+		double[] data = new double[1000 * 3];
+		sequence.next(data, 0, 3);
+
+		for (int j = 0; j < 3; j++)
+		{
+			for (int i = 0; i < 1000; i++)
+			{
+				long n = 123456789L + j;
+				double expected = 0.0;
+				double weight = 1.0 / Primes.PRIME[i];
+
+				while (n > 0)
+				{
+					expected += (n % Primes.PRIME[i]) * weight;
+					weight /= Primes.PRIME[i];
+					n /= Primes.PRIME[i];
+				}
+
+				assertEquals(expected, data[j * 1000 + i], 1e-12);
+			}
+		}
+	}
+
+	public void testHaltonLazyPoints()
+	{
+		Halton dense = new Halton(5);
+		Halton lazy = new Halton(5);
+
+		for (int i = 0; i < 200; i++)
+		{
+			double[] expected = dense.next();
+
+			if (i % 3 == 0)
+			{
+				long index = lazy.nextIndex();
+				assertEquals(i, index);
+
+				for (int j = 0; j < 5; j++)
+					assertEquals(expected[j], lazy.coordinate(index, j), 1e-15);
+			}
+			else
+			{
+				double[] point = lazy.next();
+
+				for (int j = 0; j < 5; j++)
+					assertEquals(expected[j], point[j], 1e-15);
+			}
+		}
+	}
+
+	public void testConcurrentCoordinates() throws InterruptedException
+	{
+		final Halton sequence = new Halton(6, Scrambling.OWEN, 1234L);
+		final double[] expected = new double[6000];
+
+		for (int i = 0; i < 1000; i++)
+			for (int j = 0; j < 6; j++)
+				expected[i * 6 + j] = sequence.coordinate(i, j);
+
+		final boolean[] failed = new boolean[1];
+		Thread[] threads = new Thread[4];
+
+		for (int t = 0; t < threads.length; t++)
+		{
+			final int offset = t;
+
+			threads[t] = new Thread()
+			{
+				public void run()
+				{
+					for (int repeat = 0; repeat < 20; repeat++)
+						for (int i = offset; i < 1000; i += 3)
+							for (int j = 0; j < 6; j++)
+								if (sequence.coordinate(i, j) != expected[i * 6 + j])
+									failed[0] = true;
+				}
+			};
+
+			threads[t].start();
+		}
+
+		for (Thread thread : threads)
+			thread.join();
+
+		assertFalse(failed[0]);
+	}
 }
\ No newline at end of file
@@ -1,33 +1,28 @@
 package sobol.base.random.halton;
 
+import sobol.base.random.generic.DigitScrambler;
+
 class VDCorputSequence
 {
-	private int base;
-	private long counter; 
+	private Halton sequence;
 	
 	public VDCorputSequence(int base)
 	{
-		this.base = base;
-		this.counter = 0;
+		this(base, null);
+	}
+	
+	public VDCorputSequence(int base, DigitScrambler scrambler)
+	{
+		this.sequence = new Halton(new int[] { base }, (scrambler != null) ? new DigitScrambler[] { scrambler } : null);
+	}
+	
+	public void skipTo(long index)
+	{
+		sequence.skipTo(index);
 	}
 	
 	public double next()
 	{
-	    long n0 = counter;
-	    counter++;
-	    
-	    double c = 0;
-	    double ib = 1.0 / base;
-	    
-	    while (n0 > 0)
-	    {
-	        long n1 = (long) Math.floor(((double)n0) / base);
-	        long i = n0 - n1 * base;
-	        c += ib * i;
-	        ib /= base;
-	        n0 = n1;
-	    }
-	    
-	    return c;
+		return sequence.nextFirst();
 	}
 }
\ No newline at end of file
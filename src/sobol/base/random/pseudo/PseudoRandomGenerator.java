@@ -5,10 +5,12 @@ import sobol.base.random.generic.AbstractRandomGenerator;
 class PseudoRandomGenerator implements AbstractRandomGenerator
 {
 	private int dimensions;
+	private PseudoRandom random;
 	
-	public PseudoRandomGenerator(int dimensions)
+	public PseudoRandomGenerator(int dimensions, PseudoRandom random)
 	{
 		this.dimensions = dimensions;
+		this.random = random;
 	}
 
 	public int[] randInt(int minBound, int maxBound)
@@ -16,23 +18,43 @@ class PseudoRandomGenerator implements AbstractRandomGenerator
 		int[] result = new int[dimensions];
 		
 		for (int i = 0; i < dimensions; i++)
-			result[i] = PseudoRandom.randInt(minBound, maxBound);
+			result[i] = random.randInt(minBound, maxBound);
 		
 		return result;
 	}
 
+	public void randInt(int minBound, int maxBound, int[] result, int offset, int count)
+	{
+		for (int i = 0; i < count; i++)
+			result[offset + i] = random.randInt(minBound, maxBound);
+	}
+
 	public double[] randDouble()
 	{
 		double[] result = new double[dimensions];
 		
 		for (int i = 0; i < dimensions; i++)
-			result[i] = PseudoRandom.randDouble(0, 1);
+			result[i] = random.randDouble(0, 1);
 		
 		return result;
 	}
 
+	public void randDouble(double[] result, int offset, int points)
+	{
+		for (int i = 0; i < points * dimensions; i++)
+			result[offset + i] = random.randDouble(0, 1);
+	}
+
 	public double singleDouble()
 	{
-		return PseudoRandom.randDouble(0, 1);
+		return random.randDouble(0, 1);
+	}
+
+	/**
+	 * Pseudo-random draws have no position in a sequence, so any point of the
+	 * stream is as good as the one at the requested index
+	 */
+	public void skipTo(long index)
+	{
 	}
 }
\ No newline at end of file
@@ -1,12 +1,21 @@
 package sobol.base.random.pseudo;
 
 import sobol.base.random.generic.AbstractRandomGenerator;
-import sobol.base.random.generic.AbstractRandomGeneratorFactory;
+import sobol.base.random.generic.SeededRandomGeneratorFactory;
 
-public class PseudoRandomGeneratorFactory implements AbstractRandomGeneratorFactory
+public class PseudoRandomGeneratorFactory extends SeededRandomGeneratorFactory
 {
+	public PseudoRandomGeneratorFactory()
+	{
+	}
+	
+	public PseudoRandomGeneratorFactory(long seed)
+	{
+		super(seed);
+	}
+
 	public AbstractRandomGenerator create(int dimensions)
 	{
-		return new PseudoRandomGenerator(dimensions);
+		return new PseudoRandomGenerator(dimensions, new PseudoRandom(nextStream()));
 	}
 }
\ No newline at end of file
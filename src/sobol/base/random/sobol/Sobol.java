@@ -1,27 +1,15 @@
 package sobol.base.random.sobol;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.util.SplittableRandom;
+import sobol.base.random.generic.RandomAccessSequence;
+import sobol.base.random.generic.Scrambling;
 
-class Sobol
+class Sobol implements RandomAccessSequence
 {
 	/**
-	 * Power constant used to calculate the SOBOL sequence
+	 * Scale that converts the 53 most significant bits of the state into a double in [0, 1)
 	 */
-	private static double power = Math.pow(2.0, 32);
-	
-	/**
-	 * Name of the file containing SOBOL sequence generation data 
-	 */
-	private static String SOBOL_FILENAME = "data\\sobol\\new-joe-kuo-6.21201";
-	
-	/**
-	 * Memory representation for SOBOL sequence generation data
-	 */
-	private static List<SobolGenerationData> generationData = null;
+	private static final double SCALE = 0x1.0p-53;
 	
 	/**
 	 * Number of dimensions to be generated by the current instance
@@ -34,15 +22,31 @@ class Sobol
 	private long[] x;
 	
 	/**
-	 * Number of quasi-random numbers that were already generated
+	 * Index of the next point to be generated
+	 */
+	private long count;
+
+	/**
+	 * Indicates that points were taken by index only, so the state must be rebuilt
+	 * before the next point is generated
 	 */
-	private int count;
+	private boolean stale;
 
 	/**
-	 * V Parameter used to generate the SOBOL sequence
+	 * Direction numbers used to generate the SOBOL sequence, indexed by dimension and bit
 	 */
 	private long v[][];
 
+	/**
+	 * State of the first point, holding the random digital shift of scrambled sequences
+	 */
+	private long[] shift;
+
+	/**
+	 * Seeds of the nested scrambling for each dimension, or null if it is not applied
+	 */
+	private long[] owen;
+
 	/**
 	 * Creates an instance of the random number generator, given the dimension to generate
 	 * 
@@ -50,131 +54,196 @@ class Sobol
 	 */
 	public Sobol(int dimensions)
 	{
-		if (generationData == null)
-			generationData = loadGenerationData();
-		
 		this.dimensions = dimensions;
 		this.x = new long[dimensions];
-		
-		for (int i = 0; i < dimensions; i++)
-			x[i] = 0;
-		
-		v = new long[dimensions][];
-		v[0] = new long[32+1];
-		
-		for (int i = 1; i <= 32; i++)
-			v[0][i] = (1L << (32 - i));
-		
-		for (int i = 1; i < dimensions; i++)
-		{
-			SobolGenerationData entry = generationData.get(i-1);
-			v[i] = calculateV(entry);
-		}
-
+		this.v = SobolDirectionNumbers.getDirections(dimensions);
+		this.shift = new long[dimensions];
+		this.owen = null;
 		this.count = 0;
 	}
-	
+
 	/**
-	 * Load the SOBOL sequence generation data from its file
+	 * Creates an instance of the random number generator producing a scrambled replicate
+	 * of the sequence. The random choices are made once, so that generating each point
+	 * costs about the same as in the original sequence.
+	 * 
+	 * @param dimensions		Number of dimensions to generate
+	 * @param scrambling		Randomization applied to the sequence
+	 * @param seed				Seed that selects the replicate
 	 */
-	private static List<SobolGenerationData> loadGenerationData()
+	public Sobol(int dimensions, Scrambling scrambling, long seed)
 	{
-		Scanner scanner;
-		
-		try
+		this(dimensions);
+		SplittableRandom random = new SplittableRandom(seed);
+
+		if (scrambling == Scrambling.OWEN)
 		{
-			scanner = new Scanner(new FileInputStream(SOBOL_FILENAME));
+			this.owen = new long[dimensions];
+			
+			for (int i = 0; i < dimensions; i++)
+				owen[i] = random.nextLong();
 		}
-		catch (FileNotFoundException e)
+		else
 		{
-			return null;
+			if (scrambling == Scrambling.LINEAR_MATRIX)
+				this.v = scrambleDirections(v, random);
+			
+			for (int i = 0; i < dimensions; i++)
+				shift[i] = random.nextLong();
 		}
 		
-		scanner.nextLine();
-		List<SobolGenerationData> data = new ArrayList<SobolGenerationData>();
+		skipTo(0);
+	}
+
+	/**
+	 * Multiplies the direction numbers of each dimension by a random lower triangular
+	 * matrix with unit diagonal. The shared arrays are copied before being changed.
+	 */
+	private static long[][] scrambleDirections(long[][] directions, SplittableRandom random)
+	{
+		int bits = SobolDirectionNumbers.BITS;
+		long[][] result = new long[directions.length][];
+		long[] rows = new long[bits];
 		
-		while (scanner.hasNext())
+		for (int i = 0; i < directions.length; i++)
 		{
-			SobolGenerationData entry = new SobolGenerationData();
+			for (int t = 0; t < bits; t++)
+			{
+				long lower = (t == 0) ? 0 : random.nextLong() & (-1L << (bits - t));
+				rows[t] = lower | (1L << (bits - 1 - t));
+			}
+			
+			result[i] = new long[bits];
+			
+			for (int k = 0; k < bits; k++)
+			{
+				long value = 0;
+				
+				for (int t = 0; t < bits; t++)
+					if ((Long.bitCount(rows[t] & directions[i][k]) & 1) != 0)
+						value |= 1L << (bits - 1 - t);
+				
+				result[i][k] = value;
+			}
+		}
+		
+		return result;
+	}
 
-			scanner.nextInt();
-			entry.s = scanner.nextInt();
-			entry.a = scanner.nextInt();
-			entry.m = new long[entry.s + 1];
+	/**
+	 * Applies the nested scrambling to the digits of a coordinate. The digits are reversed
+	 * so that the hash, which only carries information from lower to higher bits, makes
+	 * the permutation of each digit depend on the digits that precede it.
+	 */
+	private static long owenScramble(long value, long seed)
+	{
+		long z = Long.reverse(value);
+		z ^= z * 0x9E3779B97F4A7C14L;
+		z += seed;
+		z *= (seed >>> 16) | 1;
+		z ^= z * 0xBF58476D1CE4E5B8L;
+		z ^= z * 0x94D049BB133111EAL;
+		return Long.reverse(z);
+	}
 
-			for (int i = 1; i <= entry.s; i++)
-				entry.m[i] = scanner.nextLong();
+	/**
+	 * Returns the digits of a coordinate of the current point
+	 */
+	private long point(int i)
+	{
+		return (owen == null) ? x[i] : owenScramble(x[i], owen[i]);
+	}
+	
+	/**
+	 * Returns the number of dimensions generated by the sequence
+	 */
+	public int getDimensions()
+	{
+		return dimensions;
+	}
 
-			data.add(entry);
+	/**
+	 * Moves the state to the next point, following the Gray code order: only the
+	 * direction number related to the lowest zero bit of the previous index changes
+	 */
+	private void advance()
+	{
+		if (stale)
+			skipTo(count);
+		
+		if (count != 0)
+		{
+			int c = Long.numberOfTrailingZeros(count);
+			
+			for (int i = 0; i < dimensions; i++)
+				x[i] ^= v[i][c];
 		}
 		
-		scanner.close();
-		return data;
+		count++;
 	}
-	
+
 	/**
-	 * Calculate the V parameter for a given index
+	 * Moves the state so that the next sequence is the one at a given index. The
+	 * state for an index is the combination of the direction numbers selected by
+	 * the bits of the Gray code of the previous index.
 	 * 
-	 * @param entry		Sobol sequence generator index
+	 * @param index		Zero based index of the next sequence to be generated
 	 */
-	private long[] calculateV(SobolGenerationData entry)
+	public void skipTo(long index)
 	{
-		int s = entry.s;
-		long[] v = new long[32 + 1];
+		for (int i = 0; i < dimensions; i++)
+			x[i] = shift[i];
 		
-		if (32 <= s)
+		if (index > 0)
 		{
-			for (int i = 1; i <= 32; i++)
-				v[i] = entry.m[i] << (32 - i);
-		}
-		else
-		{
-			for (int i = 1; i <= s; i++)
-				v[i] = entry.m[i] << (32 - i);
-
-			for (int i = s + 1; i <= 32; i++)
+			long gray = (index - 1) ^ ((index - 1) >>> 1);
+			
+			while (gray != 0)
 			{
-				v[i] = v[i - s] ^ (v[i - s] >> s);
-
-				for (int k = 1; k <= s - 1; k++)
-					v[i] ^= (((entry.a >> (s - 1 - k)) & 1) * v[i - k]);
+				int c = Long.numberOfTrailingZeros(gray);
+				
+				for (int i = 0; i < dimensions; i++)
+					x[i] ^= v[i][c];
+				
+				gray &= gray - 1;
 			}
 		}
 		
-		return v; 
+		count = index;
+		stale = false;
 	}
 
 	/**
-	 * Creates the starting SOBOL sequence
+	 * Takes the index of the next point without updating the state
 	 */
-	private double[] generateStartingSequence()
+	public long nextIndex()
 	{
-		double[] results = new double[dimensions];
-		
-		for (int i = 0; i < dimensions; i++)
-			results[i] = 0.0;
-		
-		count = 1;
-		return results;
+		stale = true;
+		return count++;
 	}
 
 	/**
-	 * Calculates the C parameter for a given index
+	 * Calculates a single coordinate of a point from the Gray code of its index
 	 * 
-	 * @param index		Number of the desired index
+	 * @param index			Zero based index of the point
+	 * @param dimension		Dimension whose coordinate is required
 	 */
-	private int calculateC(int index)
+	public double coordinate(long index, int dimension)
 	{
-		int c = 1;
-		int value = index;
+		long gray = index ^ (index >>> 1);
+		long value = shift[dimension];
+		long[] directions = v[dimension];
 		
-		while ((value & 1) != 0)
+		while (gray != 0)
 		{
-			value >>= 1;
-			c++;	
+			value ^= directions[Long.numberOfTrailingZeros(gray)];
+			gray &= gray - 1;
 		}
 		
-		return c;
+		if (owen != null)
+			value = owenScramble(value, owen[dimension]);
+		
+		return (value >>> 11) * SCALE;
 	}
 
 	/**
@@ -182,34 +251,62 @@ class Sobol
 	 */
 	public double[] next()
 	{
-		if (count == 2000000000)
-			count = 0;
-		
-		if (count == 0)
-			return generateStartingSequence();
-		
 		double[] results = new double[dimensions];
+		next(results, 0);
+		return results;
+	}
+
+	/**
+	 * Creates the next sequence, storing it into a caller supplied array
+	 * 
+	 * @param results	Array that will receive the coordinates of the point
+	 * @param offset	Position of the first coordinate in the array
+	 */
+	public void next(double[] results, int offset)
+	{
+		advance();
 		
-		int c = calculateC(count-1);
-		x[0] ^= v[0][c];
-		results[0] = x[0] / power;
-		
-		for (int i = 1; i < dimensions; i++)
-		{
-			x[i] ^= v[i][c];
-			results[i] = x[i] / power;
-		}
+		for (int i = 0; i < dimensions; i++)
+			results[offset + i] = (point(i) >>> 11) * SCALE;
+	}
+
+	/**
+	 * Creates a block of consecutive sequences, stored one after the other in a flat array
+	 * 
+	 * @param results	Array with room for (points * dimensions) coordinates after the offset
+	 * @param offset	Position of the first coordinate of the first point in the array
+	 * @param points	Number of points to be generated
+	 */
+	public void next(double[] results, int offset, int points)
+	{
+		for (int j = 0; j < points; j++)
+			next(results, offset + j * dimensions);
+	}
+
+	/**
+	 * Creates the next sequence, storing its first coordinates as integers between two
+	 * bounds into a caller supplied array
+	 * 
+	 * @param minBound	Lower bound for the integers
+	 * @param maxBound	Upper bound for the integers
+	 * @param results	Array that will receive the integers
+	 * @param offset	Position of the first integer in the array
+	 * @param coordinates	Number of coordinates to be converted
+	 */
+	public void next(int minBound, int maxBound, int[] results, int offset, int coordinates)
+	{
+		advance();
 		
-		count++;
-		return results;
+		for (int i = 0; i < coordinates; i++)
+			results[offset + i] = minBound + (int)(((point(i) >>> 11) * SCALE) * (maxBound - minBound));
 	}
-}
 
-class SobolGenerationData
-{
-	public int a;
-	
-	public int s;
-	
-	public long[] m;
+	/**
+	 * Returns the first coordinate of the next sequence, without creating the point
+	 */
+	public double nextFirst()
+	{
+		advance();
+		return (point(0) >>> 11) * SCALE;
+	}
 }
\ No newline at end of file
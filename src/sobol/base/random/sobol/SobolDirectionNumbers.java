@@ -0,0 +1,316 @@
+package sobol.base.random.sobol;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Direction numbers for the SOBOL sequence, taken from the Joe-Kuo table. The text
+ * table is converted once into a compact binary file that is memory-mapped by every
+ * later run, and the direction numbers computed for each dimension are shared by all
+ * the generators created in the same virtual machine.
+ */
+class SobolDirectionNumbers
+{
+	/**
+	 * System property that overrides the location of the Joe-Kuo text table
+	 */
+	public static final String FILENAME_PROPERTY = "sobol.directions";
+
+	/**
+	 * Default location of the file containing SOBOL sequence generation data
+	 */
+	private static final String SOBOL_FILENAME = "data" + File.separator + "sobol" + File.separator + "new-joe-kuo-6.21201";
+
+	/**
+	 * Extension added to the name of the text table to form the name of the binary table
+	 */
+	private static final String BINARY_EXTENSION = ".bin";
+
+	/**
+	 * Identifier written in the header of the binary table
+	 */
+	private static final int MAGIC = 0x534F424C;
+
+	/**
+	 * Version of the layout of the binary table
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * Size of the header of the binary table: magic, version and number of entries
+	 */
+	private static final int HEADER_SIZE = 12;
+
+	/**
+	 * Number of bits in each direction number
+	 */
+	public static final int BITS = 64;
+
+	/**
+	 * Memory-mapped binary table: a header, the offset of each entry and the entries
+	 * themselves, each one packed as s (byte), a (int) and m[1..s] (int)
+	 */
+	private static MappedByteBuffer table = null;
+
+	/**
+	 * Number of entries in the table
+	 */
+	private static int entryCount;
+
+	/**
+	 * Direction numbers already calculated, indexed by dimension
+	 */
+	private static long[][] directions = new long[0][];
+
+	/**
+	 * Returns the maximum number of dimensions supported by the table
+	 */
+	public static synchronized int getMaximumDimensions()
+	{
+		ensureLoaded();
+		return entryCount + 1;
+	}
+
+	/**
+	 * Returns the direction numbers for the first dimensions of the sequence. The
+	 * arrays are shared among all generators and must not be changed.
+	 *
+	 * @param dimensions	Number of dimensions
+	 */
+	public static synchronized long[][] getDirections(int dimensions)
+	{
+		if (dimensions > directions.length)
+		{
+			ensureLoaded();
+
+			if (dimensions > entryCount + 1)
+				throw new AssertionError("The number of dimensions of a Sobol sequence must up to " + (entryCount + 1));
+
+			long[][] extended = new long[dimensions][];
+			System.arraycopy(directions, 0, extended, 0, directions.length);
+
+			for (int i = directions.length; i < dimensions; i++)
+				extended[i] = (i == 0) ? calculateFirstV() : calculateV(i - 1);
+
+			directions = extended;
+		}
+
+		long[][] result = new long[dimensions][];
+		System.arraycopy(directions, 0, result, 0, dimensions);
+		return result;
+	}
+
+	/**
+	 * Calculates the direction numbers for the first dimension
+	 */
+	private static long[] calculateFirstV()
+	{
+		long[] v = new long[BITS];
+
+		for (int i = 0; i < BITS; i++)
+			v[i] = (1L << (BITS - 1 - i));
+
+		return v;
+	}
+
+	/**
+	 * Calculate the direction numbers for a given entry of the table. Position k holds
+	 * the number combined into the state when bit k of the Gray code changes.
+	 *
+	 * @param index		Index of the entry in the table
+	 */
+	private static long[] calculateV(int index)
+	{
+		int position = table.getInt(HEADER_SIZE + 4 * index);
+		int s = table.get(position);
+		int a = table.getInt(position + 1);
+		long[] v = new long[BITS + 1];
+
+		for (int i = 1; i <= s && i <= BITS; i++)
+			v[i] = ((long) table.getInt(position + 1 + 4 * i)) << (BITS - i);
+
+		for (int i = s + 1; i <= BITS; i++)
+		{
+			v[i] = v[i - s] ^ (v[i - s] >>> s);
+
+			for (int k = 1; k <= s - 1; k++)
+				v[i] ^= (((a >> (s - 1 - k)) & 1) * v[i - k]);
+		}
+
+		long[] result = new long[BITS];
+		System.arraycopy(v, 1, result, 0, BITS);
+		return result;
+	}
+
+	/**
+	 * Maps the binary table, creating it from the text table if required
+	 */
+	private static void ensureLoaded()
+	{
+		if (table != null)
+			return;
+
+		File textFile = new File(System.getProperty(FILENAME_PROPERTY, SOBOL_FILENAME));
+		File binaryFile = new File(textFile.getPath() + BINARY_EXTENSION);
+
+		try
+		{
+			if (!isValidBinary(binaryFile, textFile))
+				binaryFile = convert(textFile, binaryFile);
+
+			RandomAccessFile file = new RandomAccessFile(binaryFile, "r");
+
+			try
+			{
+				table = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+			}
+			finally
+			{
+				file.close();
+			}
+		}
+		catch (IOException e)
+		{
+			AssertionError error = new AssertionError("Could not load the Sobol direction numbers from " + textFile.getAbsolutePath());
+			error.initCause(e);
+			throw error;
+		}
+
+		entryCount = table.getInt(8);
+	}
+
+	/**
+	 * Checks whether a binary table exists, is up to date, and has the expected layout
+	 */
+	private static boolean isValidBinary(File binaryFile, File textFile) throws IOException
+	{
+		if (!binaryFile.isFile() || binaryFile.length() < HEADER_SIZE)
+			return false;
+
+		if (textFile.isFile() && textFile.lastModified() > binaryFile.lastModified())
+			return false;
+
+		RandomAccessFile file = new RandomAccessFile(binaryFile, "r");
+
+		try
+		{
+			return file.readInt() == MAGIC && file.readInt() == VERSION;
+		}
+		finally
+		{
+			file.close();
+		}
+	}
+
+	/**
+	 * Converts the text table into the binary one. The binary table is written to a
+	 * temporary file and then moved into place, so that concurrent runs never map a
+	 * partially written table. If the folder of the text table cannot be written, the
+	 * binary table is kept in the temporary folder.
+	 */
+	private static File convert(File textFile, File binaryFile) throws IOException
+	{
+		List<int[]> entries = readText(textFile);
+		File folder = binaryFile.getAbsoluteFile().getParentFile();
+
+		if (folder == null || !folder.canWrite())
+		{
+			folder = new File(System.getProperty("java.io.tmpdir"));
+			binaryFile = new File(folder, binaryFile.getName());
+
+			if (isValidBinary(binaryFile, textFile))
+				return binaryFile;
+		}
+
+		File temporary = File.createTempFile(binaryFile.getName(), ".tmp", folder);
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+
+		try
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(entries.size());
+
+			int position = HEADER_SIZE + 4 * entries.size();
+
+			for (int[] entry : entries)
+			{
+				out.writeInt(position);
+				position += 1 + 4 * (entry.length - 1);
+			}
+
+			for (int[] entry : entries)
+			{
+				out.writeByte(entry.length - 2);
+
+				for (int i = 1; i < entry.length; i++)
+					out.writeInt(entry[i]);
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+
+		try
+		{
+			Files.move(temporary.toPath(), binaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e)
+		{
+			// Another run holds the binary table open: use the private copy instead
+			temporary.deleteOnExit();
+			return temporary;
+		}
+
+		return binaryFile;
+	}
+
+	/**
+	 * Reads the Joe-Kuo text table. Each entry is returned as an array holding s, a and
+	 * the values of m, in this order.
+	 */
+	private static List<int[]> readText(File textFile) throws IOException
+	{
+		Scanner scanner = new Scanner(new BufferedInputStream(new FileInputStream(textFile)));
+		List<int[]> data = new ArrayList<int[]>();
+
+		try
+		{
+			scanner.nextLine();
+
+			while (scanner.hasNext())
+			{
+				scanner.nextInt();
+				int s = scanner.nextInt();
+				int[] entry = new int[s + 2];
+				entry[0] = s;
+				entry[1] = scanner.nextInt();
+
+				for (int i = 1; i <= s; i++)
+					entry[i + 1] = scanner.nextInt();
+
+				data.add(entry);
+			}
+		}
+		finally
+		{
+			scanner.close();
+		}
+
+		return data;
+	}
+}
@@ -1,22 +1,33 @@
 package sobol.base.random.sobol;
 
-import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.LazyPoint;
+import sobol.base.random.generic.LazyRandomGenerator;
+import sobol.base.random.generic.Scrambling;
 
-class SobolRandomGenerator implements AbstractRandomGenerator
+class SobolRandomGenerator implements LazyRandomGenerator
 {
 	private Sobol generator;
 	private int dimensions;
+	private double[] points;
 	
 	public SobolRandomGenerator(int dimensions)
 	{
 		this.dimensions = dimensions;
 		this.generator = new Sobol(dimensions);
+		this.points = new double[dimensions];
+	}
+
+	public SobolRandomGenerator(int dimensions, Scrambling scrambling, long seed)
+	{
+		this.dimensions = dimensions;
+		this.generator = new Sobol(dimensions, scrambling, seed);
+		this.points = new double[dimensions];
 	}
 
 	public int[] randInt(int minBound, int maxBound)
 	{
 		int[] result = new int[dimensions];
-		double[] points = generator.next();
+		generator.next(points, 0);
 		
 		for (int i = 0; i < dimensions; i++)
 			result[i] = minBound + (int)(points[i] * (maxBound - minBound));
@@ -24,13 +35,33 @@ class SobolRandomGenerator implements AbstractRandomGenerator
 		return result;
 	}
 
+	public void randInt(int minBound, int maxBound, int[] result, int offset, int count)
+	{
+		generator.next(minBound, maxBound, result, offset, count);
+	}
+
 	public double[] randDouble()
 	{
 		return generator.next();
 	}
 
+	public void randDouble(double[] result, int offset, int points)
+	{
+		generator.next(result, offset, points);
+	}
+
 	public double singleDouble()
 	{
-		return generator.next()[0];
+		return generator.nextFirst();
+	}
+
+	public LazyPoint nextPoint()
+	{
+		return new LazyPoint(generator, generator.nextIndex());
+	}
+
+	public void skipTo(long index)
+	{
+		generator.skipTo(index);
 	}
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package sobol.base.random.sobol;
 
 import junit.framework.TestCase;
+import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.PooledRandomGeneratorFactory;
+import sobol.base.random.generic.Scrambling;
 
 public class TestSobol extends TestCase
 {
@@ -1553,4 +1556,160 @@ public class TestSobol extends TestCase
 		assertEquals(0.6015625, data[99][3], 0.001);
 		assertEquals(0.7578125, data[99][4], 0.001);
 	}
+
+	public void testSobolBlock()
+	{
+		Sobol single = new Sobol(5);
+		Sobol block = new Sobol(5);
+		double[] data = new double[100 * 5];
+		block.next(data, 0, 100);
+
+		for (int i = 0; i < 100; i++)
+		{
+			double[] point = single.next();
+
+			for (int j = 0; j < 5; j++)
+				assertEquals(point[j], data[i * 5 + j], 0.0);
+		}
+	}
+
+	public void testSobolSkipTo()
+	{
+		Sobol sequential = new Sobol(5);
+		Sobol skipping = new Sobol(5);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			double[] expected = sequential.next();
+
+			if (i % 37 == 0)
+			{
+				skipping.skipTo(i);
+				double[] point = skipping.next();
+
+				for (int j = 0; j < 5; j++)
+					assertEquals(expected[j], point[j], 0.0);
+			}
+		}
+	}
+
+	public void testSobolIntBuffer()
+	{
+		SobolRandomGenerator allocating = new SobolRandomGenerator(5);
+		SobolRandomGenerator buffered = new SobolRandomGenerator(5);
+		int[] data = new int[3];
+
+		for (int i = 0; i < 100; i++)
+		{
+			int[] expected = allocating.randInt(0, 99);
+			buffered.randInt(0, 99, data, 0, 3);
+
+			for (int j = 0; j < 3; j++)
+				assertEquals(expected[j], data[j]);
+		}
+	}
+
+	public void testScrambledSobol()
+	{
+		for (Scrambling scrambling : Scrambling.values())
+		{
+			Sobol first = new Sobol(5, scrambling, 1);
+			Sobol second = new Sobol(5, scrambling, 2);
+			boolean[][] used = new boolean[5][64];
+			boolean different = false;
+
+			for (int i = 0; i < 64; i++)
+			{
+				double[] point = first.next();
+				double[] other = second.next();
+
+				for (int j = 0; j < 5; j++)
+				{
+					int cell = (int) (point[j] * 64);
+					assertFalse(used[j][cell]);
+					used[j][cell] = true;
+					different |= (point[j] != other[j]);
+				}
+			}
+
+			assertTrue(different);
+		}
+	}
+
+	public void testSobolLazyPoints()
+	{
+		Sobol dense = new Sobol(5);
+		Sobol lazy = new Sobol(5);
+
+		for (int i = 0; i < 200; i++)
+		{
+			double[] expected = dense.next();
+
+			if (i % 3 == 0)
+			{
+				long index = lazy.nextIndex();
+				assertEquals(i, index);
+
+				for (int j = 0; j < 5; j++)
+					assertEquals(expected[j], lazy.coordinate(index, j), 1e-15);
+			}
+			else
+			{
+				double[] point = lazy.next();
+
+				for (int j = 0; j < 5; j++)
+					assertEquals(expected[j], point[j], 1e-15);
+			}
+		}
+	}
+
+	public void testPooledSobol()
+	{
+		PooledRandomGeneratorFactory factory = new PooledRandomGeneratorFactory(new SobolRandomGeneratorFactory(), 50);
+		SobolRandomGenerator expected = new SobolRandomGenerator(7);
+		AbstractRandomGenerator first = factory.create(7);
+		AbstractRandomGenerator second = factory.create(7);
+		
+		for (int i = 0; i < 120; i++)
+		{
+			double[] point = expected.randDouble();
+			double[] pooled = first.randDouble();
+			
+			for (int j = 0; j < 7; j++)
+				assertEquals(point[j], pooled[j], 0.0);
+			
+			assertEquals(point[0], second.singleDouble(), 0.0);
+		}
+		
+		expected.skipTo(30);
+		first.skipTo(30);
+		int[] data = new int[7];
+		
+		for (int i = 30; i < 80; i++)
+		{
+			int[] point = expected.randInt(0, 99);
+			first.randInt(0, 99, data, 0, 7);
+			
+			for (int j = 0; j < 7; j++)
+				assertEquals(point[j], data[j]);
+		}
+	}
+
+	public void testPooledSobolKeepsRecentPools()
+	{
+		PooledRandomGeneratorFactory factory = new PooledRandomGeneratorFactory(new SobolRandomGeneratorFactory(), 20, 2);
+		AbstractRandomGenerator generator = factory.create(3);
+		
+		for (int dimensions = 1; dimensions <= 5; dimensions++)
+			factory.create(dimensions);
+		
+		assertEquals(2, factory.getPoolCount());
+		factory.clear();
+		assertEquals(0, factory.getPoolCount());
+		
+		SobolRandomGenerator expected = new SobolRandomGenerator(3);
+		
+		for (int i = 0; i < 30; i++)
+			assertEquals(expected.randDouble()[2], generator.randDouble()[2], 0.0);
+	}
 }
\ No newline at end of file
@@ -20,17 +20,19 @@ public class BinaryTournament implements SelectionOperator
 	private AbstractRandomGenerator randomPopulation;
 	private AbstractRandomGenerator randomSelector;
 	private Comparator<Solution> comparator_;
+	private int[] index;
 
 	public BinaryTournament()
 	{
 		this.randomPopulation = RandomGeneratorFactory.createForOperator(2);
 		this.randomSelector = RandomGeneratorFactory.createForOperator(1);
 		comparator_ = new BinaryTournamentComparator();
+		index = new int[2];
 	}
 
 	public Solution execute(SolutionSet population)
 	{
-		int[] index = randomPopulation.randInt(0, population.size() - 1);
+		randomPopulation.randInt(0, population.size() - 1, index, 0, 2);
 		
 		Solution solution1 = population.get(index[0]);
 		Solution solution2 = population.get(index[1]);
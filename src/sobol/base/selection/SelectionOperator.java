@@ -8,6 +8,10 @@ package sobol.base.selection;
 import sobol.base.solution.Solution;
 import sobol.base.solution.SolutionSet;
 
+/**
+ * Operator that picks a solution from a population. An instance may keep its random
+ * generator and buffers, so it must be used by one thread at a time.
+ */
 public interface SelectionOperator
 {
 	Solution execute(SolutionSet population);
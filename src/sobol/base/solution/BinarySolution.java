@@ -1,59 +1,266 @@
 package sobol.base.solution;
 
-import java.util.BitSet;
+import java.util.Arrays;
+import sobol.base.random.generic.LazyPoint;
 import sobol.base.solutionType.BinarySolutionType;
 
+/**
+ * Solution composed of bits, packed into the words of a long array so that operators,
+ * distances and copies may work on 64 bits at a time. Bit i is stored in word (i / 64)
+ * at position (i % 64), and the positions beyond the last bit are always zero.
+ */
 public class BinarySolution extends Solution
 {
-	public BitSet bits_;
+	private long[] bits_;
 	protected int numberOfBits_;
 	private BinarySolutionType type;
+	private LazyPoint pending_;
+	private long[] drawn_;
 
 	public BinarySolution(BinarySolutionType type, int numberOfObjectives, int numberOfBits)
 	{
 		super(numberOfObjectives);
 		this.type = type;
 		this.numberOfBits_ = numberOfBits;
-		this.bits_ = new BitSet(numberOfBits_);
+		this.bits_ = new long[wordCount(numberOfBits)];
 		randomize();
 	}
 
+	/**
+	 * Creates a copy of a solution without drawing a new point from the population
+	 * generator. Bits not drawn yet by a sparse solution remain pending in both.
+	 */
+	public BinarySolution(BinarySolution other)
+	{
+		super(other);
+		this.type = other.type;
+		this.numberOfBits_ = other.numberOfBits_;
+		this.bits_ = other.bits_.clone();
+		this.pending_ = other.pending_;
+		this.drawn_ = (other.drawn_ != null) ? other.drawn_.clone() : null;
+	}
+
+	/**
+	 * Returns the number of words required to hold a number of bits
+	 */
+	public static int wordCount(int numberOfBits)
+	{
+		return (numberOfBits + 63) >>> 6;
+	}
+
 	@Override
 	public void randomize()
 	{
+		resetGenotypeHash();
+		pending_ = type.getRandomPoint();
+		drawn_ = (pending_ != null) ? new long[bits_.length] : null;
+		
+		if (pending_ != null)
+		{
+			Arrays.fill(bits_, 0L);
+			return;
+		}
+		
 		double[] rnd = type.getRandomIndividual();
 		
-		for (int i = 0; i < numberOfBits_; i++)
+		for (int w = 0; w < bits_.length; w++)
+		{
+			long word = 0;
+			int last = Math.min(64, numberOfBits_ - (w << 6));
+			
+			for (int j = 0; j < last; j++)
+				if (rnd[(w << 6) + j] < 0.5)
+					word |= 1L << j;
+			
+			bits_[w] = word;
+		}
+	}
+
+	/**
+	 * Returns the mask of the positions of a word that hold bits of the solution
+	 */
+	private long validMask(int word)
+	{
+		int last = numberOfBits_ - (word << 6);
+		return (last >= 64) ? -1L : (1L << last) - 1;
+	}
+
+	/**
+	 * Draws the bits of a word that were not drawn yet, when the solution was created
+	 * from a lazy point
+	 */
+	private void draw(int word)
+	{
+		if (pending_ == null)
+			return;
+		
+		long missing = validMask(word) & ~drawn_[word];
+		
+		if (missing == 0)
+			return;
+		
+		while (missing != 0)
 		{
-			if (rnd[i] < 0.5)
-				bits_.set(i, true);
-			else
-				bits_.set(i, false);
+			int j = Long.numberOfTrailingZeros(missing);
+			
+			if (type.getRandomBit(pending_, (word << 6) + j))
+				bits_[word] |= 1L << j;
+			
+			missing &= missing - 1;
 		}
+		
+		drawn_[word] |= validMask(word);
+	}
+
+	@Override
+	public void drawAll()
+	{
+		if (pending_ == null)
+			return;
+		
+		for (int w = 0; w < bits_.length; w++)
+			draw(w);
+		
+		pending_ = null;
+		drawn_ = null;
 	}
 
 	public boolean getIth(int bit)
 	{
-		return bits_.get(bit);
+		int word = bit >>> 6;
+		
+		if (pending_ != null && (drawn_[word] & (1L << bit)) == 0)
+		{
+			if (type.getRandomBit(pending_, bit))
+				bits_[word] |= 1L << bit;
+			
+			drawn_[word] |= 1L << bit;
+		}
+		
+		return (bits_[word] & (1L << bit)) != 0;
 	}
 
 	public void setIth(int bit, boolean value)
 	{
-		bits_.set(bit, value);
+		int word = bit >>> 6;
+		
+		if (isGenotypeHashed() && getIth(bit) != value)
+			updateGenotypeHash(genotypeKey(bit, 1));
+		
+		if (pending_ != null)
+			drawn_[word] |= 1L << bit;
+		
+		if (value)
+			bits_[word] |= 1L << bit;
+		else
+			bits_[word] &= ~(1L << bit);
 	}
 
 	public void flip(int bit)
 	{
-		bits_.flip(bit);
+		setIth(bit, !getIth(bit));
+	}
+
+	/**
+	 * Returns the number of words that hold the bits of the solution
+	 */
+	public int getNumberOfWords()
+	{
+		return bits_.length;
+	}
+
+	/**
+	 * Returns a word of the solution, holding bits (64 * word) to (64 * word + 63)
+	 */
+	public long getWord(int word)
+	{
+		draw(word);
+		return bits_[word];
+	}
+
+	/**
+	 * Replaces a word of the solution. Positions beyond the last bit are ignored.
+	 */
+	public void setWord(int word, long value)
+	{
+		if (isGenotypeHashed())
+			updateGenotypeHash(wordKeys(word, (getWord(word) ^ value) & validMask(word)));
+		
+		if (pending_ != null)
+			drawn_[word] |= validMask(word);
+		
+		bits_[word] = value & validMask(word);
+	}
+
+	/**
+	 * Flips the bits of a word selected by a mask
+	 */
+	public void flipWord(int word, long mask)
+	{
+		setWord(word, getWord(word) ^ mask);
+	}
+
+	/**
+	 * Exchanges the bits of a word selected by a mask with those of another solution
+	 */
+	public void exchangeWord(BinarySolution other, int word, long mask)
+	{
+		long difference = (getWord(word) ^ other.getWord(word)) & mask;
+		
+		if (difference != 0)
+		{
+			setWord(word, bits_[word] ^ difference);
+			other.setWord(word, other.bits_[word] ^ difference);
+		}
+	}
+
+	/**
+	 * Exchanges every bit from a given position to the end with another solution
+	 */
+	public void exchangeFrom(BinarySolution other, int bit)
+	{
+		int first = bit >>> 6;
+		
+		if (first < bits_.length)
+			exchangeWord(other, first, -1L << bit);
+		
+		for (int w = first + 1; w < bits_.length; w++)
+			exchangeWord(other, w, -1L);
+	}
+	
+	/**
+	 * Combines the keys of the bits of a word selected by a mask
+	 */
+	private static long wordKeys(int word, long mask)
+	{
+		long keys = 0;
+		
+		while (mask != 0)
+		{
+			keys ^= genotypeKey((word << 6) + Long.numberOfTrailingZeros(mask), 1);
+			mask &= mask - 1;
+		}
+		
+		return keys;
+	}
+
+	@Override
+	protected long calculateGenotypeHash()
+	{
+		long hash = 0;
+		
+		for (int w = 0; w < bits_.length; w++)
+			hash ^= wordKeys(w, getWord(w));
+		
+		return hash;
 	}
 	
 	public int hammingDistance(BinarySolution other)
 	{
 		int distance = 0;
 
-		for (int i = 0; i < numberOfBits_; i++)
-			if (bits_.get(i) != other.bits_.get(i))
-				distance++;
+		for (int w = 0; w < bits_.length; w++)
+			distance += Long.bitCount(getWord(w) ^ other.getWord(w));
 
 		return distance;		
 	}
@@ -67,13 +274,29 @@ public class BinarySolution extends Solution
 	@Override
 	public Solution clone()
 	{
-		BinarySolution result = new BinarySolution(type, numberOfObjectives(), numberOfBits_);
-		
-		for (int i = 0; i < numberOfBits_; i++)
-			result.setIth(i, bits_.get(i));
+		return new BinarySolution(this);
+	}
 
-		copySolutionData(result);
-		return result;
+	@Override
+	public void copyFrom(Solution source)
+	{
+		BinarySolution other = (BinarySolution) source;
+		copyAttributesFrom(other);
+		this.type = other.type;
+		this.numberOfBits_ = other.numberOfBits_;
+		this.pending_ = other.pending_;
+		
+		if (bits_.length != other.bits_.length)
+			bits_ = new long[other.bits_.length];
+		
+		System.arraycopy(other.bits_, 0, bits_, 0, bits_.length);
+		
+		if (other.drawn_ == null)
+			drawn_ = null;
+		else if (drawn_ == null || drawn_.length != other.drawn_.length)
+			drawn_ = other.drawn_.clone();
+		else
+			System.arraycopy(other.drawn_, 0, drawn_, 0, drawn_.length);
 	}
 
 	@Override
@@ -85,11 +308,13 @@ public class BinarySolution extends Solution
 	@Override
 	public String getShortDescription()
 	{
-		String result = " [" + (bits_.get(0) ? 1 : 0);
+		StringBuilder result = new StringBuilder(2 * numberOfBits_ + 3);
+		result.append(" [");
+		result.append(getIth(0) ? '1' : '0');
 		
-		for(int i = 1; i < numberOfBits_; i++)
-			result += " " + (bits_.get(i) ? 1 : 0);
+		for (int i = 1; i < numberOfBits_; i++)
+			result.append(getIth(i) ? " 1" : " 0");
 
-		return result + "]";
+		return result.append(']').toString();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package sobol.base.solution;
+
+/**
+ * Solution set that keeps the objective values, crowding distances, ranks and fitness of
+ * its solutions in contiguous primitive arrays. The solutions themselves remain the view
+ * used by the operators: adding a solution moves its attributes into the columns of the
+ * set, and every getter and setter of the solution reads and writes the columns. A
+ * solution lives in one group of columns at a time, so adding it to another columnar
+ * set moves it there; removing it from the set moves it back to the fields of the
+ * solution.
+ * 
+ * After <code>compact()</code>, the solution at position i occupies slot i of every
+ * column, and loops over the population may scan the arrays returned by the column
+ * accessors instead of visiting each solution. The accessors compact the set
+ * themselves.
+ */
+public class ColumnarSolutionSet extends SolutionSet
+{
+	private static final long serialVersionUID = -3268419508733254120L;
+
+	/**
+	 * Columns holding the attributes of the solutions in the set
+	 */
+	private SolutionColumns columns_;
+
+	/**
+	 * Creates an empty set with a maximum capacity
+	 * 
+	 * @param maximumSize			Maximum size
+	 * @param numberOfObjectives	Number of objectives of the solutions
+	 */
+	public ColumnarSolutionSet(int maximumSize, int numberOfObjectives)
+	{
+		super(maximumSize);
+		columns_ = new SolutionColumns(numberOfObjectives, maximumSize);
+	}
+
+	/**
+	 * Inserts a solution, moving its attributes into the columns of the set
+	 */
+	@Override
+	public boolean add(Solution solution)
+	{
+		checkObjectives(solution);
+		
+		if (!super.add(solution))
+			return false;
+		
+		solution.moveTo(columns_);
+		return true;
+	}
+
+	/**
+	 * Removes the solution at a given position, moving its attributes out of the set
+	 */
+	@Override
+	public void remove(int i)
+	{
+		Solution solution = get(i);
+		super.remove(i);
+		release(solution);
+	}
+
+	/**
+	 * Removes every solution, moving their attributes out of the set
+	 */
+	@Override
+	public void clear()
+	{
+		for (int i = 0; i < size(); i++)
+			release(get(i));
+		
+		super.clear();
+	}
+
+	/**
+	 * Replaces a solution by a new one
+	 */
+	@Override
+	public void replace(int position, Solution solution)
+	{
+		checkObjectives(solution);
+		Solution previous = (position < size()) ? get(position) : null;
+		super.replace(position, solution);
+		
+		if (previous != null && previous != solution)
+			release(previous);
+		
+		solution.moveTo(columns_);
+	}
+
+	/**
+	 * Returns a new columnar set holding the solutions of both sets
+	 */
+	@Override
+	public SolutionSet union(SolutionSet solutionSet)
+	{
+		int newSize = Math.max(size() + solutionSet.size(), getMaxSize());
+		ColumnarSolutionSet union = new ColumnarSolutionSet(newSize, columns_.getNumberOfObjectives());
+		
+		for (int i = 0; i < size(); i++)
+			union.add(get(i));
+		
+		for (int i = 0; i < solutionSet.size(); i++)
+			union.add(solutionSet.get(i));
+		
+		return union;
+	}
+
+	/**
+	 * Moves the attributes of a solution leaving the set back into its own fields
+	 */
+	private void release(Solution solution)
+	{
+		if (solution.getColumns() == columns_)
+			solution.detach();
+	}
+
+	/**
+	 * Checks whether a solution has the number of objectives of the set
+	 */
+	private void checkObjectives(Solution solution)
+	{
+		if (solution.numberOfObjectives() != columns_.getNumberOfObjectives())
+			throw new IllegalArgumentException("The solution has " + solution.numberOfObjectives() + " objectives, but the set holds solutions with " + columns_.getNumberOfObjectives());
+	}
+
+	/**
+	 * Places the solution at position i in slot i of the columns. Solutions that were
+	 * moved to other columnar sets since being added are moved back. Sorting or removing
+	 * solutions breaks the placement, which must then be restored before the columns are
+	 * scanned again.
+	 * 
+	 * @throws IllegalStateException if the same solution is found twice in the set
+	 */
+	public void compact()
+	{
+		for (int i = 0; i < size(); i++)
+			get(i).moveTo(columns_);
+		
+		for (int i = 0; i < size(); i++)
+		{
+			int slot = get(i).getSlot();
+			
+			if (slot < i)
+				throw new IllegalStateException("The solution at position " + i + " is also found at position " + slot);
+			
+			columns_.swap(i, slot);
+		}
+		
+		columns_.rebuildFreeSlots();
+	}
+
+	/**
+	 * Returns the number of objectives of the solutions in the set
+	 */
+	public int getNumberOfObjectives()
+	{
+		return columns_.getNumberOfObjectives();
+	}
+
+	/**
+	 * Compacts the set and returns its objective values, with objective k of the solution
+	 * at position i stored at (i * numberOfObjectives + k). The array is the storage of
+	 * the solutions and may be written to; it stays valid until the set is sorted or
+	 * changed, or one of its solutions is added to another columnar set.
+	 */
+	public double[] getObjectives()
+	{
+		compact();
+		return columns_.objectives;
+	}
+
+	/**
+	 * Compacts the set and returns its crowding distances, indexed by position. The array
+	 * is the storage of the solutions and may be written to; it stays valid until the set
+	 * is sorted or changed, or one of its solutions is added to another columnar set.
+	 */
+	public double[] getCrowdingDistances()
+	{
+		compact();
+		return columns_.crowding;
+	}
+
+	/**
+	 * Compacts the set and returns its ranks, indexed by position. The array is the
+	 * storage of the solutions and may be written to; it stays valid until the set is
+	 * sorted or changed, or one of its solutions is added to another columnar set.
+	 */
+	public int[] getRanks()
+	{
+		compact();
+		return columns_.ranks;
+	}
+
+	/**
+	 * Compacts the set and returns the fitness of its solutions, indexed by position. The
+	 * array is the storage of the solutions and may be written to; it stays valid until
+	 * the set is sorted or changed, or one of its solutions is added to another columnar
+	 * set.
+	 */
+	public double[] getFitnesses()
+	{
+		compact();
+		return columns_.fitness;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package sobol.base.solution;
+
+import java.util.Arrays;
+
+/**
+ * Set of solutions with distinct values, indexed by the hash of their values so that
+ * checking whether a solution is already present takes constant expected time. The
+ * solutions that share a hash are still compared value by value. Changing the values
+ * of a solution while it is in the filter leaves the filter in an undefined state.
+ */
+public class DuplicateFilter
+{
+	/**
+	 * Distance below which two solutions are considered identical
+	 */
+	private static final double EPSILON = 1e-10;
+
+	/**
+	 * Hashes of the solutions in the table, indexed like the solutions
+	 */
+	private long[] hashes;
+
+	/**
+	 * Open addressing table of solutions, with null marking free positions
+	 */
+	private Solution[] entries;
+
+	/**
+	 * Number of solutions in the table
+	 */
+	private int count;
+
+	/**
+	 * Creates a filter with room for a number of solutions before growing
+	 * 
+	 * @param expectedSize	Expected number of distinct solutions
+	 */
+	public DuplicateFilter(int expectedSize)
+	{
+		int capacity = 16;
+		
+		while (capacity < 2 * expectedSize)
+			capacity <<= 1;
+		
+		this.hashes = new long[capacity];
+		this.entries = new Solution[capacity];
+		this.count = 0;
+	}
+
+	/**
+	 * Creates a filter with the default initial capacity
+	 */
+	public DuplicateFilter()
+	{
+		this(8);
+	}
+
+	/**
+	 * Adds a solution to the filter
+	 * 
+	 * @return true if the solution was added, false if an identical one was already present
+	 */
+	public boolean add(Solution solution)
+	{
+		long hash = solution.getGenotypeHash();
+		int position = find(solution, hash);
+		
+		if (entries[position] != null)
+			return false;
+		
+		hashes[position] = hash;
+		entries[position] = solution;
+		
+		if (++count * 2 > entries.length)
+			grow();
+		
+		return true;
+	}
+
+	/**
+	 * Checks whether the filter holds a solution identical to a given one
+	 */
+	public boolean contains(Solution solution)
+	{
+		return entries[find(solution, solution.getGenotypeHash())] != null;
+	}
+
+	/**
+	 * Returns the solution of the filter identical to a given one, or null if there is none
+	 */
+	public Solution get(Solution solution)
+	{
+		return entries[find(solution, solution.getGenotypeHash())];
+	}
+
+	/**
+	 * Removes a solution from the filter. An identical solution that was rejected by
+	 * <code>add</code> is not the one stored, so removing it leaves the filter unchanged.
+	 * 
+	 * @return true if the solution was in the filter
+	 */
+	public boolean remove(Solution solution)
+	{
+		int position = find(solution, solution.getGenotypeHash());
+		
+		if (entries[position] != solution)
+			return false;
+		
+		entries[position] = null;
+		count--;
+		
+		// Shift back the solutions of the probe sequence that would no longer be found
+		int mask = entries.length - 1;
+		int next = (position + 1) & mask;
+		
+		while (entries[next] != null)
+		{
+			int home = (int) (hashes[next] ^ (hashes[next] >>> 32)) & mask;
+			
+			if (((next - home) & mask) >= ((next - position) & mask))
+			{
+				hashes[position] = hashes[next];
+				entries[position] = entries[next];
+				entries[next] = null;
+				position = next;
+			}
+			
+			next = (next + 1) & mask;
+		}
+		
+		return true;
+	}
+
+	/**
+	 * Returns the number of solutions in the filter
+	 */
+	public int size()
+	{
+		return count;
+	}
+
+	/**
+	 * Removes all solutions from the filter
+	 */
+	public void clear()
+	{
+		Arrays.fill(entries, null);
+		count = 0;
+	}
+
+	/**
+	 * Returns the position of a solution identical to a given one, or the free position
+	 * where it would be stored
+	 */
+	private int find(Solution solution, long hash)
+	{
+		int mask = entries.length - 1;
+		int position = (int) (hash ^ (hash >>> 32)) & mask;
+		
+		while (entries[position] != null)
+		{
+			if (hashes[position] == hash && isIdentical(entries[position], solution))
+				return position;
+			
+			position = (position + 1) & mask;
+		}
+		
+		return position;
+	}
+
+	/**
+	 * Compares two solutions with the same hash value by value
+	 */
+	private static boolean isIdentical(Solution solution1, Solution solution2)
+	{
+		return solution1 == solution2 || (solution1.numberOfVariables() == solution2.numberOfVariables() && solution1.calculateDistance(solution2) < EPSILON);
+	}
+
+	/**
+	 * Doubles the size of the table, placing the solutions again
+	 */
+	private void grow()
+	{
+		long[] oldHashes = hashes;
+		Solution[] oldEntries = entries;
+		hashes = new long[2 * oldEntries.length];
+		entries = new Solution[2 * oldEntries.length];
+		int mask = entries.length - 1;
+		
+		for (int i = 0; i < oldEntries.length; i++)
+			if (oldEntries[i] != null)
+			{
+				int position = (int) (oldHashes[i] ^ (oldHashes[i] >>> 32)) & mask;
+				
+				while (entries[position] != null)
+					position = (position + 1) & mask;
+				
+				hashes[position] = oldHashes[i];
+				entries[position] = oldEntries[i];
+			}
+	}
+}
\ No newline at end of file
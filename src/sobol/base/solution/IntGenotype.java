@@ -0,0 +1,318 @@
+package sobol.base.solution;
+
+/**
+ * Values of an integer solution, kept in the narrowest primitive array that holds the
+ * range of the bounds. A value that does not fit the array widens the storage, so
+ * callers must keep the genotype returned by the methods that change it.
+ */
+abstract class IntGenotype
+{
+	/**
+	 * Creates a genotype for a number of values lying between two bounds
+	 * 
+	 * @param size		Number of values
+	 * @param min		Smallest value expected in the genotype
+	 * @param max		Largest value expected in the genotype
+	 */
+	static IntGenotype create(int size, int min, int max)
+	{
+		if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE)
+			return new Bytes(size);
+		
+		if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE)
+			return new Shorts(size);
+		
+		return new Ints(size);
+	}
+
+	/**
+	 * Returns the number of values in the genotype
+	 */
+	abstract int length();
+
+	/**
+	 * Returns a value of the genotype
+	 */
+	abstract int get(int index);
+
+	/**
+	 * Checks whether a value can be stored without widening the genotype
+	 */
+	abstract boolean fits(int value);
+
+	/**
+	 * Stores a value that fits the genotype
+	 */
+	abstract void put(int index, int value);
+
+	/**
+	 * Creates a copy of the genotype, with the same storage
+	 */
+	abstract IntGenotype copy();
+
+	/**
+	 * Copies the values of a genotype with the same storage and length
+	 */
+	abstract void assign(IntGenotype other);
+
+	/**
+	 * Stores a value, returning the genotype that holds it: the current one or a wider
+	 * copy, if the value does not fit the current storage
+	 */
+	IntGenotype set(int index, int value)
+	{
+		IntGenotype result = fits(value) ? this : widen(value);
+		result.put(index, value);
+		return result;
+	}
+
+	/**
+	 * Stores all the values of an array, returning the genotype that holds them
+	 */
+	IntGenotype setAll(int[] values)
+	{
+		IntGenotype result = this;
+		
+		for (int i = 0; i < values.length; i++)
+			result = result.set(i, values[i]);
+		
+		return result;
+	}
+
+	/**
+	 * Copies the values of a genotype, reusing the current storage if possible
+	 */
+	IntGenotype copyFrom(IntGenotype other)
+	{
+		if (getClass() != other.getClass() || length() != other.length())
+			return other.copy();
+		
+		assign(other);
+		return this;
+	}
+
+	/**
+	 * Calculates the sum of the squared differences between the values of two genotypes
+	 */
+	double squaredDistance(IntGenotype other)
+	{
+		double distance = 0.0;
+		
+		for (int i = 0; i < length(); i++)
+		{
+			double diff = (double) get(i) - other.get(i);
+			distance += diff * diff;
+		}
+		
+		return distance;
+	}
+
+	/**
+	 * Creates a copy of the genotype with a storage that also holds a given value
+	 */
+	private IntGenotype widen(int value)
+	{
+		IntGenotype result = (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) ? new Shorts(length()) : new Ints(length());
+		
+		for (int i = 0; i < length(); i++)
+			result.put(i, get(i));
+		
+		return result;
+	}
+
+	/**
+	 * Genotype backed by an array of bytes
+	 */
+	static final class Bytes extends IntGenotype
+	{
+		private final byte[] values;
+		
+		Bytes(int size)
+		{
+			this.values = new byte[size];
+		}
+		
+		int length()
+		{
+			return values.length;
+		}
+		
+		int get(int index)
+		{
+			return values[index];
+		}
+		
+		boolean fits(int value)
+		{
+			return value == (byte) value;
+		}
+		
+		void put(int index, int value)
+		{
+			values[index] = (byte) value;
+		}
+		
+		IntGenotype copy()
+		{
+			Bytes result = new Bytes(values.length);
+			System.arraycopy(values, 0, result.values, 0, values.length);
+			return result;
+		}
+		
+		void assign(IntGenotype other)
+		{
+			System.arraycopy(((Bytes) other).values, 0, values, 0, values.length);
+		}
+		
+		@Override
+		double squaredDistance(IntGenotype other)
+		{
+			if (!(other instanceof Bytes))
+				return super.squaredDistance(other);
+			
+			byte[] others = ((Bytes) other).values;
+			long distance = 0;
+			
+			for (int i = 0; i < values.length; i++)
+			{
+				int diff = values[i] - others[i];
+				distance += diff * diff;
+			}
+			
+			return distance;
+		}
+	}
+
+	/**
+	 * Genotype backed by an array of shorts
+	 */
+	static final class Shorts extends IntGenotype
+	{
+		private final short[] values;
+		
+		Shorts(int size)
+		{
+			this.values = new short[size];
+		}
+		
+		int length()
+		{
+			return values.length;
+		}
+		
+		int get(int index)
+		{
+			return values[index];
+		}
+		
+		boolean fits(int value)
+		{
+			return value == (short) value;
+		}
+		
+		void put(int index, int value)
+		{
+			values[index] = (short) value;
+		}
+		
+		IntGenotype copy()
+		{
+			Shorts result = new Shorts(values.length);
+			System.arraycopy(values, 0, result.values, 0, values.length);
+			return result;
+		}
+		
+		void assign(IntGenotype other)
+		{
+			System.arraycopy(((Shorts) other).values, 0, values, 0, values.length);
+		}
+		
+		@Override
+		double squaredDistance(IntGenotype other)
+		{
+			if (!(other instanceof Shorts))
+				return super.squaredDistance(other);
+			
+			short[] others = ((Shorts) other).values;
+			long distance = 0;
+			
+			for (int i = 0; i < values.length; i++)
+			{
+				long diff = values[i] - others[i];
+				distance += diff * diff;
+			}
+			
+			return distance;
+		}
+	}
+
+	/**
+	 * Genotype backed by an array of integers
+	 */
+	static final class Ints extends IntGenotype
+	{
+		private final int[] values;
+		
+		Ints(int size)
+		{
+			this.values = new int[size];
+		}
+		
+		int length()
+		{
+			return values.length;
+		}
+		
+		int get(int index)
+		{
+			return values[index];
+		}
+		
+		boolean fits(int value)
+		{
+			return true;
+		}
+		
+		void put(int index, int value)
+		{
+			values[index] = value;
+		}
+		
+		IntGenotype copy()
+		{
+			Ints result = new Ints(values.length);
+			System.arraycopy(values, 0, result.values, 0, values.length);
+			return result;
+		}
+		
+		void assign(IntGenotype other)
+		{
+			System.arraycopy(((Ints) other).values, 0, values, 0, values.length);
+		}
+		
+		@Override
+		IntGenotype setAll(int[] values)
+		{
+			System.arraycopy(values, 0, this.values, 0, values.length);
+			return this;
+		}
+		
+		@Override
+		double squaredDistance(IntGenotype other)
+		{
+			if (!(other instanceof Ints))
+				return super.squaredDistance(other);
+			
+			int[] others = ((Ints) other).values;
+			double distance = 0.0;
+			
+			for (int i = 0; i < values.length; i++)
+			{
+				double diff = (double) values[i] - others[i];
+				distance += diff * diff;
+			}
+			
+			return distance;
+		}
+	}
+}
\ No newline at end of file
@@ -1,28 +1,75 @@
 package sobol.base.solution;
 
+import java.util.BitSet;
+import sobol.base.random.generic.LazyPoint;
 import sobol.base.solutionType.IntSolutionType;
 
 public class IntSolution extends Solution
 {
 	private IntSolutionType type;
-	private int[] value_;
+	private IntGenotype value_;
+	private LazyPoint pending_;
+	private BitSet drawn_;
 
 	public IntSolution(IntSolutionType type, int numberOfObjectives, int size)
 	{
 		super(numberOfObjectives);
 		this.type = type;
-		this.value_ = new int[size];
+		this.value_ = IntGenotype.create(size, type.getMinimumBound(), type.getMaximumBound());
 		randomize();
 	}
 
+	/**
+	 * Creates a copy of a solution without drawing a new point from the population
+	 * generator. Values not drawn yet by a sparse solution remain pending in both.
+	 */
+	public IntSolution(IntSolution other)
+	{
+		super(other);
+		this.type = other.type;
+		this.value_ = other.value_.copy();
+		this.pending_ = other.pending_;
+		this.drawn_ = (other.drawn_ != null) ? (BitSet) other.drawn_.clone() : null;
+	}
+
 	public int getValue(int index)
 	{
-		return value_[index];
+		if (pending_ != null && !drawn_.get(index))
+		{
+			value_ = value_.set(index, type.getRandomValue(pending_, index));
+			drawn_.set(index);
+		}
+		
+		return value_.get(index);
 	}
 
 	public void setValue(int index, int value)
 	{
-		this.value_[index] = value;
+		if (isGenotypeHashed())
+		{
+			int current = getValue(index);
+			
+			if (current != value)
+				updateGenotypeHash(genotypeKey(index, current) ^ genotypeKey(index, value));
+		}
+		
+		if (pending_ != null)
+			drawn_.set(index);
+		
+		this.value_ = value_.set(index, value);
+	}
+	
+	@Override
+	public void drawAll()
+	{
+		if (pending_ == null)
+			return;
+		
+		for (int i = 0; i < value_.length(); i++)
+			getValue(i);
+		
+		pending_ = null;
+		drawn_ = null;
 	}
 	
 	public IntSolutionType getType()
@@ -33,52 +80,77 @@ public class IntSolution extends Solution
 	@Override
 	public void randomize()
 	{
-		int[] rnd = type.getRandomIndividual();
+		resetGenotypeHash();
+		pending_ = type.getRandomPoint();
+		drawn_ = (pending_ != null) ? new BitSet(value_.length()) : null;
+		
+		if (pending_ != null)
+			return;
 		
-		for (int i = 0; i < value_.length; i++)
-			value_[i] = rnd[i];
+		value_ = value_.setAll(type.getRandomIndividual());
 	}
 
 	@Override
 	public int numberOfVariables()
 	{
-		return value_.length;
+		return value_.length();
 	}
 
 	@Override
 	public Solution clone()
 	{
-		IntSolution result = new IntSolution(type, numberOfObjectives(), value_.length);
-		
-		for (int i = 0; i < value_.length; i++)
-			result.setValue(i, value_[i]);
-
-		copySolutionData(result);
-		return result;
+		return new IntSolution(this);
 	}
 
 	@Override
-	public double calculateDistance(Solution other)
+	public void copyFrom(Solution source)
 	{
-		double distance = 0.0;
-
-		for (int i = 0; i < value_.length; i++)
+		IntSolution other = (IntSolution) source;
+		copyAttributesFrom(other);
+		this.type = other.type;
+		this.pending_ = other.pending_;
+		
+		this.value_ = value_.copyFrom(other.value_);
+		
+		if (other.drawn_ == null)
+			drawn_ = null;
+		else if (drawn_ == null)
+			drawn_ = (BitSet) other.drawn_.clone();
+		else
 		{
-			double diff = getValue(i) - ((IntSolution)other).getValue(i);
-			distance += Math.pow(diff, 2.0);
+			drawn_.clear();
+			drawn_.or(other.drawn_);
 		}
+	}
+
+	@Override
+	protected long calculateGenotypeHash()
+	{
+		long hash = 0;
+		
+		for (int i = 0; i < value_.length(); i++)
+			hash ^= genotypeKey(i, getValue(i));
+		
+		return hash;
+	}
 
-		return Math.sqrt(distance);
+	@Override
+	public double calculateDistance(Solution other)
+	{
+		IntSolution solution = (IntSolution) other;
+		solution.drawAll();
+		drawAll();
+		return Math.sqrt(value_.squaredDistance(solution.value_));
 	}
 	
 	@Override
 	public String getShortDescription()
 	{
-		String result = " [" + value_[0];
+		StringBuilder result = new StringBuilder(" [").append(getValue(0));
 		
-		for(int i = 1; i < value_.length; i++)
-			result += " " + value_[i];
+		for(int i = 1; i < value_.length(); i++)
+			result.append(' ').append(getValue(i));
 
-		return result + "]";
+		return result.append(']').toString();
 	}
 }
\ No newline at end of file
@@ -3,30 +3,53 @@ package sobol.base.solution;
 public abstract class Solution
 {
 	/**
-	 * Stores the objectives values of the solution.
+	 * Objective values of the solution while it is not bound to columns
 	 */
-	private double[] objective_;
+	private double[] objectives_;
 
 	/**
-	 * Stores the crowding distance of the the solution in a <code>SolutionSet</code>. Used in NSGA-II.
+	 * Crowding distance of the solution while it is not bound to columns
 	 */
 	private double crowdingDistance_;
 
 	/**
-	 * Stores the so called rank of the solution. Used in NSGA-II
+	 * Rank of the solution while it is not bound to columns
 	 */
 	private int rank_;
 
 	/**
-	 * This field is intended to be used to know the location of a solution into a <code>SolutionSet</code>
+	 * Location of the solution while it is not bound to columns
 	 */
 	private int location_;
-	
+
 	/**
-	 * Solution fitness - used by SPEA2
+	 * Fitness of the solution while it is not bound to columns
 	 */
 	private double fitness_;
 
+	/**
+	 * Columns that store the objective values, crowding distance, rank, location and
+	 * fitness of the solution once it is added to a <code>ColumnarSolutionSet</code>,
+	 * or null while the solution keeps them in its own fields
+	 */
+	private SolutionColumns columns_;
+
+	/**
+	 * Slot of the solution in its columns
+	 */
+	private int slot_;
+
+	/**
+	 * Hash of the values of the solution, meaningful only while genotypeHashed_ is set
+	 */
+	private long genotypeHash_;
+
+	/**
+	 * Indicates that the hash of the values is up to date, and so must be updated by
+	 * every change in the values
+	 */
+	private boolean genotypeHashed_;
+
 	/**
 	 * Constructor.
 	 * 
@@ -35,11 +58,22 @@ public abstract class Solution
 	 */
 	public Solution(int numberOfObjectives)
 	{
-		objective_ = new double[numberOfObjectives];
-		crowdingDistance_ = 0.0;
-		rank_ = 0;
-		location_ = 0;
-		fitness_ = 0.0;
+		objectives_ = new double[numberOfObjectives];
+		columns_ = null;
+	}
+
+	/**
+	 * Copy constructor. Copies the objective values, crowding distance, rank, location
+	 * and fitness of another solution.
+	 * 
+	 * @param other The solution to be copied
+	 */
+	protected Solution(Solution other)
+	{
+		this(other.numberOfObjectives());
+		copyFields(other);
+		this.genotypeHash_ = other.genotypeHash_;
+		this.genotypeHashed_ = other.genotypeHashed_;
 	}
 
 	/**
@@ -47,7 +81,7 @@ public abstract class Solution
 	 */
 	public int numberOfObjectives()
 	{
-		return objective_.length;
+		return objectives_.length;
 	}
 
 	/**
@@ -55,7 +89,10 @@ public abstract class Solution
 	 */
 	public void setObjective(int i, double value)
 	{
-		objective_[i] = value;
+		if (columns_ == null)
+			objectives_[i] = value;
+		else
+			columns_.objectives[slot_ * objectives_.length + i] = value;
 	}
 
 	/**
@@ -63,7 +100,7 @@ public abstract class Solution
 	 */
 	public double getObjective(int i)
 	{
-		return objective_[i];
+		return (columns_ == null) ? objectives_[i] : columns_.objectives[slot_ * objectives_.length + i];
 	}
 
 	/**
@@ -71,7 +108,10 @@ public abstract class Solution
 	 */
 	public void setCrowdingDistance(double distance)
 	{
-		crowdingDistance_ = distance;
+		if (columns_ == null)
+			crowdingDistance_ = distance;
+		else
+			columns_.crowding[slot_] = distance;
 	}
 
 	/**
@@ -79,7 +119,7 @@ public abstract class Solution
 	 */
 	public double getCrowdingDistance()
 	{
-		return crowdingDistance_;
+		return (columns_ == null) ? crowdingDistance_ : columns_.crowding[slot_];
 	}
 
 	/**
@@ -87,7 +127,10 @@ public abstract class Solution
 	 */
 	public void setRank(int value)
 	{
-		this.rank_ = value;
+		if (columns_ == null)
+			rank_ = value;
+		else
+			columns_.ranks[slot_] = value;
 	}
 
 	/**
@@ -95,7 +138,7 @@ public abstract class Solution
 	 */
 	public int getRank()
 	{
-		return this.rank_;
+		return (columns_ == null) ? rank_ : columns_.ranks[slot_];
 	}
 
 	/**
@@ -103,7 +146,10 @@ public abstract class Solution
 	 */
 	public void setLocation(int location)
 	{
-		this.location_ = location;
+		if (columns_ == null)
+			location_ = location;
+		else
+			columns_.locations[slot_] = location;
 	}
 
 	/**
@@ -111,7 +157,7 @@ public abstract class Solution
 	 */
 	public int getLocation()
 	{
-		return this.location_;
+		return (columns_ == null) ? location_ : columns_.locations[slot_];
 	}
 
 	/**
@@ -122,7 +168,10 @@ public abstract class Solution
 	 */
 	public void setFitness(double fitness)
 	{
-		fitness_ = fitness;
+		if (columns_ == null)
+			fitness_ = fitness;
+		else
+			columns_.fitness[slot_] = fitness;
 	}
 
 	/**
@@ -134,23 +183,184 @@ public abstract class Solution
 	 */
 	public double getFitness()
 	{
-		return fitness_;
+		return (columns_ == null) ? fitness_ : columns_.fitness[slot_];
 	}
-	
-	protected void copySolutionData(Solution target)
+
+	/**
+	 * Copies the objective values, crowding distance, rank, location, fitness and the
+	 * hash of the values of another solution into this one
+	 */
+	protected void copyAttributesFrom(Solution other)
+	{
+		if (other.numberOfObjectives() != numberOfObjectives())
+			throw new IllegalArgumentException("Cannot copy a solution with " + other.numberOfObjectives() + " objectives into one with " + numberOfObjectives());
+		
+		copyFields(other);
+		this.genotypeHash_ = other.genotypeHash_;
+		this.genotypeHashed_ = other.genotypeHashed_;
+	}
+
+	/**
+	 * Copies the objective values, crowding distance, rank, location and fitness of
+	 * another solution into the current storage of this one
+	 */
+	private void copyFields(Solution other)
 	{
-		for (int i = 0; i < objective_.length; i++)
-			target.setObjective(i, objective_[i]);
+		for (int i = 0; i < objectives_.length; i++)
+			setObjective(i, other.getObjective(i));
 		
-		target.setCrowdingDistance(this.getCrowdingDistance());
-		target.setFitness(this.getFitness());
-		target.setRank(this.getRank());
-		target.setLocation(this.getLocation());
+		setCrowdingDistance(other.getCrowdingDistance());
+		setRank(other.getRank());
+		setLocation(other.getLocation());
+		setFitness(other.getFitness());
+	}
+
+	/**
+	 * Returns a 64-bit hash of the values of the solution. The hash is the exclusive or
+	 * of a random key for each position and value, so that it is calculated once and
+	 * then updated by each change in the values. Solutions with the same values have
+	 * the same hash; solutions with the same hash must still be compared value by value.
+	 */
+	public long getGenotypeHash()
+	{
+		if (!genotypeHashed_)
+		{
+			genotypeHash_ = calculateGenotypeHash();
+			genotypeHashed_ = true;
+		}
+		
+		return genotypeHash_;
+	}
+
+	/**
+	 * Calculates the hash of the values from scratch, combining the keys of all positions
+	 */
+	protected abstract long calculateGenotypeHash();
+
+	/**
+	 * Checks whether the hash of the values is up to date. Subclasses only need to update
+	 * the hash when their values change while it is.
+	 */
+	protected boolean isGenotypeHashed()
+	{
+		return genotypeHashed_;
+	}
+
+	/**
+	 * Updates the hash of the values, combining the keys of the old and new values
+	 * of the positions that changed
+	 */
+	protected void updateGenotypeHash(long keys)
+	{
+		genotypeHash_ ^= keys;
+	}
+
+	/**
+	 * Discards the hash of the values, which is calculated again when required
+	 */
+	protected void resetGenotypeHash()
+	{
+		genotypeHashed_ = false;
+	}
+
+	/**
+	 * Returns the random key of a value in a given position, obtained by mixing the
+	 * bits of both numbers
+	 */
+	protected static long genotypeKey(int position, long value)
+	{
+		long z = position * 0x9E3779B97F4A7C15L + value * 0xC2B2AE3D27D4EB4FL;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Returns the columns that store the attributes of the solution, or null if the
+	 * solution keeps them in its own fields
+	 */
+	SolutionColumns getColumns()
+	{
+		return columns_;
+	}
+
+	/**
+	 * Returns the slot of the solution in its columns
+	 */
+	int getSlot()
+	{
+		return slot_;
+	}
+
+	/**
+	 * Records the slot where the attributes of the solution are stored
+	 */
+	void bind(SolutionColumns columns, int slot)
+	{
+		columns_ = columns;
+		slot_ = slot;
+	}
+
+	/**
+	 * Moves the attributes of the solution into a slot of other columns
+	 */
+	void moveTo(SolutionColumns columns)
+	{
+		if (columns == columns_)
+			return;
+		
+		int slot = columns.allocate(this);
+		
+		for (int i = 0; i < objectives_.length; i++)
+			columns.objectives[slot * objectives_.length + i] = getObjective(i);
+		
+		columns.crowding[slot] = getCrowdingDistance();
+		columns.ranks[slot] = getRank();
+		columns.locations[slot] = getLocation();
+		columns.fitness[slot] = getFitness();
+		
+		if (columns_ != null)
+			columns_.release(slot_);
+		
+		bind(columns, slot);
+	}
+
+	/**
+	 * Moves the attributes of the solution back into its own fields
+	 */
+	void detach()
+	{
+		if (columns_ == null)
+			return;
+		
+		for (int i = 0; i < objectives_.length; i++)
+			objectives_[i] = getObjective(i);
+		
+		crowdingDistance_ = getCrowdingDistance();
+		rank_ = getRank();
+		location_ = getLocation();
+		fitness_ = getFitness();
+		columns_.release(slot_);
+		columns_ = null;
 	}
 
 	public abstract int numberOfVariables();
 
+	/**
+	 * Draws the values still pending in a sparse solution, which then behaves as a
+	 * solution initialized as usual. Reading the values of a solution that has nothing
+	 * pending never changes it, so it may then be read by several threads at once.
+	 */
+	public void drawAll()
+	{
+	}
+
 	public abstract Solution clone();
+
+	/**
+	 * Turns this solution into a copy of another one, reusing its storage whenever possible
+	 */
+	public abstract void copyFrom(Solution other);
 	
 	public abstract void randomize();
 	
@@ -0,0 +1,205 @@
+package sobol.base.solution;
+
+import java.util.Arrays;
+
+/**
+ * Storage for the objective values, crowding distances, ranks, locations and fitness of a
+ * group of solutions, kept as one primitive array per attribute. Each solution reads and
+ * writes its attributes in a slot of the columns while it belongs to a columnar set; a
+ * solution created on its own keeps them in its own fields.
+ */
+class SolutionColumns
+{
+	/**
+	 * Number of objectives of each solution
+	 */
+	private int numberOfObjectives;
+	
+	/**
+	 * Objective values, with those of slot s starting at position (s * numberOfObjectives)
+	 */
+	double[] objectives;
+	
+	/**
+	 * Crowding distance of each slot
+	 */
+	double[] crowding;
+	
+	/**
+	 * Rank of each slot
+	 */
+	int[] ranks;
+	
+	/**
+	 * Location of each slot
+	 */
+	int[] locations;
+	
+	/**
+	 * Fitness of each slot
+	 */
+	double[] fitness;
+	
+	/**
+	 * Solution stored in each slot, or null if the slot is free
+	 */
+	private Solution[] owners;
+	
+	/**
+	 * Free slots below the high-water mark, used as a stack
+	 */
+	private int[] free;
+	
+	/**
+	 * Number of free slots in the stack
+	 */
+	private int freeCount;
+	
+	/**
+	 * Number of slots ever used
+	 */
+	private int used;
+
+	/**
+	 * Creates the columns for a number of solutions
+	 * 
+	 * @param numberOfObjectives	Number of objectives of each solution
+	 * @param capacity				Initial number of slots
+	 */
+	public SolutionColumns(int numberOfObjectives, int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		this.numberOfObjectives = numberOfObjectives;
+		this.objectives = new double[capacity * numberOfObjectives];
+		this.crowding = new double[capacity];
+		this.ranks = new int[capacity];
+		this.locations = new int[capacity];
+		this.fitness = new double[capacity];
+		this.owners = new Solution[capacity];
+		this.free = new int[capacity];
+		this.freeCount = 0;
+		this.used = 0;
+	}
+	
+	public int getNumberOfObjectives()
+	{
+		return numberOfObjectives;
+	}
+	
+	/**
+	 * Returns the solution stored in a slot, or null if the slot is free
+	 */
+	public Solution getOwner(int slot)
+	{
+		return owners[slot];
+	}
+	
+	/**
+	 * Takes a free slot for a solution, with all attributes set to zero
+	 */
+	public int allocate(Solution owner)
+	{
+		int slot;
+		
+		if (freeCount > 0)
+			slot = free[--freeCount];
+		else
+		{
+			if (used == owners.length)
+				grow(2 * used);
+			
+			slot = used++;
+		}
+		
+		owners[slot] = owner;
+		return slot;
+	}
+	
+	/**
+	 * Frees a slot, clearing its attributes
+	 */
+	public void release(int slot)
+	{
+		for (int i = 0; i < numberOfObjectives; i++)
+			objectives[slot * numberOfObjectives + i] = 0.0;
+		
+		crowding[slot] = 0.0;
+		ranks[slot] = 0;
+		locations[slot] = 0;
+		fitness[slot] = 0.0;
+		owners[slot] = null;
+		free[freeCount++] = slot;
+	}
+	
+	/**
+	 * Exchanges the contents of two slots, including the solutions stored in them
+	 */
+	public void swap(int first, int second)
+	{
+		if (first == second)
+			return;
+		
+		for (int i = 0; i < numberOfObjectives; i++)
+		{
+			double objective = objectives[first * numberOfObjectives + i];
+			objectives[first * numberOfObjectives + i] = objectives[second * numberOfObjectives + i];
+			objectives[second * numberOfObjectives + i] = objective;
+		}
+		
+		double distance = crowding[first];
+		crowding[first] = crowding[second];
+		crowding[second] = distance;
+		
+		int rank = ranks[first];
+		ranks[first] = ranks[second];
+		ranks[second] = rank;
+		
+		int location = locations[first];
+		locations[first] = locations[second];
+		locations[second] = location;
+		
+		double value = fitness[first];
+		fitness[first] = fitness[second];
+		fitness[second] = value;
+		
+		Solution owner = owners[first];
+		owners[first] = owners[second];
+		owners[second] = owner;
+		
+		if (owners[first] != null)
+			owners[first].bind(this, first);
+		
+		if (owners[second] != null)
+			owners[second].bind(this, second);
+	}
+	
+	/**
+	 * Rebuilds the stack of free slots after slots were exchanged, so that the lowest
+	 * free slots are taken first
+	 */
+	public void rebuildFreeSlots()
+	{
+		freeCount = 0;
+		
+		for (int slot = used - 1; slot >= 0; slot--)
+			if (owners[slot] == null)
+				free[freeCount++] = slot;
+	}
+	
+	/**
+	 * Enlarges the columns, keeping the contents of every slot
+	 */
+	private void grow(int capacity)
+	{
+		double[] newObjectives = new double[capacity * numberOfObjectives];
+		System.arraycopy(objectives, 0, newObjectives, 0, objectives.length);
+		objectives = newObjectives;
+		
+		crowding = Arrays.copyOf(crowding, capacity);
+		ranks = Arrays.copyOf(ranks, capacity);
+		locations = Arrays.copyOf(locations, capacity);
+		fitness = Arrays.copyOf(fitness, capacity);
+		owners = Arrays.copyOf(owners, capacity);
+		free = Arrays.copyOf(free, capacity);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package sobol.base.solution;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Keeps the solutions dropped by an algorithm so that later offspring can be written into
+ * them instead of into new instances. A released solution leaves the columns of any
+ * columnar set and keeps its attributes in its own fields, so the solutions handed out by
+ * the pool share no storage and may be evaluated on other threads while the pool is used.
+ */
+public class SolutionPool
+{
+	/**
+	 * Solutions available for reuse
+	 */
+	private List<Solution> free;
+	
+	/**
+	 * Solutions that survived a generation, used to find the ones to be recycled
+	 */
+	private IdentityHashMap<Solution, Boolean> survivors;
+	
+	/**
+	 * Creates an empty pool
+	 */
+	public SolutionPool()
+	{
+		this.free = new ArrayList<Solution>();
+		this.survivors = new IdentityHashMap<Solution, Boolean>();
+	}
+	
+	/**
+	 * Returns the number of solutions available for reuse
+	 */
+	public int size()
+	{
+		return free.size();
+	}
+	
+	/**
+	 * Takes a solution from the pool, or creates a copy of a prototype if the pool is
+	 * empty. The contents of the solution are meant to be overwritten by the caller.
+	 * 
+	 * @param prototype		Solution copied when there is no solution to reuse
+	 */
+	public Solution acquire(Solution prototype)
+	{
+		if (free.isEmpty())
+			return prototype.clone();
+		
+		return free.remove(free.size() - 1);
+	}
+	
+	/**
+	 * Returns a solution to the pool. The solution must not be used by the caller anymore.
+	 */
+	public void release(Solution solution)
+	{
+		solution.detach();
+		free.add(solution);
+	}
+	
+	/**
+	 * Returns to the pool every solution of a set that is not found in another one
+	 * 
+	 * @param candidates	Solutions that may have been dropped
+	 * @param kept			Solutions that are still used
+	 */
+	public void recycle(SolutionSet candidates, SolutionSet kept)
+	{
+		survivors.clear();
+		
+		for (int i = 0; i < kept.size(); i++)
+			survivors.put(kept.get(i), Boolean.TRUE);
+		
+		for (int i = 0; i < candidates.size(); i++)
+		{
+			Solution solution = candidates.get(i);
+			
+			if (!survivors.containsKey(solution))
+			{
+				survivors.put(solution, Boolean.TRUE);
+				release(solution);
+			}
+		}
+	}
+}
\ No newline at end of file
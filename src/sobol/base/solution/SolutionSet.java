@@ -167,6 +167,12 @@ public class SolutionSet implements Serializable
 	 */
 	public void replace(int position, Solution solution)
 	{
+		if (position < this.solutionsList_.size())
+		{
+			solutionsList_.set(position, solution);
+			return;
+		}
+
 		if (position > this.solutionsList_.size())
 			solutionsList_.add(solution);
 
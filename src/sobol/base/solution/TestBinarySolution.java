@@ -0,0 +1,96 @@
+package sobol.base.solution;
+
+import junit.framework.TestCase;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.random.sobol.SobolRandomGeneratorFactory;
+import sobol.base.solutionType.BinarySolutionType;
+
+public class TestBinarySolution extends TestCase
+{
+	private static final int BITS = 150;
+	
+	private boolean[] bits(BinarySolution solution)
+	{
+		boolean[] result = new boolean[solution.numberOfVariables()];
+		
+		for (int i = 0; i < result.length; i++)
+			result[i] = solution.getIth(i);
+		
+		return result;
+	}
+	
+	private void checkWordOperations(BinarySolutionType type)
+	{
+		BinarySolution first = (BinarySolution) type.newSolution(2);
+		BinarySolution second = (BinarySolution) type.newSolution(2);
+		boolean[] a = bits((BinarySolution) first.clone());
+		boolean[] b = bits((BinarySolution) second.clone());
+		
+		int distance = 0;
+		
+		for (int i = 0; i < BITS; i++)
+			if (a[i] != b[i])
+				distance++;
+		
+		assertEquals(distance, ((BinarySolution) first.clone()).hammingDistance((BinarySolution) second.clone()));
+		
+		first.exchangeFrom(second, 70);
+		first.flipWord(2, 0xFFL);
+		
+		for (int i = 0; i < BITS; i++)
+		{
+			boolean expected = (i < 70) ? a[i] : b[i];
+			
+			if (i >= 128 && i < 136)
+				expected = !expected;
+			
+			assertEquals(expected, first.getIth(i));
+			assertEquals((i < 70) ? b[i] : a[i], second.getIth(i));
+		}
+		
+		first.setWord(2, -1L);
+		assertEquals(BITS - 128, Long.bitCount(first.getWord(2)));
+	}
+	
+	public void testWordOperations()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		checkWordOperations(new BinarySolutionType(BITS));
+	}
+	
+	public void testSparseWordOperations()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new SobolRandomGeneratorFactory());
+		BinarySolutionType type = new BinarySolutionType(BITS);
+		type.setSparseInitialization(true);
+		
+		BinarySolution dense = (BinarySolution) new BinarySolutionType(BITS).newSolution(1);
+		BinarySolution sparse = (BinarySolution) type.newSolution(1);
+		assertEquals(0, dense.hammingDistance(sparse));
+		assertEquals(dense.getShortDescription(), sparse.getShortDescription());
+		
+		checkWordOperations(type);
+	}
+
+	public void testCloneKeepsStream()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new SobolRandomGeneratorFactory());
+		BinarySolutionType cloning = new BinarySolutionType(BITS);
+		BinarySolutionType plain = new BinarySolutionType(BITS);
+		
+		BinarySolution solution = (BinarySolution) cloning.newSolution(1);
+		solution.setObjective(0, 5.0);
+		solution.setRank(3);
+		plain.newSolution(1);
+		
+		BinarySolution copy = (BinarySolution) solution.clone();
+		assertEquals(0, copy.hammingDistance(solution));
+		assertEquals(5.0, copy.getObjective(0), 0.0);
+		assertEquals(3, copy.getRank());
+		
+		copy.flip(0);
+		assertTrue(copy.getIth(0) != solution.getIth(0));
+		assertEquals(0, ((BinarySolution) cloning.newSolution(1)).hammingDistance((BinarySolution) plain.newSolution(1)));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package sobol.base.solution;
+
+import junit.framework.TestCase;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.solutionType.BinarySolutionType;
+
+public class TestColumnarSolutionSet extends TestCase
+{
+	private Solution createSolution(BinarySolutionType type, double first, double second, int rank)
+	{
+		Solution solution = type.newSolution(2);
+		solution.setObjective(0, first);
+		solution.setObjective(1, second);
+		solution.setRank(rank);
+		return solution;
+	}
+	
+	public void testColumnsFollowSolutions()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1L));
+		BinarySolutionType type = new BinarySolutionType(10);
+		ColumnarSolutionSet population = new ColumnarSolutionSet(4, 2);
+		ColumnarSolutionSet other = new ColumnarSolutionSet(4, 2);
+		
+		for (int i = 0; i < 4; i++)
+			population.add(createSolution(type, i, 10 - i, i));
+		
+		Solution moved = population.get(1);
+		other.add(moved);
+		moved.setCrowdingDistance(7.0);
+		population.remove(0);
+		population.add(createSolution(type, 20, 30, 5));
+		
+		population.compact();
+		double[] objectives = population.getObjectives();
+		
+		for (int i = 0; i < population.size(); i++)
+		{
+			assertEquals(population.get(i).getObjective(0), objectives[2 * i], 0.0);
+			assertEquals(population.get(i).getObjective(1), objectives[2 * i + 1], 0.0);
+			assertEquals(population.get(i).getRank(), population.getRanks()[i]);
+		}
+		
+		assertEquals(7.0, population.getCrowdingDistances()[0], 0.0);
+		population.getCrowdingDistances()[3] = 4.0;
+		assertEquals(4.0, population.get(3).getCrowdingDistance(), 0.0);
+		assertEquals(20.0, population.get(3).getObjective(0), 0.0);
+		
+		Solution removed = population.get(2);
+		population.clear();
+		assertEquals(3.0, removed.getObjective(0), 0.0);
+		assertEquals(3, removed.getRank());
+		assertEquals(7.0, other.get(0).getCrowdingDistance(), 0.0);
+	}
+	
+	public void testAccessorsCompactTheSet()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1L));
+		BinarySolutionType type = new BinarySolutionType(10);
+		ColumnarSolutionSet population = new ColumnarSolutionSet(4, 2);
+		Solution standalone = createSolution(type, 1, 9, 0);
+		assertNull(standalone.getColumns());
+		assertNull(standalone.clone().getColumns());
+		population.add(standalone);
+		
+		for (int i = 2; i < 5; i++)
+			population.add(createSolution(type, i, 10 - i, i));
+		
+		population.remove(0);
+		population.remove(1);
+		double[] objectives = population.getObjectives();
+		int[] ranks = population.getRanks();
+		
+		for (int i = 0; i < population.size(); i++)
+		{
+			assertEquals(population.get(i).getObjective(0), objectives[2 * i], 0.0);
+			assertEquals(population.get(i).getRank(), ranks[i]);
+		}
+		
+		assertNull(standalone.getColumns());
+		assertEquals(9.0, standalone.getObjective(1), 0.0);
+	}
+	
+	public void testDuplicateSolution()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1L));
+		BinarySolutionType type = new BinarySolutionType(10);
+		ColumnarSolutionSet population = new ColumnarSolutionSet(2, 2);
+		Solution solution = createSolution(type, 1, 2, 0);
+		population.add(solution);
+		population.add(solution);
+		
+		try
+		{
+			population.compact();
+			fail();
+		}
+		catch (IllegalStateException e)
+		{
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package sobol.base.solution;
+
+import java.util.ArrayList;
+import java.util.List;
+import junit.framework.TestCase;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.random.sobol.SobolRandomGeneratorFactory;
+import sobol.base.solutionType.BinarySolutionType;
+import sobol.base.solutionType.IntSolutionType;
+
+public class TestDuplicateFilter extends TestCase
+{
+	private static final int SIZE = 150;
+	
+	public void testIncrementalHash()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new SobolRandomGeneratorFactory());
+		BinarySolutionType binaryType = new BinarySolutionType(SIZE);
+		binaryType.setSparseInitialization(true);
+		
+		BinarySolution first = (BinarySolution) binaryType.newSolution(1);
+		BinarySolution second = (BinarySolution) binaryType.newSolution(1);
+		first.getGenotypeHash();
+		second.getGenotypeHash();
+		
+		first.flip(3);
+		first.setIth(140, !first.getIth(140));
+		first.exchangeFrom(second, 70);
+		second.flipWord(1, 0xF0F0L);
+		assertEquals(first.calculateGenotypeHash(), first.getGenotypeHash());
+		assertEquals(second.calculateGenotypeHash(), second.getGenotypeHash());
+		
+		IntSolution solution = (IntSolution) new IntSolutionType(SIZE, 0, 1000).newSolution(1);
+		solution.getGenotypeHash();
+		solution.setValue(5, 20000);
+		solution.setValue(6, solution.getValue(6));
+		assertEquals(solution.calculateGenotypeHash(), solution.getGenotypeHash());
+		assertEquals(solution.getGenotypeHash(), solution.clone().getGenotypeHash());
+	}
+	
+	public void testFilter()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		IntSolutionType type = new IntSolutionType(4, 0, 3);
+		DuplicateFilter filter = new DuplicateFilter();
+		int distinct = 0;
+		
+		for (int i = 0; i < 500; i++)
+		{
+			IntSolution solution = (IntSolution) type.newSolution(1);
+			if (filter.add(solution))
+				distinct++;
+			
+			assertTrue(filter.contains(solution.clone()));
+		}
+		
+		assertEquals(distinct, filter.size());
+		assertEquals(81, distinct);
+	}
+	
+	public void testRemove()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		IntSolutionType type = new IntSolutionType(4, 0, 3);
+		DuplicateFilter filter = new DuplicateFilter();
+		List<Solution> stored = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 500; i++)
+		{
+			Solution solution = type.newSolution(1);
+			
+			if (filter.add(solution))
+				stored.add(solution);
+			else
+				assertFalse(filter.remove(solution));
+		}
+		
+		for (int i = 0; i < stored.size(); i += 2)
+			assertTrue(filter.remove(stored.get(i)));
+		
+		assertEquals(stored.size() / 2, filter.size());
+		
+		for (int i = 0; i < stored.size(); i++)
+			assertEquals(i % 2 == 1, filter.contains(stored.get(i).clone()));
+	}
+}
\ No newline at end of file
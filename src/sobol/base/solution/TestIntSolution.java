@@ -0,0 +1,68 @@
+package sobol.base.solution;
+
+import junit.framework.TestCase;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.random.sobol.SobolRandomGeneratorFactory;
+import sobol.base.solutionType.IntSolutionType;
+
+public class TestIntSolution extends TestCase
+{
+	private static final int SIZE = 40;
+	
+	public void testGenotypeWidening()
+	{
+		IntGenotype genotype = IntGenotype.create(SIZE, 0, SIZE);
+		assertTrue(genotype instanceof IntGenotype.Bytes);
+		
+		for (int i = 0; i < SIZE; i++)
+			genotype = genotype.set(i, i);
+		
+		genotype = genotype.set(1, 30000);
+		assertTrue(genotype instanceof IntGenotype.Shorts);
+		genotype = genotype.set(2, -70000);
+		assertTrue(genotype instanceof IntGenotype.Ints);
+		
+		assertEquals(0, genotype.get(0));
+		assertEquals(30000, genotype.get(1));
+		assertEquals(-70000, genotype.get(2));
+		assertEquals(SIZE - 1, genotype.get(SIZE - 1));
+	}
+	
+	public void testPerValueBounds()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		IntSolutionType type = new IntSolutionType(SIZE, 0, 10);
+		type.setLowerBound(0, 500);
+		type.setUpperBound(0, 600);
+		
+		for (int k = 0; k < 20; k++)
+		{
+			IntSolution solution = (IntSolution) type.newSolution(1);
+			assertTrue(solution.getValue(0) >= 500 && solution.getValue(0) < 600);
+			
+			for (int i = 1; i < SIZE; i++)
+				assertTrue(solution.getValue(i) >= 0 && solution.getValue(i) < 10);
+		}
+	}
+	
+	public void testDistance()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new SobolRandomGeneratorFactory());
+		IntSolutionType type = new IntSolutionType(SIZE, 0, 1000);
+		type.setSparseInitialization(true);
+		
+		IntSolution first = (IntSolution) type.newSolution(1);
+		IntSolution second = (IntSolution) type.newSolution(1);
+		second.setValue(3, 100000);
+		double expected = 0.0;
+		
+		for (int i = 0; i < SIZE; i++)
+		{
+			double diff = first.getValue(i) - second.getValue(i);
+			expected += diff * diff;
+		}
+		
+		assertEquals(Math.sqrt(expected), first.calculateDistance(second), 1e-9);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package sobol.base.solution;
+
+import junit.framework.TestCase;
+import sobol.base.crossover.BinaryUniformCrossover;
+import sobol.base.crossover.CrossoverOperator;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.solutionType.BinarySolutionType;
+
+public class TestSolutionPool extends TestCase
+{
+	public void testRecycle()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1L));
+		BinarySolutionType type = new BinarySolutionType(100);
+		SolutionSet candidates = new SolutionSet(4);
+		SolutionSet kept = new SolutionSet(4);
+		
+		for (int i = 0; i < 4; i++)
+		{
+			candidates.add(type.newSolution(2));
+			candidates.get(i).setObjective(0, i);
+		}
+		
+		kept.add(candidates.get(1));
+		kept.add(candidates.get(3));
+		
+		SolutionPool pool = new SolutionPool();
+		pool.recycle(candidates, kept);
+		assertEquals(2, pool.size());
+		assertEquals(1.0, kept.get(0).getObjective(0), 0.0);
+		assertEquals(3.0, kept.get(1).getObjective(0), 0.0);
+		
+		Solution reused = pool.acquire(kept.get(0));
+		assertTrue(reused == candidates.get(0) || reused == candidates.get(2));
+		
+		reused.copyFrom(kept.get(1));
+		assertEquals(3.0, reused.getObjective(0), 0.0);
+		assertEquals(0.0, reused.calculateDistance(kept.get(1)), 0.0);
+	}
+	
+	public void testExecuteInto()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1L));
+		BinarySolutionType type = new BinarySolutionType(100);
+		Solution parent0 = type.newSolution(1);
+		Solution parent1 = type.newSolution(1);
+		Solution child0 = type.newSolution(1);
+		Solution child1 = type.newSolution(1);
+		
+		RandomGeneratorFactory.setRandomFactoryForOperator(new PseudoRandomGeneratorFactory(2L));
+		CrossoverOperator allocating = new BinaryUniformCrossover(1.0);
+		RandomGeneratorFactory.setRandomFactoryForOperator(new PseudoRandomGeneratorFactory(2L));
+		CrossoverOperator inPlace = new BinaryUniformCrossover(1.0);
+		
+		for (int i = 0; i < 10; i++)
+		{
+			Solution[] expected = allocating.execute(parent0, parent1);
+			inPlace.executeInto(parent0, parent1, child0, child1);
+			assertEquals(0.0, expected[0].calculateDistance(child0), 0.0);
+			assertEquals(0.0, expected[1].calculateDistance(child1), 0.0);
+		}
+	}
+}
\ No newline at end of file
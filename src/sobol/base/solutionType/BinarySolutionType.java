@@ -11,6 +11,8 @@ package sobol.base.solutionType;
 
 import sobol.base.random.RandomGeneratorFactory;
 import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.LazyPoint;
+import sobol.base.random.generic.LazyRandomGenerator;
 import sobol.base.solution.BinarySolution;
 import sobol.base.solution.Solution;
 
@@ -18,11 +20,13 @@ public class BinarySolutionType extends SolutionType
 {
 	private int size;
 	private AbstractRandomGenerator random;
+	private boolean sparseInitialization;
 	
 	public BinarySolutionType(int size)
 	{
 		this.random = RandomGeneratorFactory.createForPopulation(size);
 		this.size = size;
+		this.sparseInitialization = false;
 	}
 
 	public double[] getRandomIndividual()
@@ -30,6 +34,39 @@ public class BinarySolutionType extends SolutionType
 		return random.randDouble();
 	}
 
+	public boolean getRandomBit(LazyPoint point, int index)
+	{
+		return point.get(index) < 0.5;
+	}
+
+	/**
+	 * Turns the sparse initialization on or off. New solutions then keep a lazy point
+	 * and only draw the values that are read before being overwritten. It requires a
+	 * population generator that provides lazy points; otherwise solutions draw the
+	 * whole vector, as usual.
+	 */
+	public void setSparseInitialization(boolean sparse)
+	{
+		this.sparseInitialization = sparse;
+	}
+
+	public boolean isSparseInitialization()
+	{
+		return sparseInitialization;
+	}
+
+	/**
+	 * Returns a lazy point to initialize a new solution, or null if the solution must
+	 * draw its whole vector
+	 */
+	public LazyPoint getRandomPoint()
+	{
+		if (sparseInitialization && random instanceof LazyRandomGenerator)
+			return ((LazyRandomGenerator) random).nextPoint();
+		
+		return null;
+	}
+
 	@Override
 	public int getSolutionSize()
 	{
@@ -2,6 +2,8 @@ package sobol.base.solutionType;
 
 import sobol.base.random.RandomGeneratorFactory;
 import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.LazyPoint;
+import sobol.base.random.generic.LazyRandomGenerator;
 import sobol.base.solution.IntSolution;
 import sobol.base.solution.Solution;
 
@@ -11,6 +13,7 @@ public class IntSolutionType extends SolutionType
 	private int[] upperBound;
 	private int[] lowerBound;
 	private AbstractRandomGenerator random;
+	private boolean sparseInitialization;
 	
 	public IntSolutionType(int size, int min, int max)
 	{
@@ -20,6 +23,7 @@ public class IntSolutionType extends SolutionType
 		this.upperBound = new int[size];
 		setAllLowerBounds(min);
 		setAllUpperBounds(max);
+		this.sparseInitialization = false;
 	}
 
 	public IntSolutionType(int size)
@@ -59,9 +63,101 @@ public class IntSolutionType extends SolutionType
 		this.lowerBound[index] = value;
 	}
 	
+	/**
+	 * Returns the smallest lower bound among all values
+	 */
+	public int getMinimumBound()
+	{
+		int result = lowerBound[0];
+		
+		for (int i = 1; i < size; i++)
+			result = Math.min(result, lowerBound[i]);
+		
+		return result;
+	}
+
+	/**
+	 * Returns the largest upper bound among all values
+	 */
+	public int getMaximumBound()
+	{
+		int result = upperBound[0];
+		
+		for (int i = 1; i < size; i++)
+			result = Math.max(result, upperBound[i]);
+		
+		return result;
+	}
+
+	/**
+	 * Checks whether all values share the same bounds
+	 */
+	private boolean hasUniformBounds()
+	{
+		for (int i = 1; i < size; i++)
+			if (lowerBound[i] != lowerBound[0] || upperBound[i] != upperBound[0])
+				return false;
+		
+		return true;
+	}
+	
 	public int[] getRandomIndividual()
 	{
-		return random.randInt(lowerBound[0], upperBound[0]);
+		int[] result = new int[size];
+		getRandomIndividual(result);
+		return result;
+	}
+
+	/**
+	 * Draws a new individual into a caller supplied array. If all values share the same
+	 * bounds, the generator converts the point directly; otherwise, each coordinate is
+	 * scaled to the bounds of its own value.
+	 */
+	public void getRandomIndividual(int[] result)
+	{
+		if (hasUniformBounds())
+		{
+			random.randInt(lowerBound[0], upperBound[0], result, 0, size);
+			return;
+		}
+		
+		double[] point = random.randDouble();
+		
+		for (int i = 0; i < size; i++)
+			result[i] = lowerBound[i] + (int)(point[i] * (upperBound[i] - lowerBound[i]));
+	}
+
+	public int getRandomValue(LazyPoint point, int index)
+	{
+		return point.getInt(index, lowerBound[index], upperBound[index]);
+	}
+
+	/**
+	 * Turns the sparse initialization on or off. New solutions then keep a lazy point
+	 * and only draw the values that are read before being overwritten. It requires a
+	 * population generator that provides lazy points; otherwise solutions draw the
+	 * whole vector, as usual.
+	 */
+	public void setSparseInitialization(boolean sparse)
+	{
+		this.sparseInitialization = sparse;
+	}
+
+	public boolean isSparseInitialization()
+	{
+		return sparseInitialization;
+	}
+
+	/**
+	 * Returns a lazy point to initialize a new solution, or null if the solution must
+	 * draw its whole vector
+	 */
+	public LazyPoint getRandomPoint()
+	{
+		if (sparseInitialization && random instanceof LazyRandomGenerator)
+			return ((LazyRandomGenerator) random).nextPoint();
+		
+		return null;
 	}
 
 	@Override
@@ -8,10 +8,12 @@ import sobol.base.solution.Solution;
 public class IntNeighborVisitor implements NeighborVisitor
 {
 	private AbstractRandomGenerator random;
+	private int[] value;
 	
 	public IntNeighborVisitor()
 	{
 		this.random = RandomGeneratorFactory.createForOperator(1);
+		this.value = new int[1];
 	}
 	
 	public int neighborCount(Solution solution)
@@ -23,12 +25,14 @@ public class IntNeighborVisitor implements NeighborVisitor
 	{
 		IntSolution neighbor = (IntSolution) solution.clone();		
 		int originalValue = ((IntSolution)solution).getValue(index);
-		int newValue = random.randInt(neighbor.getType().getLowerBound(index), neighbor.getType().getUpperBound(index))[0];
+		int lowerBound = neighbor.getType().getLowerBound(index);
+		int upperBound = neighbor.getType().getUpperBound(index);
 		
-		while (newValue == originalValue)
-			newValue = random.randInt(neighbor.getType().getLowerBound(index), neighbor.getType().getUpperBound(index))[0];
+		do
+			random.randInt(lowerBound, upperBound, value, 0, 1);
+		while (value[0] == originalValue);
 		
-		neighbor.setValue(index, newValue);
+		neighbor.setValue(index, value[0]);
 		return neighbor;
 	}
 }
\ No newline at end of file
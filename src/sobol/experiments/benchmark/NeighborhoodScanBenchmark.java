@@ -0,0 +1,198 @@
+package sobol.experiments.benchmark;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.random.sobol.SobolRandomGeneratorFactory;
+import sobol.base.solution.BinarySolution;
+import sobol.base.solution.IntSolution;
+import sobol.base.solution.Solution;
+import sobol.base.solutionType.BinarySolutionType;
+import sobol.base.solutionType.IntSolutionType;
+import sobol.base.solutionType.SolutionType;
+import sobol.base.visitor.BinaryNeighborVisitor;
+import sobol.base.visitor.IntNeighborVisitor;
+import sobol.base.visitor.NeighborVisitor;
+
+/**
+ * Benchmark for the neighborhood scans of the hill climbing searches. Each neighbor is a
+ * copy of the current solution with one variable changed. The scan is measured as it
+ * runs now, with copies that never touch the population generator, and with an extra
+ * solution drawn for each neighbor, as copies did when they were built through the
+ * randomizing constructor.
+ * 
+ * Results are printed as tab-separated lines: representation, dimensions, nanoseconds
+ * per neighbor with plain copies, nanoseconds per neighbor with the extra draw, and the
+ * ratio between them.
+ */
+public class NeighborhoodScanBenchmark
+{
+	/**
+	 * Number of variables measured, taken from the class counts of the instances
+	 */
+	private static final int[] DIMENSIONS = { 26, 300, 1000 };
+
+	/**
+	 * Number of rounds executed before measuring
+	 */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/**
+	 * Number of measured rounds
+	 */
+	private static final int MEASURED_ROUNDS = 5;
+
+	/**
+	 * Minimum duration of each round, in nanoseconds
+	 */
+	private static final long ROUND_TIME = 200000000L;
+
+	/**
+	 * Sum of the variables read from the neighbors, printed at the end of the benchmark
+	 */
+	private double checksum = 0.0;
+
+	/**
+	 * Solution representation whose neighborhood is scanned
+	 */
+	private static abstract class Representation
+	{
+		private String name;
+
+		public Representation(String name)
+		{
+			this.name = name;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public abstract SolutionType createType(int dimensions);
+
+		public abstract NeighborVisitor createVisitor();
+
+		/**
+		 * Reads the variable changed in a neighbor
+		 */
+		public abstract double read(Solution neighbor, int index);
+	}
+
+	/**
+	 * Returns the representations used by the hill climbing searches
+	 */
+	private List<Representation> createRepresentations()
+	{
+		List<Representation> representations = new ArrayList<Representation>();
+
+		representations.add(new Representation("binary")
+		{
+			public SolutionType createType(int dimensions)
+			{
+				return new BinarySolutionType(dimensions);
+			}
+
+			public NeighborVisitor createVisitor()
+			{
+				return new BinaryNeighborVisitor();
+			}
+
+			public double read(Solution neighbor, int index)
+			{
+				return ((BinarySolution) neighbor).getIth(index) ? 1.0 : 0.0;
+			}
+		});
+
+		representations.add(new Representation("int")
+		{
+			public SolutionType createType(int dimensions)
+			{
+				return new IntSolutionType(dimensions, 0, dimensions);
+			}
+
+			public NeighborVisitor createVisitor()
+			{
+				return new IntNeighborVisitor();
+			}
+
+			public double read(Solution neighbor, int index)
+			{
+				return ((IntSolution) neighbor).getValue(index);
+			}
+		});
+
+		return representations;
+	}
+
+	/**
+	 * Measures the scan of the neighborhood of a solution, returning nanoseconds per neighbor
+	 * 
+	 * @param redraw	Draws a new solution for each neighbor, as the randomizing copies did
+	 */
+	private double measure(Representation representation, int dimensions, boolean redraw)
+	{
+		SolutionType type = representation.createType(dimensions);
+		NeighborVisitor visitor = representation.createVisitor();
+		Solution solution = type.newSolution(1);
+		int count = visitor.neighborCount(solution);
+		double total = 0.0;
+
+		for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++)
+		{
+			long neighbors = 0;
+			long start = System.nanoTime();
+			long elapsed;
+
+			do
+			{
+				for (int i = 0; i < count; i++)
+				{
+					if (redraw)
+						checksum += type.newSolution(1).numberOfVariables();
+					
+					checksum += representation.read(visitor.getNeighbor(solution, i), i);
+				}
+
+				neighbors += count;
+				elapsed = System.nanoTime() - start;
+			}
+			while (elapsed < ROUND_TIME);
+
+			if (round >= WARMUP_ROUNDS)
+				total += (double) elapsed / neighbors;
+		}
+
+		return total / MEASURED_ROUNDS;
+	}
+
+	/**
+	 * Measures a representation for all dimensions
+	 */
+	private void run(PrintStream out, Representation representation)
+	{
+		for (int dimensions : DIMENSIONS)
+		{
+			double copy = measure(representation, dimensions, false);
+			double redraw = measure(representation, dimensions, true);
+			out.println(representation.getName() + "\t" + dimensions + "\t" + String.format("%.1f\t%.1f\t%.2f", copy, redraw, redraw / copy));
+		}
+	}
+
+	public static final void main(String[] args)
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new SobolRandomGeneratorFactory());
+		RandomGeneratorFactory.setRandomFactoryForOperator(new PseudoRandomGeneratorFactory(0));
+
+		NeighborhoodScanBenchmark benchmark = new NeighborhoodScanBenchmark();
+		PrintStream out = System.out;
+		out.println("representation\tdimensions\tns/neighbor\tns/neighbor with draw\tratio");
+
+		for (Representation representation : benchmark.createRepresentations())
+			benchmark.run(out, representation);
+
+		out.println("checksum\t" + benchmark.checksum);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,217 @@
+package sobol.experiments.benchmark;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import sobol.base.random.faure.FaureRandomGeneratorFactory;
+import sobol.base.random.generic.AbstractRandomGenerator;
+import sobol.base.random.generic.AbstractRandomGeneratorFactory;
+import sobol.base.random.halton.HaltonRandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.random.sobol.SobolRandomGeneratorFactory;
+
+/**
+ * Throughput benchmark for the random number generators. Each generator is measured for
+ * the class counts found in the clustering instances and for each way the algorithms
+ * draw numbers from it. Every measurement runs warm-up rounds before the timed ones, and
+ * the values drawn are summed into a checksum so that the work cannot be optimized away.
+ * 
+ * Results are printed as tab-separated lines: generator, path, dimensions, points per
+ * second, nanoseconds per point and nanoseconds per dimension.
+ */
+public class RandomGeneratorBenchmark
+{
+	/**
+	 * Number of dimensions measured, taken from the class counts of the instances
+	 */
+	private static final int[] DIMENSIONS = { 1, 26, 300, 1000, 2898 };
+
+	/**
+	 * Number of rounds executed before measuring
+	 */
+	private static final int WARMUP_ROUNDS = 3;
+
+	/**
+	 * Number of measured rounds
+	 */
+	private static final int MEASURED_ROUNDS = 5;
+
+	/**
+	 * Minimum duration of each round, in nanoseconds
+	 */
+	private static final long ROUND_TIME = 200000000L;
+
+	/**
+	 * Number of coordinates drawn between checks of the clock
+	 */
+	private static final int BATCH_COORDINATES = 100000;
+
+	/**
+	 * Sum of all values drawn, printed at the end of the benchmark
+	 */
+	private double checksum = 0.0;
+
+	/**
+	 * Way of drawing numbers from a generator
+	 */
+	private static abstract class Path
+	{
+		private String name;
+
+		public Path(String name)
+		{
+			this.name = name;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		/**
+		 * Draws a number of points from a generator, returning the sum of the values drawn
+		 */
+		public abstract double run(AbstractRandomGenerator generator, int dimensions, int points);
+	}
+
+	/**
+	 * Returns the paths through which the algorithms draw numbers
+	 */
+	private List<Path> createPaths()
+	{
+		List<Path> paths = new ArrayList<Path>();
+
+		paths.add(new Path("randDouble")
+		{
+			public double run(AbstractRandomGenerator generator, int dimensions, int points)
+			{
+				double sum = 0.0;
+
+				for (int i = 0; i < points; i++)
+					sum += generator.randDouble()[dimensions - 1];
+
+				return sum;
+			}
+		});
+
+		paths.add(new Path("randInt")
+		{
+			public double run(AbstractRandomGenerator generator, int dimensions, int points)
+			{
+				double sum = 0.0;
+
+				for (int i = 0; i < points; i++)
+					sum += generator.randInt(0, dimensions)[dimensions - 1];
+
+				return sum;
+			}
+		});
+
+		paths.add(new Path("randIntBuffer")
+		{
+			private int[] buffer = new int[1];
+
+			public double run(AbstractRandomGenerator generator, int dimensions, int points)
+			{
+				double sum = 0.0;
+
+				for (int i = 0; i < points; i++)
+				{
+					generator.randInt(0, dimensions, buffer, 0, 1);
+					sum += buffer[0];
+				}
+
+				return sum;
+			}
+		});
+
+		paths.add(new Path("singleDouble")
+		{
+			public double run(AbstractRandomGenerator generator, int dimensions, int points)
+			{
+				double sum = 0.0;
+
+				for (int i = 0; i < points; i++)
+					sum += generator.singleDouble();
+
+				return sum;
+			}
+		});
+
+		return paths;
+	}
+
+	/**
+	 * Measures a generator through a given path, returning nanoseconds per point or a
+	 * negative number if the generator does not support the number of dimensions
+	 */
+	private double measure(AbstractRandomGeneratorFactory factory, Path path, int dimensions)
+	{
+		AbstractRandomGenerator generator;
+
+		try
+		{
+			generator = factory.create(dimensions);
+		}
+		catch (AssertionError e)
+		{
+			return -1.0;
+		}
+
+		int batch = Math.max(1, BATCH_COORDINATES / dimensions);
+		double total = 0.0;
+
+		for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++)
+		{
+			long points = 0;
+			long start = System.nanoTime();
+			long elapsed;
+
+			do
+			{
+				checksum += path.run(generator, dimensions, batch);
+				points += batch;
+				elapsed = System.nanoTime() - start;
+			}
+			while (elapsed < ROUND_TIME);
+
+			if (round >= WARMUP_ROUNDS)
+				total += (double) elapsed / points;
+		}
+
+		return total / MEASURED_ROUNDS;
+	}
+
+	/**
+	 * Measures a generator for all paths and dimensions
+	 */
+	private void run(PrintStream out, String name, AbstractRandomGeneratorFactory factory)
+	{
+		for (Path path : createPaths())
+		{
+			for (int dimensions : DIMENSIONS)
+			{
+				double nanosPerPoint = measure(factory, path, dimensions);
+
+				if (nanosPerPoint < 0)
+					out.println(name + "\t" + path.getName() + "\t" + dimensions + "\tnot supported");
+				else
+					out.println(name + "\t" + path.getName() + "\t" + dimensions + "\t" + String.format("%.0f\t%.1f\t%.3f", 1.0e9 / nanosPerPoint, nanosPerPoint, nanosPerPoint / dimensions));
+			}
+		}
+	}
+
+	public static final void main(String[] args)
+	{
+		RandomGeneratorBenchmark benchmark = new RandomGeneratorBenchmark();
+		PrintStream out = System.out;
+		out.println("generator\tpath\tdimensions\tpoints/s\tns/point\tns/dimension");
+
+		benchmark.run(out, "SOBOL", new SobolRandomGeneratorFactory());
+		benchmark.run(out, "HALTON", new HaltonRandomGeneratorFactory());
+		benchmark.run(out, "FAURE", new FaureRandomGeneratorFactory());
+		benchmark.run(out, "PSEUDO", new PseudoRandomGeneratorFactory(0));
+
+		out.println("checksum\t" + benchmark.checksum);
+	}
+}
\ No newline at end of file
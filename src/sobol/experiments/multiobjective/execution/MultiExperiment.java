@@ -1,6 +1,7 @@
 package sobol.experiments.multiobjective.execution;
 
 import java.util.Vector;
+import sobol.base.solution.DuplicateFilter;
 import sobol.base.solution.Solution;
 import sobol.base.solution.SolutionSet;
 
@@ -84,17 +85,6 @@ public abstract class MultiExperiment<InstanceClass>
 			listener.publishCycle(cycleNumber, instanceNumber, executionTime, cycleFrontier, instanceFrontier);
 	}
 	
-	/**
-	 * Verifica se duas solues so idnticas
-	 * 
-	 * @param solution1		Primeira soluo
-	 * @param solution2		Segunda soluo
-	 */
-	private boolean identicalSolutions(Solution solution1, Solution solution2)
-	{
-		return solution1.calculateDistance(solution2) < 1E-10;
-	}
-
 	/**
 	 * Verifica se duas solues tem os mesmos objetivos
 	 * 
@@ -119,25 +109,6 @@ public abstract class MultiExperiment<InstanceClass>
 		return true;
 	}
 	
-	/**
-	 * Verifica se uma lista de solues contm uma nova soluo
-	 * 
-	 * @param solutions		Lista de solues
-	 * @param newSolution	Nova soluo que ser verificada
-	 */
-	private boolean containsIdenticalSolution(Vector<Solution> solutions, Solution newSolution)
-	{
-		for (int i = 0; i < solutions.size(); i++)
-		{
-			Solution current = solutions.get(i);
-			
-			if (identicalSolutions(current, newSolution))
-				return true;
-		}
-		
-		return false;
-	}
-	
 	/**
 	 * Verifica se uma lista de solues contm uma soluo com os mesmos objetivos de uma nova
 	 * 
@@ -166,12 +137,13 @@ public abstract class MultiExperiment<InstanceClass>
 	private Vector<Solution> getUniqueSolutions(SolutionSet result)
 	{
 		Vector<Solution> uniqueSolutions = new Vector<Solution>();
+		DuplicateFilter filter = new DuplicateFilter(result.size());
 
 		for (int i = 0; i < result.size(); i++)
 		{
 			Solution solution = result.get(i);
 			
-			if (!containsIdenticalSolution(uniqueSolutions, solution))
+			if (filter.add(solution))
 				uniqueSolutions.add(solution);
 		}
 		
@@ -6,14 +6,26 @@
  */
 package sobol.metaheuristics.mocell;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import sobol.base.comparator.DominanceComparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import sobol.base.solution.Solution;
-import sobol.metaheuristics.nsgaII.Distance;
+import sobol.metaheuristics.nsgaII.IncrementalCrowding;
+import sobol.metaheuristics.nsgaII.ParetoIndex;
 
 /**
  * This class implements a bounded archive based on crowding distances (as
- * defined in NSGA-II).
+ * defined in NSGA-II). The crowding distances are kept up to date as solutions
+ * enter and leave the archive, so that they do not have to be recalculated for
+ * the whole archive each time it overflows, and only the members whose distance
+ * changed are updated before the archive is sorted again. The members are also kept in a
+ * <code>ParetoIndex</code>, so that dominance and equality are checked without
+ * comparing the new solution with every member.
  */
 public class CrowdingArchive extends Archive
 {
@@ -30,25 +42,44 @@ public class CrowdingArchive extends Archive
 	private int objectives_;
 
 	/**
-	 * Stores a <code>Comparator</code> for dominance checking.
+	 * Stores a <code>Comparator</code> for checking crowding distances.
 	 */
-	private Comparator<Solution> dominance_;
+	private Comparator<Solution> crowdingDistance_;
 
 	/**
-	 * Stores a <code>Comparator</code> for equality checking (in the objective
-	 * space).
+	 * Stores the index of the members of the archive
 	 */
-	private Comparator<Solution> equals_;
+	private ParetoIndex index_;
 
 	/**
-	 * Stores a <code>Comparator</code> for checking crowding distances.
+	 * Stores the members with the same objectives as the solution being inserted
 	 */
-	private Comparator<Solution> crowdingDistance_;
+	private List<Solution> matches_;
+
+	/**
+	 * Stores the members dominated by the solution being inserted
+	 */
+	private Set<Solution> dominated_;
+
+	/**
+	 * Stores the crowding distances of the members of the archive
+	 */
+	private IncrementalCrowding crowding_;
+
+	/**
+	 * Stores the slot of each member of the archive in the crowding distances
+	 */
+	private Map<Solution, Integer> slots_;
+
+	/**
+	 * Stores the member held in each slot of the crowding distances, or null
+	 */
+	private Solution[] members_;
 
 	/**
-	 * Stores a <code>Distance</code> object, for distances utilities
+	 * Stores the objective values of the solution being inserted
 	 */
-	private Distance distance_;
+	private double[] point_;
 
 	/**
 	 * Constructor.
@@ -61,10 +92,14 @@ public class CrowdingArchive extends Archive
 		super(maxSize);
 		maxSize_ = maxSize;
 		objectives_ = numberOfObjectives;
-		dominance_ = new DominanceComparator();
-		equals_ = new EqualSolutions();
 		crowdingDistance_ = new CrowdingDistanceComparator();
-		distance_ = new Distance();
+		index_ = ParetoIndex.create(numberOfObjectives);
+		matches_ = new ArrayList<Solution>();
+		dominated_ = new HashSet<Solution>();
+		crowding_ = new IncrementalCrowding(numberOfObjectives);
+		slots_ = new IdentityHashMap<Solution, Integer>();
+		members_ = new Solution[maxSize + 1];
+		point_ = new double[numberOfObjectives];
 
 	} // CrowdingArchive
 
@@ -82,41 +117,100 @@ public class CrowdingArchive extends Archive
 	 */
 	public boolean add(Solution solution)
 	{
-		int flag = 0;
-		int i = 0;
-		Solution aux; // Store an solution temporally
-		while (i < solutionsList_.size())
-		{
-			aux = solutionsList_.get(i);
-
-			flag = dominance_.compare(solution, aux);
-			if (flag == 1)
-			{ // The solution to add is dominated
-				return false; // Discard the new solution
-			}
-			else if (flag == -1)
-			{ // A solution in the archive is dominated
-				solutionsList_.remove(i); // Remove it from the population
-			}
-			else
-			{
-				if (equals_.compare(aux, solution) == 0)
-				{ // There is an equal solution
-					// in the population
-					return false; // Discard the new solution
-				} // if
-				i++;
-			}
+		if (index_.isDominated(solution))
+		{ // The solution to add is dominated
+			return false; // Discard the new solution
+		}
+		matches_.clear();
+		index_.findEqual(solution, matches_);
+		if (!matches_.isEmpty())
+		{ // There is an equal solution in the population
+			return false; // Discard the new solution
+		}
+		dominated_.clear();
+		index_.removeDominated(solution, dominated_);
+		if (!dominated_.isEmpty())
+		{ // Some solutions in the archive are dominated
+			for (Solution member : dominated_)
+				releaseSlot(member); // The index has already dropped them
+			solutionsList_.removeAll(dominated_); // Remove them from the population
 		}
 		// Insert the solution into the archive
+		index_.add(solution);
 		solutionsList_.add(solution);
+
+		for (int k = 0; k < objectives_; k++)
+			point_[k] = solution.getObjective(k);
+
+		int slot = crowding_.add(point_);
+		slots_.put(solution, slot);
+
+		if (slot >= members_.length)
+			members_ = Arrays.copyOf(members_, 2 * slot);
+
+		members_[slot] = solution;
+
 		if (size() > maxSize_)
 		{ // The archive is full
-			distance_.crowdingDistanceAssignment(this, objectives_);
+			// The other members still hold the distances set at the last overflow
+			for (int i = 0; i < crowding_.getChangedCount(); i++)
+			{
+				int changed = crowding_.getChanged(i);
+
+				if (members_[changed] != null)
+					members_[changed].setCrowdingDistance(crowding_.getDistance(changed));
+			}
+
+			crowding_.clearChanged();
+			// The list was sorted at the last overflow, so only the changed
+			// members are out of place and the stable sort runs in about
+			// linear time
 			sort(crowdingDistance_);
 			// Remove the last
 			remove(maxSize_);
 		}
 		return true;
 	} // add
-} // CrowdingArchive
+
+	/**
+	 * Removes the solution at a position of the archive
+	 * 
+	 * @param i The position of the solution
+	 */
+	public void remove(int i)
+	{
+		release(solutionsList_.remove(i));
+	} // remove
+
+	/**
+	 * Removes all the solutions of the archive
+	 */
+	public void clear()
+	{
+		solutionsList_.clear();
+		index_.clear();
+		slots_.clear();
+		crowding_.clear();
+		Arrays.fill(members_, null);
+	} // clear
+
+	/**
+	 * Removes a solution that left the archive from the index and the crowding
+	 * distances
+	 */
+	private void release(Solution solution)
+	{
+		index_.remove(solution);
+		releaseSlot(solution);
+	} // release
+
+	/**
+	 * Removes a solution that left the archive from the crowding distances
+	 */
+	private void releaseSlot(Solution solution)
+	{
+		int slot = slots_.remove(solution);
+		crowding_.remove(slot);
+		members_[slot] = null;
+	} // releaseSlot
+} // CrowdingArchive
\ No newline at end of file
@@ -0,0 +1,141 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Arrays;
+
+/**
+ * Crowding distance of a set of points whose objective vectors are stored one after
+ * the other in a flat array. The points are sorted by index for each objective,
+ * starting from the order found for the previous objective, so that ties are broken
+ * as the stable sort of the solutions used to break them. The index arrays are kept
+ * between calls, so an instance must not be shared by concurrent threads.
+ */
+public class CrowdingDistance
+{
+	/**
+	 * Length of the runs sorted by insertion before being merged
+	 */
+	private static final int RUN_LENGTH = 16;
+
+	/**
+	 * Indices of the points, sorted by the last objective processed
+	 */
+	private int[] order_;
+
+	/**
+	 * Scratch array for the merges
+	 */
+	private int[] buffer_;
+
+	/**
+	 * Constructor
+	 */
+	public CrowdingDistance()
+	{
+		order_ = new int[0];
+		buffer_ = new int[0];
+	}
+
+	/**
+	 * Calculates the crowding distance of each point. The points at the ends of the order
+	 * of any objective receive an infinite distance.
+	 * 
+	 * @param objectives			Objective values, with objective k of point i stored at
+	 *        						(i * numberOfObjectives + k)
+	 * @param count					Number of points
+	 * @param numberOfObjectives	Number of objectives of each point
+	 * @param distances				Array that receives the crowding distance of each point
+	 */
+	public void assign(double[] objectives, int count, int numberOfObjectives, double[] distances)
+	{
+		if (count <= 2)
+		{
+			Arrays.fill(distances, 0, count, Double.POSITIVE_INFINITY);
+			return;
+		}
+		
+		if (order_.length < count)
+		{
+			order_ = new int[count];
+			buffer_ = new int[count];
+		}
+		
+		for (int j = 0; j < count; j++)
+		{
+			order_[j] = j;
+			distances[j] = 0.0;
+		}
+		
+		for (int i = 0; i < numberOfObjectives; i++)
+		{
+			sort(objectives, count, numberOfObjectives, i);
+			double minimum = objectives[order_[0] * numberOfObjectives + i];
+			double maximum = objectives[order_[count - 1] * numberOfObjectives + i];
+			
+			distances[order_[0]] = Double.POSITIVE_INFINITY;
+			distances[order_[count - 1]] = Double.POSITIVE_INFINITY;
+			
+			for (int j = 1; j < count - 1; j++)
+			{
+				double distance = objectives[order_[j + 1] * numberOfObjectives + i] - objectives[order_[j - 1] * numberOfObjectives + i];
+				distances[order_[j]] += distance / (maximum - minimum);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the current order by an objective, keeping the relative order of ties. Short
+	 * runs are sorted by insertion and then merged in passes that alternate between the
+	 * order and the scratch array.
+	 */
+	private void sort(double[] objectives, int count, int numberOfObjectives, int objective)
+	{
+		int[] source = order_;
+		int[] target = buffer_;
+		
+		for (int low = 0; low < count; low += RUN_LENGTH)
+		{
+			int high = Math.min(low + RUN_LENGTH, count);
+			
+			for (int k = low + 1; k < high; k++)
+			{
+				int point = source[k];
+				double value = objectives[point * numberOfObjectives + objective];
+				int j = k - 1;
+				
+				while (j >= low && objectives[source[j] * numberOfObjectives + objective] > value)
+				{
+					source[j + 1] = source[j];
+					j--;
+				}
+				
+				source[j + 1] = point;
+			}
+		}
+		
+		for (int width = RUN_LENGTH; width < count; width *= 2)
+		{
+			for (int low = 0; low < count; low += 2 * width)
+			{
+				int middle = Math.min(low + width, count);
+				int high = Math.min(low + 2 * width, count);
+				int left = low;
+				int right = middle;
+				
+				for (int k = low; k < high; k++)
+				{
+					if (right < high && (left >= middle || objectives[source[right] * numberOfObjectives + objective] < objectives[source[left] * numberOfObjectives + objective]))
+						target[k] = source[right++];
+					else
+						target[k] = source[left++];
+				}
+			}
+			
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		
+		order_ = source;
+		buffer_ = target;
+	}
+}
\ No newline at end of file
@@ -8,20 +8,39 @@
 package sobol.metaheuristics.nsgaII;
 
 import javax.management.JMException;
-import sobol.base.comparator.ObjectiveComparator;
+import sobol.base.solution.ColumnarSolutionSet;
 import sobol.base.solution.Solution;
 import sobol.base.solution.SolutionSet;
 
 /**
- * This class implements some facilities for distances
+ * This class implements some facilities for distances. An instance keeps its
+ * buffers between calls, so it must not be shared by concurrent threads.
  */
 public class Distance
 {
+	/**
+	 * Engine that calculates the crowding distances
+	 */
+	private CrowdingDistance crowding_;
+
+	/**
+	 * Objective values of the last set whose crowding distances were assigned
+	 */
+	private double[] objectives_;
+
+	/**
+	 * Crowding distances of the last set whose crowding distances were assigned
+	 */
+	private double[] distances_;
+
 	/**
 	 * Constructor.
 	 */
 	public Distance()
 	{
+		crowding_ = new CrowdingDistance();
+		objectives_ = new double[0];
+		distances_ = new double[0];
 	}
 
 	/**
@@ -133,8 +152,9 @@ public class Distance
 	}
 
 	/**
-	 * Assigns crowding distances to all solutions in a <code>SolutionSet</code>
-	 * .
+	 * Assigns crowding distances to all solutions in a <code>SolutionSet</code>.
+	 * The objectives are copied into a flat array, or taken from the columns of a
+	 * columnar set, and the distances are calculated over primitive indices.
 	 * 
 	 * @param solutionSet The <code>SolutionSet</code>.
 	 * @param nObjs Number of objectives.
@@ -146,50 +166,30 @@ public class Distance
 		if (size == 0)
 			return;
 
-		if (size == 1)
-		{
-			solutionSet.get(0).setCrowdingDistance(Double.POSITIVE_INFINITY);
-			return;
-		}
-
-		if (size == 2)
+		if (solutionSet instanceof ColumnarSolutionSet)
 		{
-			solutionSet.get(0).setCrowdingDistance(Double.POSITIVE_INFINITY);
-			solutionSet.get(1).setCrowdingDistance(Double.POSITIVE_INFINITY);
+			ColumnarSolutionSet columnar = (ColumnarSolutionSet) solutionSet;
+			crowding_.assign(columnar.getObjectives(), size, nObjs, columnar.getCrowdingDistances());
 			return;
 		}
 
-		// Use a new SolutionSet to evite alter original solutionSet
-		SolutionSet front = new SolutionSet(size);
-		
-		for (int i = 0; i < size; i++)
-			front.add(solutionSet.get(i));
-
-		for (int i = 0; i < size; i++)
-			front.get(i).setCrowdingDistance(0.0);
+		if (objectives_.length < size * nObjs)
+			objectives_ = new double[size * nObjs];
 
-		double objetiveMaxn;
-		double objetiveMinn;
-		double distance;
+		if (distances_.length < size)
+			distances_ = new double[size];
 
-		for (int i = 0; i < nObjs; i++)
+		for (int j = 0; j < size; j++)
 		{
-			// Sort the population by Obj n
-			front.sort(new ObjectiveComparator(i));
-			objetiveMinn = front.get(0).getObjective(i);
-			objetiveMaxn = front.get(front.size() - 1).getObjective(i);
+			Solution solution = solutionSet.get(j);
 
-			// Set de crowding distance
-			front.get(0).setCrowdingDistance(Double.POSITIVE_INFINITY);
-			front.get(size - 1).setCrowdingDistance(Double.POSITIVE_INFINITY);
-
-			for (int j = 1; j < size - 1; j++)
-			{
-				distance = front.get(j + 1).getObjective(i) - front.get(j - 1).getObjective(i);
-				distance = distance / (objetiveMaxn - objetiveMinn);
-				distance += front.get(j).getCrowdingDistance();
-				front.get(j).setCrowdingDistance(distance);
-			}
+			for (int i = 0; i < nObjs; i++)
+				objectives_[j * nObjs + i] = solution.getObjective(i);
 		}
+
+		crowding_.assign(objectives_, size, nObjs, distances_);
+
+		for (int j = 0; j < size; j++)
+			solutionSet.get(j).setCrowdingDistance(distances_[j]);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,362 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Arrays;
+
+/**
+ * Divide-and-conquer non-dominated sorting by Jensen, generalized by Fortin et al. to
+ * points sharing objective values, in O(N log^(M-1) N) time. Points are referred to by
+ * their position in lexicographic order, so that every subset is kept sorted by simply
+ * keeping its positions in increasing order. Each subset is split by the median of the
+ * highest objective still to be considered; once two objectives are left, the fronts
+ * are found by sweeping the points in order of the first objective.
+ */
+public class DivideAndConquerNondominatedSorting extends LexicographicSorting
+{
+	/**
+	 * Front of the point at each position, raised as dominating points are found
+	 */
+	private int[] level = new int[0];
+
+	/**
+	 * Tree holding the largest front found for each prefix of values in the sweeps
+	 */
+	private int[] tree = new int[0];
+
+	/**
+	 * Sorted values of the second objective of the points swept
+	 */
+	private double[] sweepValues = new double[0];
+
+	@Override
+	protected int rankDistinct(int count, int[] ranks)
+	{
+		if (level.length < count)
+		{
+			level = new int[count];
+			tree = new int[count + 1];
+			sweepValues = new double[count];
+		}
+		
+		int[] all = new int[count];
+		
+		for (int i = 0; i < count; i++)
+		{
+			all[i] = i;
+			level[i] = (numberOfObjectives == 1) ? i : 0;
+		}
+		
+		if (numberOfObjectives > 1)
+			rankSubset(all, count, numberOfObjectives - 1);
+		
+		int fronts = 0;
+		
+		for (int i = 0; i < count; i++)
+		{
+			ranks[points[i]] = level[i];
+			fronts = Math.max(fronts, level[i] + 1);
+		}
+		
+		return fronts;
+	}
+
+	/**
+	 * Returns an objective of the point at a position
+	 */
+	private double value(int position, int objective)
+	{
+		return objectives[points[position] * numberOfObjectives + objective];
+	}
+
+	/**
+	 * Raises the front of a point, given a point that dominates it
+	 */
+	private void raise(int dominated, int dominating)
+	{
+		if (level[dominated] <= level[dominating])
+			level[dominated] = level[dominating] + 1;
+	}
+
+	/**
+	 * Ranks a subset of points that share the values of the objectives above a given
+	 * one, after the points outside the subset have been accounted for
+	 */
+	private void rankSubset(int[] subset, int size, int objective)
+	{
+		if (size < 2)
+			return;
+		
+		if (size == 2)
+		{
+			if (weaklyDominates(subset[0], subset[1], objective))
+				raise(subset[1], subset[0]);
+			
+			return;
+		}
+		
+		if (objective == 1)
+		{
+			sweepSubset(subset, size);
+			return;
+		}
+		
+		double median = median(subset, size, objective);
+		int[] lower = split(subset, size, objective, median, -1);
+		int[] middle = split(subset, size, objective, median, 0);
+		int[] upper = split(subset, size, objective, median, 1);
+		
+		if (lower.length == 0 && upper.length == 0)
+		{
+			rankSubset(subset, size, objective - 1);
+			return;
+		}
+		
+		rankSubset(lower, lower.length, objective);
+		rankAgainst(lower, lower.length, middle, middle.length, objective - 1);
+		rankSubset(middle, middle.length, objective - 1);
+		int[] lowerMiddle = merge(lower, middle);
+		rankAgainst(lowerMiddle, lowerMiddle.length, upper, upper.length, objective - 1);
+		rankSubset(upper, upper.length, objective);
+	}
+
+	/**
+	 * Raises the fronts of a set of points dominated by the points of another set, whose
+	 * fronts are final. Each point of the first set is already known to be not worse
+	 * than each point of the second in the objectives above the given one, and better in
+	 * at least one of them.
+	 */
+	private void rankAgainst(int[] low, int lowSize, int[] high, int highSize, int objective)
+	{
+		if (lowSize == 0 || highSize == 0)
+			return;
+		
+		if (lowSize == 1 || highSize == 1)
+		{
+			for (int i = 0; i < highSize; i++)
+				for (int j = 0; j < lowSize; j++)
+					if (weaklyDominates(low[j], high[i], objective))
+						raise(high[i], low[j]);
+			
+			return;
+		}
+		
+		if (objective == 1)
+		{
+			sweepAgainst(low, lowSize, high, highSize);
+			return;
+		}
+		
+		double lowMinimum = Double.POSITIVE_INFINITY, lowMaximum = Double.NEGATIVE_INFINITY;
+		double highMinimum = Double.POSITIVE_INFINITY, highMaximum = Double.NEGATIVE_INFINITY;
+		
+		for (int i = 0; i < lowSize; i++)
+		{
+			lowMinimum = Math.min(lowMinimum, value(low[i], objective));
+			lowMaximum = Math.max(lowMaximum, value(low[i], objective));
+		}
+		
+		for (int i = 0; i < highSize; i++)
+		{
+			highMinimum = Math.min(highMinimum, value(high[i], objective));
+			highMaximum = Math.max(highMaximum, value(high[i], objective));
+		}
+		
+		if (lowMaximum <= highMinimum)
+		{
+			rankAgainst(low, lowSize, high, highSize, objective - 1);
+			return;
+		}
+		
+		if (lowMinimum > highMaximum)
+			return;
+		
+		int[] both = merge(Arrays.copyOf(low, lowSize), Arrays.copyOf(high, highSize));
+		double median = median(both, both.length, objective);
+		int[] low1 = split(low, lowSize, objective, median, -1);
+		int[] low2 = split(low, lowSize, objective, median, 0);
+		int[] low3 = split(low, lowSize, objective, median, 1);
+		int[] high1 = split(high, highSize, objective, median, -1);
+		int[] high2 = split(high, highSize, objective, median, 0);
+		int[] high3 = split(high, highSize, objective, median, 1);
+		
+		rankAgainst(low1, low1.length, high1, high1.length, objective);
+		int[] lowMiddle = merge(low1, low2);
+		int[] highMiddle = merge(high2, high3);
+		rankAgainst(lowMiddle, lowMiddle.length, highMiddle, highMiddle.length, objective - 1);
+		rankAgainst(low3, low3.length, high3, high3.length, objective);
+	}
+
+	/**
+	 * Ranks a subset of points by the first two objectives, sweeping them in order and
+	 * keeping the largest front found for each value of the second objective
+	 */
+	private void sweepSubset(int[] subset, int size)
+	{
+		int values = prepareSweep(subset, size, null, 0);
+		
+		for (int i = 0; i < size; i++)
+		{
+			int key = upperBound(values, value(subset[i], 1));
+			int front = query(key);
+			
+			if (front >= 0 && level[subset[i]] <= front)
+				level[subset[i]] = front + 1;
+			
+			update(key, values, level[subset[i]]);
+		}
+	}
+
+	/**
+	 * Raises the fronts of a set of points dominated by the points of another set in the
+	 * first two objectives, sweeping both in order of the first objective
+	 */
+	private void sweepAgainst(int[] low, int lowSize, int[] high, int highSize)
+	{
+		int values = prepareSweep(low, lowSize, high, highSize);
+		int j = 0;
+		
+		for (int i = 0; i < highSize; i++)
+		{
+			double first = value(high[i], 0);
+			
+			while (j < lowSize && value(low[j], 0) <= first)
+			{
+				update(upperBound(values, value(low[j], 1)), values, level[low[j]]);
+				j++;
+			}
+			
+			int front = query(upperBound(values, value(high[i], 1)));
+			
+			if (front >= 0 && level[high[i]] <= front)
+				level[high[i]] = front + 1;
+		}
+	}
+
+	/**
+	 * Sorts the values of the second objective of the points to sweep and clears the tree
+	 * 
+	 * @return the number of values
+	 */
+	private int prepareSweep(int[] first, int firstSize, int[] second, int secondSize)
+	{
+		int count = 0;
+		
+		for (int i = 0; i < firstSize; i++)
+			sweepValues[count++] = value(first[i], 1);
+		
+		for (int i = 0; i < secondSize; i++)
+			sweepValues[count++] = value(second[i], 1);
+		
+		Arrays.sort(sweepValues, 0, count);
+		Arrays.fill(tree, 0, count + 1, -1);
+		return count;
+	}
+
+	/**
+	 * Returns the number of sorted values not greater than a given one, which is the
+	 * position of the value in the tree
+	 */
+	private int upperBound(int count, double value)
+	{
+		int low = 0;
+		int high = count;
+		
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			
+			if (sweepValues[middle] > value)
+				high = middle;
+			else
+				low = middle + 1;
+		}
+		
+		return low;
+	}
+
+	/**
+	 * Records a front for a position of the tree
+	 */
+	private void update(int key, int count, int front)
+	{
+		for (int i = key; i <= count; i += i & -i)
+			if (tree[i] < front)
+				tree[i] = front;
+	}
+
+	/**
+	 * Returns the largest front recorded up to a position of the tree, or -1 if none
+	 */
+	private int query(int key)
+	{
+		int result = -1;
+		
+		for (int i = key; i > 0; i -= i & -i)
+			result = Math.max(result, tree[i]);
+		
+		return result;
+	}
+
+	/**
+	 * Checks whether a point is not worse than another up to a given objective
+	 */
+	private boolean weaklyDominates(int first, int second, int objective)
+	{
+		return ObjectiveVectors.weaklyDominates(objectives, points[first], points[second], numberOfObjectives, 0, objective + 1);
+	}
+
+	/**
+	 * Returns the median value of an objective in a set of points
+	 */
+	private double median(int[] set, int size, int objective)
+	{
+		double[] values = new double[size];
+		
+		for (int i = 0; i < size; i++)
+			values[i] = value(set[i], objective);
+		
+		Arrays.sort(values);
+		return values[size / 2];
+	}
+
+	/**
+	 * Selects the points whose value of an objective is below, equal to or above a pivot
+	 * 
+	 * @param side	-1, 0 or 1 to select the points below, equal to or above the pivot
+	 */
+	private int[] split(int[] set, int size, int objective, double pivot, int side)
+	{
+		int count = 0;
+		int[] result = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			double value = value(set[i], objective);
+			int position = (value < pivot) ? -1 : ((value > pivot) ? 1 : 0);
+			
+			if (position == side)
+				result[count++] = set[i];
+		}
+		
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Merges two sets of positions, each in increasing order
+	 */
+	private static int[] merge(int[] first, int[] second)
+	{
+		int[] result = new int[first.length + second.length];
+		int i = 0;
+		int j = 0;
+		
+		for (int k = 0; k < result.length; k++)
+		{
+			if (j >= second.length || (i < first.length && first[i] < second[j]))
+				result[k] = first[i++];
+			else
+				result[k] = second[j++];
+		}
+		
+		return result;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package sobol.metaheuristics.nsgaII;
+
+/**
+ * Efficient non-dominated sorting (ENS) with binary search among the fronts. The points
+ * are scanned in lexicographic order, so that each one only has to be compared with the
+ * points already placed. If a point is not dominated by a front, it is not dominated by
+ * the fronts that follow it either, which allows the binary search. Within a front, the
+ * points are compared from the last placed to the first.
+ */
+public class EfficientNondominatedSorting extends LexicographicSorting
+{
+	/**
+	 * Last point placed in each front
+	 */
+	private int[] frontLast = new int[0];
+
+	/**
+	 * Point placed in the same front before each point, or -1 for the first one
+	 */
+	private int[] previous = new int[0];
+
+	@Override
+	protected int rankDistinct(int count, int[] ranks)
+	{
+		if (frontLast.length < count)
+			frontLast = new int[count];
+		
+		if (previous.length < ranks.length)
+			previous = new int[ranks.length];
+		
+		int fronts = 0;
+		
+		for (int i = 0; i < count; i++)
+		{
+			int point = points[i];
+			int low = 0;
+			int high = fronts;
+			
+			while (low < high)
+			{
+				int middle = (low + high) >>> 1;
+				
+				if (isDominatedByFront(point, middle))
+					low = middle + 1;
+				else
+					high = middle;
+			}
+			
+			ranks[point] = low;
+			previous[point] = (low < fronts) ? frontLast[low] : -1;
+			frontLast[low] = point;
+			
+			if (low == fronts)
+				fronts++;
+		}
+		
+		return fronts;
+	}
+
+	/**
+	 * Checks whether a point is dominated by a member of a front. The members precede
+	 * the point in lexicographic order and differ from it, so it is enough to check that
+	 * one of them is not worse in any objective but the first.
+	 */
+	private boolean isDominatedByFront(int point, int front)
+	{
+		for (int member = frontLast[front]; member >= 0; member = previous[member])
+			if (ObjectiveVectors.weaklyDominates(objectives, member, point, numberOfObjectives, 1, numberOfObjectives))
+				return true;
+		
+		return false;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package sobol.metaheuristics.nsgaII;
+
+/**
+ * Fast non-dominated sorting from NSGA-II, kept on primitive arrays. Each pair of points
+ * is compared once to count the points dominating each one; each front is then taken
+ * from the points no longer dominated, and its members are compared again with the
+ * points left to update their counts. It takes O(MN^2) time and O(N) memory.
+ */
+public class FastNondominatedSorting implements NondominatedSorting
+{
+	/**
+	 * Number of points not placed in a front yet that dominate each point
+	 */
+	private int[] dominators = new int[0];
+
+	/**
+	 * Points of the front being built
+	 */
+	private int[] front = new int[0];
+
+	public int sort(double[] objectives, int count, int numberOfObjectives, int[] ranks)
+	{
+		if (dominators.length < count)
+		{
+			dominators = new int[count];
+			front = new int[count];
+		}
+		
+		for (int i = 0; i < count; i++)
+		{
+			dominators[i] = 0;
+			ranks[i] = -1;
+		}
+		
+		for (int p = 0; p < count; p++)
+			for (int q = p + 1; q < count; q++)
+			{
+				int flag = ObjectiveVectors.compare(objectives, p, q, numberOfObjectives);
+				
+				if (flag < 0)
+					dominators[q]++;
+				else if (flag > 0)
+					dominators[p]++;
+			}
+		
+		int assigned = 0;
+		int rank = 0;
+		
+		while (assigned < count)
+		{
+			int size = 0;
+			
+			for (int p = 0; p < count; p++)
+				if (ranks[p] < 0 && dominators[p] == 0)
+					front[size++] = p;
+			
+			for (int i = 0; i < size; i++)
+				ranks[front[i]] = rank;
+			
+			for (int i = 0; i < size; i++)
+				for (int q = 0; q < count; q++)
+					if (ranks[q] < 0 && ObjectiveVectors.compare(objectives, front[i], q, numberOfObjectives) < 0)
+						dominators[q]--;
+			
+			assigned += size;
+			rank++;
+		}
+		
+		return rank;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,341 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Arrays;
+
+/**
+ * Crowding distance of a set of points that changes one point at a time. The points
+ * are kept sorted by each objective, and the share of the distance that each objective
+ * gives to each point is stored, so that adding or removing a point only updates its
+ * neighbors, unless it changes the extremes of an objective. Ties are broken as in
+ * <code>CrowdingDistance</code> for a set holding the points in the order they were
+ * added, so both give the same distances for such a set. The set also records the
+ * slots whose distance may have changed, so that callers can copy the distances out
+ * without visiting every point.
+ */
+public class IncrementalCrowding
+{
+	/**
+	 * Number of objectives of each point
+	 */
+	private int numberOfObjectives_;
+
+	/**
+	 * Number of points in the set
+	 */
+	private int size_;
+
+	/**
+	 * Objective values, with objective k of the point in a slot stored at
+	 * (slot * numberOfObjectives + k)
+	 */
+	private double[] values_;
+
+	/**
+	 * Arrival order of the point in each slot, used to break ties
+	 */
+	private long[] sequence_;
+
+	/**
+	 * Number of points added since the set was created
+	 */
+	private long arrivals_;
+
+	/**
+	 * Slots of the points, sorted by each objective
+	 */
+	private int[][] orders_;
+
+	/**
+	 * Share of the distance given by each objective to each point, stored as the values
+	 */
+	private double[] shares_;
+
+	/**
+	 * Indicates the points found at the ends of the order of each objective
+	 */
+	private boolean[] extremes_;
+
+	/**
+	 * Indicates the slots recorded as changed
+	 */
+	private boolean[] changed_;
+
+	/**
+	 * Slots whose distance may have changed since the last call to clearChanged
+	 */
+	private int[] changedSlots_;
+
+	/**
+	 * Number of slots recorded as changed
+	 */
+	private int changedCount_;
+
+	/**
+	 * Slots released by removed points
+	 */
+	private int[] freeSlots_;
+
+	/**
+	 * Number of released slots
+	 */
+	private int freeCount_;
+
+	/**
+	 * Number of slots ever used
+	 */
+	private int slotCount_;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param numberOfObjectives	Number of objectives of each point
+	 */
+	public IncrementalCrowding(int numberOfObjectives)
+	{
+		numberOfObjectives_ = numberOfObjectives;
+		orders_ = new int[numberOfObjectives][];
+		allocate(16);
+	}
+
+	/**
+	 * Resizes the arrays to hold a given number of slots
+	 */
+	private void allocate(int capacity)
+	{
+		values_ = (values_ == null) ? new double[capacity * numberOfObjectives_] : Arrays.copyOf(values_, capacity * numberOfObjectives_);
+		shares_ = (shares_ == null) ? new double[capacity * numberOfObjectives_] : Arrays.copyOf(shares_, capacity * numberOfObjectives_);
+		extremes_ = (extremes_ == null) ? new boolean[capacity * numberOfObjectives_] : Arrays.copyOf(extremes_, capacity * numberOfObjectives_);
+		sequence_ = (sequence_ == null) ? new long[capacity] : Arrays.copyOf(sequence_, capacity);
+		freeSlots_ = (freeSlots_ == null) ? new int[capacity] : Arrays.copyOf(freeSlots_, capacity);
+		changed_ = (changed_ == null) ? new boolean[capacity] : Arrays.copyOf(changed_, capacity);
+		changedSlots_ = (changedSlots_ == null) ? new int[capacity] : Arrays.copyOf(changedSlots_, capacity);
+		
+		for (int i = 0; i < numberOfObjectives_; i++)
+			orders_[i] = (orders_[i] == null) ? new int[capacity] : Arrays.copyOf(orders_[i], capacity);
+	}
+
+	/**
+	 * Returns the number of points in the set
+	 */
+	public int size()
+	{
+		return size_;
+	}
+
+	/**
+	 * Removes all the points from the set
+	 */
+	public void clear()
+	{
+		size_ = 0;
+		freeCount_ = 0;
+		slotCount_ = 0;
+		clearChanged();
+	}
+
+	/**
+	 * Returns the number of slots whose distance may have changed since the last call to
+	 * <code>clearChanged()</code>. Slots of points removed since then may be included.
+	 */
+	public int getChangedCount()
+	{
+		return changedCount_;
+	}
+
+	/**
+	 * Returns one of the slots whose distance may have changed
+	 * 
+	 * @param i	Index of the slot, below <code>getChangedCount()</code>
+	 */
+	public int getChanged(int i)
+	{
+		return changedSlots_[i];
+	}
+
+	/**
+	 * Forgets the slots recorded as changed
+	 */
+	public void clearChanged()
+	{
+		for (int i = 0; i < changedCount_; i++)
+			changed_[changedSlots_[i]] = false;
+		
+		changedCount_ = 0;
+	}
+
+	/**
+	 * Records that the distance of a slot may have changed
+	 */
+	private void markChanged(int slot)
+	{
+		if (!changed_[slot])
+		{
+			changed_[slot] = true;
+			changedSlots_[changedCount_++] = slot;
+		}
+	}
+
+	/**
+	 * Adds a point to the set
+	 * 
+	 * @param objectives	Objective values of the point
+	 * @return the slot that identifies the point in the set
+	 */
+	public int add(double[] objectives)
+	{
+		int slot;
+		
+		if (freeCount_ > 0)
+			slot = freeSlots_[--freeCount_];
+		else
+		{
+			if (slotCount_ == sequence_.length)
+				allocate(2 * slotCount_);
+			
+			slot = slotCount_++;
+		}
+		
+		System.arraycopy(objectives, 0, values_, slot * numberOfObjectives_, numberOfObjectives_);
+		sequence_[slot] = arrivals_++;
+		size_++;
+		markChanged(slot);
+		
+		for (int i = 0; i < numberOfObjectives_; i++)
+		{
+			int[] order = orders_[i];
+			int position = search(slot, i, size_ - 1);
+			System.arraycopy(order, position, order, position + 1, size_ - 1 - position);
+			order[position] = slot;
+			
+			if (position == 0 || position == size_ - 1)
+				update(i, 0, size_ - 1);
+			else
+				update(i, position - 1, position + 1);
+		}
+		
+		return slot;
+	}
+
+	/**
+	 * Removes a point from the set
+	 * 
+	 * @param slot	Slot returned when the point was added
+	 */
+	public void remove(int slot)
+	{
+		int found = (slot >= 0 && slot < slotCount_) ? search(slot, 0, size_) : size_;
+		
+		if (found == size_ || orders_[0][found] != slot)
+			throw new IllegalArgumentException("The slot " + slot + " does not hold a point of the set");
+		
+		size_--;
+		
+		for (int i = 0; i < numberOfObjectives_; i++)
+		{
+			int[] order = orders_[i];
+			int position = search(slot, i, size_ + 1);
+			System.arraycopy(order, position + 1, order, position, size_ - position);
+			
+			if (position == 0 || position == size_)
+				update(i, 0, size_ - 1);
+			else
+				update(i, position - 1, position);
+		}
+		
+		freeSlots_[freeCount_++] = slot;
+	}
+
+	/**
+	 * Returns the crowding distance of a point. The shares of the objectives are added in
+	 * the same order as <code>CrowdingDistance</code> adds them, so the sums are equal.
+	 * 
+	 * @param slot	Slot returned when the point was added
+	 */
+	public double getDistance(int slot)
+	{
+		double distance = 0.0;
+		int base = slot * numberOfObjectives_;
+		
+		for (int i = 0; i < numberOfObjectives_; i++)
+		{
+			if (extremes_[base + i])
+				distance = Double.POSITIVE_INFINITY;
+			else
+				distance += shares_[base + i];
+		}
+		
+		return distance;
+	}
+
+	/**
+	 * Finds the position of a point in the order of an objective, or the position where it
+	 * should be inserted, looking at the first positions of the order
+	 */
+	private int search(int slot, int objective, int count)
+	{
+		int[] order = orders_[objective];
+		int low = 0;
+		int high = count;
+		
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			
+			if (compare(order[middle], slot, objective) < 0)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		
+		return low;
+	}
+
+	/**
+	 * Compares two points in the order of an objective. Ties are broken by the previous
+	 * objectives, from the last to the first, and then by arrival.
+	 */
+	private int compare(int first, int second, int objective)
+	{
+		int a = first * numberOfObjectives_;
+		int b = second * numberOfObjectives_;
+		
+		for (int k = objective; k >= 0; k--)
+		{
+			if (values_[a + k] < values_[b + k])
+				return -1;
+			
+			if (values_[a + k] > values_[b + k])
+				return 1;
+		}
+		
+		return (sequence_[first] < sequence_[second]) ? -1 : ((sequence_[first] > sequence_[second]) ? 1 : 0);
+	}
+
+	/**
+	 * Recalculates the shares of an objective for the points in a range of positions
+	 */
+	private void update(int objective, int from, int to)
+	{
+		int[] order = orders_[objective];
+		int last = size_ - 1;
+		
+		if (last < 0)
+			return;
+		
+		double minimum = values_[order[0] * numberOfObjectives_ + objective];
+		double maximum = values_[order[last] * numberOfObjectives_ + objective];
+		
+		for (int j = Math.max(from, 0); j <= Math.min(to, last); j++)
+		{
+			int index = order[j] * numberOfObjectives_ + objective;
+			markChanged(order[j]);
+			extremes_[index] = (j == 0 || j == last);
+			
+			if (!extremes_[index])
+			{
+				double distance = values_[order[j + 1] * numberOfObjectives_ + objective] - values_[order[j - 1] * numberOfObjectives_ + objective];
+				shares_[index] = distance / (maximum - minimum);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionSet;
+
+/**
+ * Non-dominated fronts of a population kept up to date as solutions are inserted and
+ * removed one at a time, so that a steady-state algorithm never ranks the whole
+ * population again. A new solution enters the first front that does not dominate it,
+ * pushing the members it dominates to the next front, and so on down the fronts. Only
+ * solutions of the last front are removed, which never changes the other fronts. Each
+ * front keeps its crowding distances in an <code>IncrementalCrowding</code>, so only the
+ * neighbors of the solutions that entered or left a front are given new distances.
+ */
+class IncrementalRanking
+{
+	/**
+	 * Number of objectives of the solutions
+	 */
+	private int numberOfObjectives_;
+
+	/**
+	 * Fronts, from the first one
+	 */
+	private List<Front> fronts_;
+
+	/**
+	 * Fronts whose crowding distances are out of date
+	 */
+	private BitSet changed_;
+
+	/**
+	 * Objective values of the solution entering a front
+	 */
+	private double[] point_;
+
+	/**
+	 * Front of the ranking, with the crowding distances of its members. The members are
+	 * added to the crowding distances in the order of the list, so ties are broken as
+	 * when the distances of the list are calculated from scratch.
+	 */
+	private class Front
+	{
+		private List<Solution> members;
+		private IncrementalCrowding crowding;
+		private Map<Solution, Integer> slots;
+		private Solution[] owners;
+
+		public Front()
+		{
+			this.members = new ArrayList<Solution>();
+			this.crowding = new IncrementalCrowding(numberOfObjectives_);
+			this.slots = new IdentityHashMap<Solution, Integer>();
+			this.owners = new Solution[16];
+		}
+
+		/**
+		 * Appends a solution to the front
+		 */
+		public void add(Solution solution)
+		{
+			for (int k = 0; k < numberOfObjectives_; k++)
+				point_[k] = solution.getObjective(k);
+			
+			int slot = crowding.add(point_);
+			
+			if (slot >= owners.length)
+				owners = Arrays.copyOf(owners, 2 * slot);
+			
+			owners[slot] = solution;
+			slots.put(solution, slot);
+			members.add(solution);
+		}
+
+		/**
+		 * Removes a solution, already taken out of the list, from the crowding distances
+		 */
+		public void release(Solution solution)
+		{
+			int slot = slots.remove(solution);
+			crowding.remove(slot);
+			owners[slot] = null;
+		}
+
+		/**
+		 * Gives the members whose distance may have changed their current distance
+		 */
+		public void updateCrowding()
+		{
+			for (int i = 0; i < crowding.getChangedCount(); i++)
+			{
+				int slot = crowding.getChanged(i);
+				
+				if (owners[slot] != null)
+					owners[slot].setCrowdingDistance(crowding.getDistance(slot));
+			}
+			
+			crowding.clearChanged();
+		}
+	}
+
+	/**
+	 * Creates an empty ranking
+	 * 
+	 * @param numberOfObjectives	Number of objectives of the solutions
+	 */
+	public IncrementalRanking(int numberOfObjectives)
+	{
+		this.numberOfObjectives_ = numberOfObjectives;
+		this.fronts_ = new ArrayList<Front>();
+		this.changed_ = new BitSet();
+		this.point_ = new double[numberOfObjectives];
+	}
+
+	/**
+	 * Returns the number of fronts
+	 */
+	public int getNumberOfFronts()
+	{
+		return fronts_.size();
+	}
+
+	/**
+	 * Returns the solutions of a front
+	 */
+	public SolutionSet getFront(int rank)
+	{
+		List<Solution> front = fronts_.get(rank).members;
+		SolutionSet result = new SolutionSet(front.size());
+		
+		for (Solution solution : front)
+			result.add(solution);
+		
+		return result;
+	}
+
+	/**
+	 * Checks whether a solution dominates another one
+	 */
+	private boolean dominates(Solution solution1, Solution solution2)
+	{
+		boolean better = false;
+		
+		for (int i = 0; i < numberOfObjectives_; i++)
+		{
+			double value1 = solution1.getObjective(i);
+			double value2 = solution2.getObjective(i);
+			
+			if (value1 > value2)
+				return false;
+			
+			if (value1 < value2)
+				better = true;
+		}
+		
+		return better;
+	}
+
+	/**
+	 * Checks whether a solution is dominated by a member of a front
+	 */
+	private boolean isDominated(Solution solution, List<Solution> front)
+	{
+		for (Solution member : front)
+			if (dominates(member, solution))
+				return true;
+		
+		return false;
+	}
+
+	/**
+	 * Inserts a solution, moving the solutions it dominates to the following fronts
+	 */
+	public void add(Solution solution)
+	{
+		int rank = 0;
+		
+		while (rank < fronts_.size() && isDominated(solution, fronts_.get(rank).members))
+			rank++;
+		
+		List<Solution> moving = new ArrayList<Solution>();
+		moving.add(solution);
+		
+		while (!moving.isEmpty())
+		{
+			if (rank == fronts_.size())
+				fronts_.add(new Front());
+			
+			Front front = fronts_.get(rank);
+			List<Solution> dominated = new ArrayList<Solution>();
+			Iterator<Solution> iterator = front.members.iterator();
+			
+			while (iterator.hasNext())
+			{
+				Solution member = iterator.next();
+				
+				for (Solution entering : moving)
+					if (dominates(entering, member))
+					{
+						dominated.add(member);
+						iterator.remove();
+						front.release(member);
+						break;
+					}
+			}
+			
+			for (Solution entering : moving)
+			{
+				entering.setRank(rank);
+				front.add(entering);
+			}
+			
+			changed_.set(rank);
+			moving = dominated;
+			rank++;
+		}
+	}
+
+	/**
+	 * Brings the crowding distances of the solutions up to date
+	 */
+	public void updateCrowding()
+	{
+		for (int rank = changed_.nextSetBit(0); rank >= 0 && rank < fronts_.size(); rank = changed_.nextSetBit(rank + 1))
+			fronts_.get(rank).updateCrowding();
+		
+		changed_.clear();
+	}
+
+	/**
+	 * Removes the solution of the last front with the smallest crowding distance, which
+	 * is the one NSGA-II would leave out when truncating the population
+	 * 
+	 * @return the solution removed
+	 */
+	public Solution removeWorst()
+	{
+		updateCrowding();
+		int rank = fronts_.size() - 1;
+		List<Solution> front = fronts_.get(rank).members;
+		int worst = 0;
+		
+		for (int i = 1; i < front.size(); i++)
+			if (front.get(i).getCrowdingDistance() <= front.get(worst).getCrowdingDistance())
+				worst = i;
+		
+		Solution solution = front.remove(worst);
+		fronts_.get(rank).release(solution);
+		
+		if (front.isEmpty())
+			fronts_.remove(rank);
+		else
+			changed_.set(rank);
+		
+		return solution;
+	}
+}
\ No newline at end of file
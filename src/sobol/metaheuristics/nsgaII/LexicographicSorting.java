@@ -0,0 +1,86 @@
+package sobol.metaheuristics.nsgaII;
+
+/**
+ * Base for the sorting algorithms that scan the points in lexicographic order of their
+ * objectives. In this order no point is dominated by a point that follows it. Points
+ * with the same values are ranked once, and their copies take the same front.
+ */
+abstract class LexicographicSorting implements NondominatedSorting
+{
+	/**
+	 * Objective values of the points being sorted
+	 */
+	protected double[] objectives;
+
+	/**
+	 * Number of objectives of each point
+	 */
+	protected int numberOfObjectives;
+
+	/**
+	 * Distinct points, in lexicographic order
+	 */
+	protected int[] points = new int[0];
+
+	/**
+	 * All points, in lexicographic order
+	 */
+	private int[] order = new int[0];
+
+	/**
+	 * Working array for the lexicographic sort
+	 */
+	private int[] buffer = new int[0];
+
+	public int sort(double[] objectives, int count, int numberOfObjectives, int[] ranks)
+	{
+		if (count == 0)
+			return 0;
+		
+		if (order.length < count)
+		{
+			order = new int[count];
+			buffer = new int[count];
+			points = new int[count];
+		}
+		
+		this.objectives = objectives;
+		this.numberOfObjectives = numberOfObjectives;
+		
+		for (int i = 0; i < count; i++)
+			order[i] = i;
+		
+		ObjectiveVectors.sortLexicographically(objectives, numberOfObjectives, order, count, buffer);
+		int distinct = 0;
+		
+		for (int i = 0; i < count; i++)
+			if (distinct == 0 || !ObjectiveVectors.equal(objectives, points[distinct - 1], order[i], numberOfObjectives))
+			{
+				points[distinct++] = order[i];
+				ranks[order[i]] = 0;
+			}
+		
+		int fronts = rankDistinct(distinct, ranks);
+		int representative = order[0];
+		
+		for (int i = 1; i < count; i++)
+		{
+			if (ObjectiveVectors.equal(objectives, representative, order[i], numberOfObjectives))
+				ranks[order[i]] = ranks[representative];
+			else
+				representative = order[i];
+		}
+		
+		this.objectives = null;
+		return fronts;
+	}
+
+	/**
+	 * Assigns a front to each distinct point
+	 * 
+	 * @param count		Number of distinct points, held in the first positions of <code>points</code>
+	 * @param ranks		Array that receives the front of each point, starting at zero
+	 * @return the number of fronts
+	 */
+	protected abstract int rankDistinct(int count, int[] ranks);
+}
\ No newline at end of file
@@ -5,12 +5,16 @@
  */
 package sobol.metaheuristics.nsgaII;
 
+import java.util.concurrent.ExecutorService;
+import sobol.base.algorithm.BatchEvaluator;
 import sobol.base.algorithm.Problem;
 import sobol.base.comparator.CrowdingComparator;
 import sobol.base.crossover.CrossoverOperator;
 import sobol.base.mutation.MutationOperator;
 import sobol.base.selection.SelectionOperator;
+import sobol.base.solution.ColumnarSolutionSet;
 import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionPool;
 import sobol.base.solution.SolutionSet;
 
 /**
@@ -28,22 +32,41 @@ import sobol.base.solution.SolutionSet;
 public class NSGAII
 {
 	private Problem problem_;
+	private BatchEvaluator evaluator_;
 
 	/**
 	 * Constructor
 	 */
 	public NSGAII(Problem problem)
+	{
+		this(problem, null);
+	}
+
+	/**
+	 * Constructor. Each generation is evaluated as a batch on the executor, which
+	 * requires a problem able to evaluate several solutions at the same time.
+	 */
+	public NSGAII(Problem problem, ExecutorService executor)
 	{
 		this.problem_ = problem;
+		this.evaluator_ = new BatchEvaluator(problem, executor);
 	}
 
 	/**
-	 * Runs the NSGA-II algorithm.
+	 * Runs the NSGA-II algorithm. The population is double-buffered: each generation
+	 * selects the survivors into the buffer not in use, and the solutions it drops
+	 * are recycled as offspring of later generations.
 	 */
 	public SolutionSet execute(int populationSize, int maxEvaluations, CrossoverOperator crossoverOperator, MutationOperator mutationOperator, SelectionOperator selectionOperator, Notifier notifier)
 	{
-		SolutionSet population = new SolutionSet(populationSize);
+		int numberOfObjectives = problem_.getNumberOfObjectives();
+		SolutionSet population = new ColumnarSolutionSet(populationSize, numberOfObjectives);
+		SolutionSet nextPopulation = new ColumnarSolutionSet(populationSize, numberOfObjectives);
+		SolutionSet offspringPopulation = new ColumnarSolutionSet(populationSize, numberOfObjectives);
+		SolutionSet union = new ColumnarSolutionSet(2 * populationSize, numberOfObjectives);
+		SolutionPool pool = new SolutionPool();
 		Distance distance = new Distance();
+		NondominatedSorting sorting = Ranking.createSorting(numberOfObjectives);
 		int evaluations = 0;
 		int generations = 0;
 
@@ -51,42 +74,47 @@ public class NSGAII
 		for (int i = 0; i < populationSize; i++)
 		{
 			Solution newSolution = problem_.newSolution();
-			problem_.evaluate(newSolution);
 			evaluations++;
 			population.add(newSolution);
 		}
+		
+		evaluator_.evaluate(population);
 
 		// Generations ...
 		while (evaluations < maxEvaluations)
 		{
-			// Create the offSpring solutionSet
-			SolutionSet offspringPopulation = new SolutionSet(populationSize);
-
+			// Create the offSpring solutionSet, which is evaluated as a batch
 			for (int i = 0; i < (populationSize / 2) && evaluations < maxEvaluations; i++)
 			{
 				Solution parent0 = selectionOperator.execute(population);
 				Solution parent1 = selectionOperator.execute(population);
 
-				Solution[] offSpring = crossoverOperator.execute(parent0, parent1);
-				mutationOperator.execute(offSpring[0]);
-				mutationOperator.execute(offSpring[1]);
-				
-				problem_.evaluate(offSpring[0]);
-				problem_.evaluate(offSpring[1]);
+				Solution child0 = pool.acquire(parent0);
+				Solution child1 = pool.acquire(parent1);
+				crossoverOperator.executeInto(parent0, parent1, child0, child1);
+				mutationOperator.execute(child0);
+				mutationOperator.execute(child1);
 				evaluations += 2;
 
-				offspringPopulation.add(offSpring[0]);
-				offspringPopulation.add(offSpring[1]);
+				offspringPopulation.add(child0);
+				offspringPopulation.add(child1);
 			}
+			
+			evaluator_.evaluate(offspringPopulation);
 
 			// Create the solutionSet union of solutionSet and offSpring
-			SolutionSet union = population.union(offspringPopulation);
+			union.clear();
+			
+			for (int i = 0; i < population.size(); i++)
+				union.add(population.get(i));
+			
+			for (int i = 0; i < offspringPopulation.size(); i++)
+				union.add(offspringPopulation.get(i));
 
 			// Ranking the union
-			Ranking ranking = new Ranking(union);
+			Ranking ranking = new Ranking(union, sorting);
 			int remain = populationSize;
 			int index = 0;
-			population.clear();
 
 			// Obtain the next front
 			SolutionSet front = ranking.getSubfront(index);
@@ -98,7 +126,7 @@ public class NSGAII
 
 				// Add the individuals of this front
 				for (int k = 0; k < front.size(); k++)
-					population.add(front.get(k));
+					nextPopulation.add(front.get(k));
 
 				// Decrement remain
 				remain = remain - front.size();
@@ -118,7 +146,7 @@ public class NSGAII
 				front.sort(new CrowdingComparator());
 
 				for (int k = 0; k < remain; k++)
-					population.add(front.get(k));
+					nextPopulation.add(front.get(k));
 
 				//if (index == 0)
 				//	System.out.println("*** " + (front.size() - remain) + " solutions are being thrown out ...");
@@ -132,12 +160,22 @@ public class NSGAII
 					Solution newSolution = problem_.newSolution();
 					problem_.evaluate(newSolution);
 					evaluations++;
-					population.add(newSolution);
+					nextPopulation.add(newSolution);
 				}
 
 				remain = 0;
 			}
 
+			// Recycle the solutions left out and swap the population buffers
+			pool.recycle(population, nextPopulation);
+			pool.recycle(offspringPopulation, nextPopulation);
+			population.clear();
+			offspringPopulation.clear();
+			
+			SolutionSet swap = population;
+			population = nextPopulation;
+			nextPopulation = swap;
+
 			if (notifier != null)
 				notifier.newIteration(generations++, evaluations, population);
 		}
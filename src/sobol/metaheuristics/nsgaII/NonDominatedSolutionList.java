@@ -7,15 +7,22 @@
 
 package sobol.metaheuristics.nsgaII;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import sobol.base.comparator.DominanceComparator;
 import sobol.base.comparator.SolutionComparator;
 import sobol.base.solution.Solution;
 import sobol.base.solution.SolutionSet;
 
 /**
- * This class implements an unbound list of non-dominated solutions
+ * This class implements an unbound list of non-dominated solutions. With the
+ * default Pareto dominance, the solutions are also kept in a
+ * <code>ParetoIndex</code>, so that inserting a solution does not require
+ * comparing it with every solution in the list.
  */
 public class NonDominatedSolutionList extends SolutionSet
 {
@@ -31,6 +38,27 @@ public class NonDominatedSolutionList extends SolutionSet
 	 */
 	private static final Comparator<Solution> equal_ = new SolutionComparator();
 
+	/**
+	 * Stores the index of the solutions, or null if a custom dominance
+	 * comparator is used or no solution has been inserted yet
+	 */
+	private ParetoIndex index_;
+
+	/**
+	 * Indicates whether the solutions are indexed
+	 */
+	private boolean indexed_;
+
+	/**
+	 * Stores the solutions with the same objectives as the one being inserted
+	 */
+	private List<Solution> matches_ = new ArrayList<Solution>();
+
+	/**
+	 * Stores the solutions dominated by the one being inserted
+	 */
+	private Set<Solution> dominated_ = new HashSet<Solution>();
+
 	/**
 	 * Constructor. The objects of this class are lists of non-dominated
 	 * solutions according to a Pareto dominance comparator.
@@ -38,6 +66,7 @@ public class NonDominatedSolutionList extends SolutionSet
 	public NonDominatedSolutionList()
 	{
 		super();
+		indexed_ = true;
 	}
 
 	/**
@@ -63,6 +92,9 @@ public class NonDominatedSolutionList extends SolutionSet
 	 */
 	public boolean add(Solution solution)
 	{
+		if (indexed_)
+			return addIndexed(solution);
+
 		Iterator<Solution> iterator = solutionsList_.iterator();
 
 		while (iterator.hasNext())
@@ -91,4 +123,76 @@ public class NonDominatedSolutionList extends SolutionSet
 		solutionsList_.add(solution);
 		return true;
 	}
+
+	/**
+	 * Inserts a solution in the list using the index. Only the solutions with
+	 * the same objectives are checked for identical decision variables.
+	 */
+	private boolean addIndexed(Solution solution)
+	{
+		if (index_ == null)
+			index_ = ParetoIndex.create(solution.numberOfObjectives());
+
+		if (index_.isDominated(solution))
+			return false;
+
+		matches_.clear();
+		index_.findEqual(solution, matches_);
+
+		for (Solution match : matches_)
+			if (equal_.compare(solution, match) == 0)
+				return false;
+
+		dominated_.clear();
+		index_.removeDominated(solution, dominated_);
+
+		if (!dominated_.isEmpty())
+			solutionsList_.removeAll(dominated_);
+
+		index_.add(solution);
+		solutionsList_.add(solution);
+		return true;
+	}
+
+	/**
+	 * Removes the solution at a position of the list
+	 * 
+	 * @param i The position of the solution
+	 */
+	public void remove(int i)
+	{
+		Solution solution = solutionsList_.remove(i);
+
+		if (index_ != null)
+			index_.remove(solution);
+	}
+
+	/**
+	 * Removes all the solutions of the list
+	 */
+	public void clear()
+	{
+		solutionsList_.clear();
+
+		if (index_ != null)
+			index_.clear();
+	}
+
+	/**
+	 * Replaces the solution at a position of the list. No dominance test is
+	 * applied to the new solution.
+	 * 
+	 * @param position The position of the solution
+	 * @param solution The new solution
+	 */
+	public void replace(int position, Solution solution)
+	{
+		if (index_ != null && position < size())
+			index_.remove(get(position));
+
+		super.replace(position, solution);
+
+		if (index_ != null)
+			index_.add(solution);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package sobol.metaheuristics.nsgaII;
+
+/**
+ * Algorithm that splits a set of points into non-dominated fronts, with all objectives
+ * being minimized. Implementations keep their working storage between calls, so that an
+ * instance may rank one population after another without allocating memory, but must
+ * not be shared by rankings running at the same time.
+ */
+public interface NondominatedSorting
+{
+	/**
+	 * Assigns a front to each point. Front 0 holds the points not dominated by any other,
+	 * front 1 those only dominated by points of front 0, and so on. Points with the same
+	 * objective values are placed in the same front.
+	 * 
+	 * @param objectives			Objective values, with objective k of point i at (i * numberOfObjectives + k)
+	 * @param count					Number of points
+	 * @param numberOfObjectives	Number of objectives of each point
+	 * @param ranks					Array that receives the front of each point
+	 * @return the number of fronts
+	 */
+	int sort(double[] objectives, int count, int numberOfObjectives, int[] ranks);
+}
\ No newline at end of file
@@ -4,5 +4,9 @@ import sobol.base.solution.SolutionSet;
 
 public interface Notifier
 {
+	/**
+	 * Reports the population of a generation. The algorithms reuse the solutions dropped
+	 * from the population, so copies must be taken of those that are to be kept.
+	 */
 	void newIteration(int generations, int evaluations, SolutionSet front);
 }
\ No newline at end of file
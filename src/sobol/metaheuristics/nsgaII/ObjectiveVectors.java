@@ -0,0 +1,129 @@
+package sobol.metaheuristics.nsgaII;
+
+/**
+ * Operations on the objective vectors of a flat array of points, as taken by the
+ * non-dominated sorting algorithms
+ */
+final class ObjectiveVectors
+{
+	private ObjectiveVectors()
+	{
+	}
+
+	/**
+	 * Compares two points for dominance
+	 * 
+	 * @return -1 if the first point dominates the second, 1 if the second dominates the
+	 *         first, and 0 otherwise
+	 */
+	static int compare(double[] objectives, int first, int second, int numberOfObjectives)
+	{
+		int a = first * numberOfObjectives;
+		int b = second * numberOfObjectives;
+		boolean better = false;
+		boolean worse = false;
+		
+		for (int k = 0; k < numberOfObjectives; k++)
+		{
+			if (objectives[a + k] < objectives[b + k])
+				better = true;
+			else if (objectives[a + k] > objectives[b + k])
+				worse = true;
+		}
+		
+		if (better == worse)
+			return 0;
+		
+		return better ? -1 : 1;
+	}
+
+	/**
+	 * Checks whether the first point is not worse than the second in a range of objectives
+	 */
+	static boolean weaklyDominates(double[] objectives, int first, int second, int numberOfObjectives, int fromObjective, int toObjective)
+	{
+		int a = first * numberOfObjectives;
+		int b = second * numberOfObjectives;
+		
+		for (int k = fromObjective; k < toObjective; k++)
+			if (objectives[a + k] > objectives[b + k])
+				return false;
+		
+		return true;
+	}
+
+	/**
+	 * Checks whether two points have the same objective values
+	 */
+	static boolean equal(double[] objectives, int first, int second, int numberOfObjectives)
+	{
+		int a = first * numberOfObjectives;
+		int b = second * numberOfObjectives;
+		
+		for (int k = 0; k < numberOfObjectives; k++)
+			if (objectives[a + k] != objectives[b + k])
+				return false;
+		
+		return true;
+	}
+
+	/**
+	 * Compares two points in lexicographic order of their objectives
+	 */
+	static int compareLexicographically(double[] objectives, int first, int second, int numberOfObjectives)
+	{
+		int a = first * numberOfObjectives;
+		int b = second * numberOfObjectives;
+		
+		for (int k = 0; k < numberOfObjectives; k++)
+		{
+			if (objectives[a + k] < objectives[b + k])
+				return -1;
+			
+			if (objectives[a + k] > objectives[b + k])
+				return 1;
+		}
+		
+		return 0;
+	}
+
+	/**
+	 * Sorts the indices of points in lexicographic order of their objectives. The sort
+	 * is stable, so points with the same values keep their relative order.
+	 * 
+	 * @param points		Indices of the points, sorted in place
+	 * @param count			Number of indices to sort
+	 * @param buffer		Working array with room for at least count indices
+	 */
+	static void sortLexicographically(double[] objectives, int numberOfObjectives, int[] points, int count, int[] buffer)
+	{
+		int[] source = points;
+		int[] target = buffer;
+		
+		for (int width = 1; width < count; width <<= 1)
+		{
+			for (int low = 0; low < count; low += 2 * width)
+			{
+				int middle = Math.min(low + width, count);
+				int high = Math.min(low + 2 * width, count);
+				int i = low;
+				int j = middle;
+				
+				for (int k = low; k < high; k++)
+				{
+					if (j >= high || (i < middle && compareLexicographically(objectives, source[i], source[j], numberOfObjectives) <= 0))
+						target[k] = source[i++];
+					else
+						target[k] = source[j++];
+				}
+			}
+			
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		
+		if (source != points)
+			System.arraycopy(source, 0, points, 0, count);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Collection;
+import sobol.base.solution.Solution;
+
+/**
+ * Index over a set of mutually non-dominated solutions, used by the archives to find
+ * the members that dominate, equal or are dominated by a candidate without scanning
+ * the whole set. Members may share their objective values. The objective values of a
+ * member must not change while it is in the index.
+ */
+public abstract class ParetoIndex
+{
+	/**
+	 * Creates the index suited to a number of objectives: a sorted list for two objectives
+	 * and an ND-tree otherwise
+	 */
+	public static ParetoIndex create(int numberOfObjectives)
+	{
+		if (numberOfObjectives == 2)
+			return new SortedParetoIndex();
+		
+		return new TreeParetoIndex(numberOfObjectives);
+	}
+
+	/**
+	 * Returns the number of members in the index
+	 */
+	public abstract int size();
+
+	/**
+	 * Removes all the members from the index
+	 */
+	public abstract void clear();
+
+	/**
+	 * Checks whether a member of the index dominates a solution
+	 */
+	public abstract boolean isDominated(Solution solution);
+
+	/**
+	 * Collects the members of the index whose objective values are equal to those of a solution
+	 */
+	public abstract void findEqual(Solution solution, Collection<Solution> result);
+
+	/**
+	 * Removes the members of the index dominated by a solution
+	 * 
+	 * @param solution	Solution that is not dominated by any member of the index
+	 * @param removed	Collection that receives the members removed from the index
+	 */
+	public abstract void removeDominated(Solution solution, Collection<Solution> removed);
+
+	/**
+	 * Adds a solution to the index. The caller must ensure that the solution is not
+	 * dominated by and does not dominate any member of the index.
+	 */
+	public abstract void add(Solution solution);
+
+	/**
+	 * Removes a member from the index
+	 * 
+	 * @return true if the solution was found in the index
+	 */
+	public abstract boolean remove(Solution solution);
+
+	/**
+	 * Copies the objective values of a solution into an array
+	 */
+	static double[] getObjectives(Solution solution, double[] result)
+	{
+		for (int k = 0; k < result.length; k++)
+			result[k] = solution.getObjective(k);
+		
+		return result;
+	}
+
+	/**
+	 * Checks whether the first point is not worse than the second in any objective
+	 */
+	static boolean weaklyDominates(double[] first, double[] second)
+	{
+		for (int k = 0; k < first.length; k++)
+			if (first[k] > second[k])
+				return false;
+		
+		return true;
+	}
+
+	/**
+	 * Checks whether the first point dominates the second
+	 */
+	static boolean dominates(double[] first, double[] second)
+	{
+		boolean better = false;
+		
+		for (int k = 0; k < first.length; k++)
+		{
+			if (first[k] > second[k])
+				return false;
+			
+			if (first[k] < second[k])
+				better = true;
+		}
+		
+		return better;
+	}
+}
\ No newline at end of file
@@ -7,9 +7,8 @@
 
 package sobol.metaheuristics.nsgaII;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import sobol.base.solution.ColumnarSolutionSet;
+import sobol.base.solution.DuplicateFilter;
 import sobol.base.solution.Solution;
 import sobol.base.solution.SolutionSet;
 
@@ -20,7 +19,8 @@ import sobol.base.solution.SolutionSet;
  * subsets are numbered starting from 0 (in NSGA-II, the numbering starts from
  * 1); thus, subset 0 contains the non-dominated solutions, subset 1 contains
  * the non-dominated solutions after removing those belonging to subset 0, and
- * so on.
+ * so on. The fronts are found by a <code>NondominatedSorting</code> algorithm,
+ * and the solutions of each front keep their order in the set.
  */
 public class Ranking
 {
@@ -46,93 +46,106 @@ public class Ranking
 	 * 
 	 * @param solutionSet The <code>SolutionSet</code> to be ranked.
 	 */
-	@SuppressWarnings("unchecked")
 	public Ranking(SolutionSet solutionSet)
 	{
-		solutionSet_ = solutionSet;
-
-		// dominateMe[i] contains the number of solutions dominating i
-		int[] dominateMe = new int[solutionSet_.size()];
-
-		// iDominate[k] contains the list of solutions dominated by k
-		List<Integer>[] iDominate = new List[solutionSet_.size()];
-
-		// front[i] contains the list of individuals belonging to the front i
-		List<Integer>[] front = new List[solutionSet_.size() + 1];
-
-		// Initialize the fronts
-		for (int i = 0; i < front.length; i++)
-			front[i] = new LinkedList<Integer>();
+		this(solutionSet, null);
+	}
 
-		// -> Fast non dominated sorting algorithm
-		for (int p = 0; p < solutionSet_.size(); p++)
+	/**
+	 * Constructor. Solutions identical to another one found before them in the set, with
+	 * the same values and objectives, are removed from the set before it is ranked.
+	 * 
+	 * @param solutionSet The <code>SolutionSet</code> to be ranked.
+	 * @param sorting The algorithm that finds the fronts, or null to choose one by the
+	 *        number of objectives.
+	 */
+	public Ranking(SolutionSet solutionSet, NondominatedSorting sorting)
+	{
+		solutionSet_ = solutionSet;
+		removeIdenticalSolutions(solutionSet);
+		
+		int size = solutionSet.size();
+		int numberOfObjectives = (size > 0) ? solutionSet.get(0).numberOfObjectives() : 0;
+		
+		if (sorting == null)
+			sorting = createSorting(numberOfObjectives);
+		
+		// The objective column of a columnar set is read directly; others are copied
+		double[] objectives;
+		
+		if (solutionSet instanceof ColumnarSolutionSet)
+			objectives = ((ColumnarSolutionSet) solutionSet).getObjectives();
+		else
 		{
-			// Initialice the list of individuals that i dominate and the number
-			// of individuals that dominate me
-			iDominate[p] = new LinkedList<Integer>();
-			dominateMe[p] = 0;
-
-			// For all q individuals , calculate if p dominates q or vice versa
-			for (int q = solutionSet_.size()-1; q >= 0; q--)
-			{
-				if (p != q)
-				{
-					int flagDominate = compare(solutionSet.get(p), solutionSet.get(q));
-					
-					if (flagDominate == IDENTICAL_SOLUTIONS)
-						solutionSet.remove(q);
-
-					else if (flagDominate == FIRST_DOMINATES_SECOND)
-						iDominate[p].add(new Integer(q));
-					
-					else if (flagDominate == SECOND_DOMINATES_FIRST)
-						dominateMe[p]++;
-				}
-			}
-
-			// If nobody dominates p, p belongs to the first front
-			if (dominateMe[p] == 0)
-			{
-				front[0].add(new Integer(p));
-				solutionSet.get(p).setRank(0);
-			}
+			objectives = new double[size * numberOfObjectives];
+			
+			for (int i = 0; i < size; i++)
+				for (int k = 0; k < numberOfObjectives; k++)
+					objectives[i * numberOfObjectives + k] = solutionSet.get(i).getObjective(k);
 		}
-
-		// Obtain the rest of fronts
-		int i = 0;
-		Iterator<Integer> it1, it2;
-		while (front[i].size() != 0)
+		
+		int[] ranks = new int[size];
+		int fronts = sorting.sort(objectives, size, numberOfObjectives, ranks);
+		int[] frontSizes = new int[fronts];
+		
+		for (int i = 0; i < size; i++)
+			frontSizes[ranks[i]]++;
+		
+		ranking_ = new SolutionSet[fronts];
+		
+		for (int j = 0; j < fronts; j++)
+			ranking_[j] = new SolutionSet(frontSizes[j]);
+		
+		for (int i = 0; i < size; i++)
 		{
-			i++;
-			it1 = front[i - 1].iterator();
-			while (it1.hasNext())
-			{
-				it2 = iDominate[it1.next().intValue()].iterator();
-				while (it2.hasNext())
-				{
-					int index = it2.next().intValue();
-					dominateMe[index]--;
-					if (dominateMe[index] == 0)
-					{
-						front[i].add(new Integer(index));
-						solutionSet_.get(index).setRank(i);
-					}
-				}
-			}
+			Solution solution = solutionSet.get(i);
+			solution.setRank(ranks[i]);
+			ranking_[ranks[i]].add(solution);
 		}
+	}
+
+	/**
+	 * Creates the sorting algorithm suited to a number of objectives: a sweep for two
+	 * objectives and ENS otherwise. For the population sizes used by the algorithms, ENS
+	 * is faster than divide-and-conquer, which only pays off for many thousands of points
+	 * spread over many fronts.
+	 */
+	public static NondominatedSorting createSorting(int numberOfObjectives)
+	{
+		if (numberOfObjectives == 2)
+			return new SweepNondominatedSorting();
+		
+		return new EfficientNondominatedSorting();
+	}
 
-		ranking_ = new SolutionSet[i];
-		// 0,1,2,....,i-1 are front, then i fronts
-		for (int j = 0; j < i; j++)
+	/**
+	 * Removes from a set the solutions identical to others found before them
+	 */
+	private void removeIdenticalSolutions(SolutionSet solutionSet)
+	{
+		DuplicateFilter filter = new DuplicateFilter(solutionSet.size());
+		boolean[] identical = new boolean[solutionSet.size()];
+		boolean found = false;
+		
+		for (int i = 0; i < solutionSet.size(); i++)
 		{
-			ranking_[j] = new SolutionSet(front[j].size());
-			it1 = front[j].iterator();
+			Solution solution = solutionSet.get(i);
+			Solution twin = filter.get(solution);
+			
+			if (twin == null)
+				filter.add(solution);
 			
-			while (it1.hasNext())
+			else if (compare(twin, solution) == IDENTICAL_SOLUTIONS)
 			{
-				ranking_[j].add(solutionSet.get(it1.next().intValue()));
+				identical[i] = true;
+				found = true;
 			}
 		}
+		
+		if (found)
+			for (int i = identical.length - 1; i >= 0; i--)
+				if (identical[i])
+					solutionSet.remove(i);
 	}
 
 	/**
@@ -178,7 +191,8 @@ public class Ranking
 
 		if (dominate1 == dominate2)
 		{
-			if (dominate1 == 0)
+			// Solutions with different hashes cannot be identical, so the values are only compared on a match
+			if (dominate1 == 0 && solution1.getGenotypeHash() == solution2.getGenotypeHash())
 				if (solution1.calculateDistance(solution2) < EPSILON)
 					return IDENTICAL_SOLUTIONS;
 
@@ -0,0 +1,191 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Arrays;
+import java.util.Collection;
+import sobol.base.solution.Solution;
+
+/**
+ * Index over a set of non-dominated solutions with two objectives. The members are
+ * kept sorted by the first objective, which sorts them in reverse order of the second,
+ * so every query is answered by a binary search.
+ */
+class SortedParetoIndex extends ParetoIndex
+{
+	/**
+	 * First objective of the members, in ascending order
+	 */
+	private double[] first_;
+
+	/**
+	 * Second objective of the members, in descending order
+	 */
+	private double[] second_;
+
+	/**
+	 * Members of the index, in the same order as their objectives
+	 */
+	private Solution[] members_;
+
+	/**
+	 * Number of members in the index
+	 */
+	private int size_;
+
+	/**
+	 * Constructor
+	 */
+	public SortedParetoIndex()
+	{
+		first_ = new double[16];
+		second_ = new double[16];
+		members_ = new Solution[16];
+	}
+
+	public int size()
+	{
+		return size_;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(members_, 0, size_, null);
+		size_ = 0;
+	}
+
+	/**
+	 * Finds the position of the first member placed after a point, members with the same
+	 * objective values being placed before it
+	 */
+	private int upperBound(double x, double y)
+	{
+		int low = 0;
+		int high = size_;
+		
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			
+			if (first_[middle] < x || (first_[middle] == x && second_[middle] <= y))
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		
+		return low;
+	}
+
+	/**
+	 * Finds the position of the first member whose first objective is not smaller than a value
+	 */
+	private int lowerBound(double x)
+	{
+		int low = 0;
+		int high = size_;
+		
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+			
+			if (first_[middle] < x)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		
+		return low;
+	}
+
+	public boolean isDominated(Solution solution)
+	{
+		double x = solution.getObjective(0);
+		double y = solution.getObjective(1);
+		
+		// The last member not worse in the first objective is the best in the second
+		int last = upperBound(x, Double.POSITIVE_INFINITY) - 1;
+		
+		if (last < 0)
+			return false;
+		
+		return second_[last] < y || (second_[last] == y && first_[last] < x);
+	}
+
+	public void findEqual(Solution solution, Collection<Solution> result)
+	{
+		double x = solution.getObjective(0);
+		double y = solution.getObjective(1);
+		
+		for (int i = lowerBound(x); i < size_ && first_[i] == x && second_[i] == y; i++)
+			result.add(members_[i]);
+	}
+
+	public void removeDominated(Solution solution, Collection<Solution> removed)
+	{
+		double x = solution.getObjective(0);
+		double y = solution.getObjective(1);
+		int start = lowerBound(x);
+		
+		while (start < size_ && first_[start] == x && second_[start] == y)
+			start++;
+		
+		int end = start;
+		
+		while (end < size_ && second_[end] >= y)
+			removed.add(members_[end++]);
+		
+		removeRange(start, end);
+	}
+
+	public void add(Solution solution)
+	{
+		if (size_ == members_.length)
+		{
+			first_ = Arrays.copyOf(first_, 2 * size_);
+			second_ = Arrays.copyOf(second_, 2 * size_);
+			members_ = Arrays.copyOf(members_, 2 * size_);
+		}
+		
+		double x = solution.getObjective(0);
+		double y = solution.getObjective(1);
+		int position = upperBound(x, y);
+		
+		System.arraycopy(first_, position, first_, position + 1, size_ - position);
+		System.arraycopy(second_, position, second_, position + 1, size_ - position);
+		System.arraycopy(members_, position, members_, position + 1, size_ - position);
+		first_[position] = x;
+		second_[position] = y;
+		members_[position] = solution;
+		size_++;
+	}
+
+	public boolean remove(Solution solution)
+	{
+		double x = solution.getObjective(0);
+		double y = solution.getObjective(1);
+		
+		for (int i = lowerBound(x); i < size_ && first_[i] == x && second_[i] == y; i++)
+		{
+			if (members_[i] == solution)
+			{
+				removeRange(i, i + 1);
+				return true;
+			}
+		}
+		
+		return false;
+	}
+
+	/**
+	 * Removes the members in a range of positions
+	 */
+	private void removeRange(int from, int to)
+	{
+		if (from == to)
+			return;
+		
+		System.arraycopy(first_, to, first_, from, size_ - to);
+		System.arraycopy(second_, to, second_, from, size_ - to);
+		System.arraycopy(members_, to, members_, from, size_ - to);
+		Arrays.fill(members_, size_ - (to - from), size_, null);
+		size_ -= to - from;
+	}
+}
\ No newline at end of file
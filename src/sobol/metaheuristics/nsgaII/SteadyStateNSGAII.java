@@ -0,0 +1,292 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.IdentityHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import sobol.base.algorithm.BatchEvaluator;
+import sobol.base.algorithm.Problem;
+import sobol.base.crossover.CrossoverOperator;
+import sobol.base.mutation.MutationOperator;
+import sobol.base.selection.SelectionOperator;
+import sobol.base.solution.DuplicateFilter;
+import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionPool;
+import sobol.base.solution.SolutionSet;
+
+/**
+ * Steady-state (mu + 1) version of NSGA-II. Each offspring enters the population as soon
+ * as it is evaluated, replacing the solution of the last front with the smallest crowding
+ * distance. The fronts and crowding distances are updated incrementally instead of
+ * ranking the whole population again.
+ * 
+ * Given an executor, the algorithm runs as master and workers: a number of offspring are
+ * evaluated at the same time and, whenever one of them is done, it is inserted and a new
+ * offspring takes its place. Workers never wait for each other, so slow evaluations do
+ * not stall the search, but the result depends on the order in which evaluations end.
+ * Without an executor, the algorithm is deterministic. The offspring handed to the
+ * workers come from a pool that keeps their attributes in their own fields, so the
+ * master never touches the storage of a solution under evaluation.
+ * 
+ * Offspring identical to a member of the population are dropped, so the population
+ * keeps distinct solutions as long as the initial population does.
+ */
+public class SteadyStateNSGAII
+{
+	private Problem problem_;
+	private ExecutorService executor_;
+	private int workers_;
+
+	/**
+	 * Constructor
+	 */
+	public SteadyStateNSGAII(Problem problem)
+	{
+		this(problem, null, 1);
+	}
+
+	/**
+	 * Constructor. Evaluates as many offspring at the same time as there are processors.
+	 */
+	public SteadyStateNSGAII(Problem problem, ExecutorService executor)
+	{
+		this(problem, executor, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param problem		Problem to solve, which must support concurrent evaluations if an executor is given
+	 * @param executor		Executor that evaluates the offspring, or null to evaluate them in sequence
+	 * @param workers		Number of offspring evaluated at the same time
+	 */
+	public SteadyStateNSGAII(Problem problem, ExecutorService executor, int workers)
+	{
+		if (workers < 1)
+			throw new IllegalArgumentException("At least one offspring must be evaluated at a time");
+		
+		this.problem_ = problem;
+		this.executor_ = executor;
+		this.workers_ = workers;
+	}
+
+	/**
+	 * Runs the algorithm. The notifier is called after each block of populationSize
+	 * evaluations, as if they formed a generation.
+	 */
+	public SolutionSet execute(int populationSize, int maxEvaluations, CrossoverOperator crossoverOperator, MutationOperator mutationOperator, SelectionOperator selectionOperator, Notifier notifier)
+	{
+		Breeder breeder = new Breeder(populationSize, crossoverOperator, mutationOperator, selectionOperator);
+		int evaluations = 0;
+		int inserted = 0;
+		int generations = 0;
+
+		// Create the initial population
+		for (int i = 0; i < populationSize; i++)
+		{
+			breeder.population.add(problem_.newSolution());
+			evaluations++;
+		}
+		
+		new BatchEvaluator(problem_, executor_).evaluate(breeder.population);
+		
+		for (int i = 0; i < populationSize; i++)
+			breeder.enter(breeder.population.get(i));
+
+		if (executor_ == null)
+		{
+			while (evaluations < maxEvaluations)
+			{
+				Solution child = breeder.breed();
+				problem_.evaluate(child);
+				evaluations++;
+				breeder.insert(child);
+				
+				if (notifier != null && ++inserted % populationSize == 0)
+					notifier.newIteration(generations++, evaluations, breeder.getPopulation());
+			}
+		}
+		else
+		{
+			CompletionService<Solution> service = new ExecutorCompletionService<Solution>(executor_);
+			int running = 0;
+			
+			while (running < workers_ && evaluations < maxEvaluations)
+			{
+				submit(service, breeder.breed());
+				evaluations++;
+				running++;
+			}
+			
+			while (running > 0)
+			{
+				Solution child = take(service);
+				running--;
+				breeder.insert(child);
+				
+				if (evaluations < maxEvaluations)
+				{
+					submit(service, breeder.breed());
+					evaluations++;
+					running++;
+				}
+				
+				if (notifier != null && ++inserted % populationSize == 0)
+					notifier.newIteration(generations++, evaluations, breeder.getPopulation());
+			}
+		}
+
+		return breeder.ranking.getFront(0);
+	}
+
+	/**
+	 * Runs the algorithm.
+	 */
+	public SolutionSet execute(int populationSize, int maxEvaluations, CrossoverOperator crossoverOperator, MutationOperator mutationOperator, SelectionOperator selectionOperator)
+	{
+		return execute(populationSize, maxEvaluations, crossoverOperator, mutationOperator, selectionOperator, null);
+	}
+
+	/**
+	 * Sends an offspring to be evaluated by a worker
+	 */
+	private void submit(CompletionService<Solution> service, final Solution child)
+	{
+		service.submit(new Callable<Solution>()
+		{
+			public Solution call()
+			{
+				problem_.evaluate(child);
+				return child;
+			}
+		});
+	}
+
+	/**
+	 * Waits for the next offspring evaluated by a worker
+	 */
+	private static Solution take(CompletionService<Solution> service)
+	{
+		try
+		{
+			return service.take().get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for an evaluation", e);
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			
+			throw new IllegalStateException("Could not evaluate a solution", e.getCause());
+		}
+	}
+
+	/**
+	 * Population of the algorithm, with the operators that create offspring from it and
+	 * the rules to insert them. It is only used by the master thread.
+	 */
+	private class Breeder
+	{
+		private SolutionSet population;
+		private IdentityHashMap<Solution, Integer> positions;
+		private DuplicateFilter filter;
+		private IncrementalRanking ranking;
+		private SolutionPool pool;
+		private Solution discarded;
+		private CrossoverOperator crossoverOperator;
+		private MutationOperator mutationOperator;
+		private SelectionOperator selectionOperator;
+		
+		public Breeder(int populationSize, CrossoverOperator crossoverOperator, MutationOperator mutationOperator, SelectionOperator selectionOperator)
+		{
+			this.population = new SolutionSet(populationSize + 1);
+			this.positions = new IdentityHashMap<Solution, Integer>();
+			this.filter = new DuplicateFilter(populationSize + 1);
+			this.ranking = new IncrementalRanking(problem_.getNumberOfObjectives());
+			this.pool = new SolutionPool();
+			this.discarded = null;
+			this.crossoverOperator = crossoverOperator;
+			this.mutationOperator = mutationOperator;
+			this.selectionOperator = selectionOperator;
+		}
+		
+		/**
+		 * Returns the population, with up to date ranks and crowding distances
+		 */
+		public SolutionSet getPopulation()
+		{
+			ranking.updateCrowding();
+			return population;
+		}
+		
+		/**
+		 * Creates an offspring, keeping only the first child of the crossover
+		 */
+		public Solution breed()
+		{
+			ranking.updateCrowding();
+			Solution parent0 = selectionOperator.execute(population);
+			Solution parent1 = selectionOperator.execute(population);
+			Solution child = pool.acquire(parent0);
+			
+			if (discarded == null)
+				discarded = parent1.clone();
+			
+			crossoverOperator.executeInto(parent0, parent1, child, discarded);
+			mutationOperator.execute(child);
+			return child;
+		}
+		
+		/**
+		 * Registers a member of the initial population, which is already in the population
+		 */
+		public void enter(Solution solution)
+		{
+			positions.put(solution, positions.size());
+			filter.add(solution);
+			ranking.add(solution);
+		}
+		
+		/**
+		 * Inserts an evaluated offspring, removing the worst solution of the population.
+		 * Offspring identical to a solution of the population are dropped.
+		 */
+		public void insert(Solution child)
+		{
+			if (!filter.add(child))
+			{
+				pool.release(child);
+				return;
+			}
+			
+			positions.put(child, population.size());
+			population.add(child);
+			ranking.add(child);
+			Solution worst = ranking.removeWorst();
+			filter.remove(worst);
+			
+			// The last solution of the population takes the place of the one removed
+			int position = positions.remove(worst);
+			int last = population.size() - 1;
+			
+			if (position != last)
+			{
+				Solution moved = population.get(last);
+				population.replace(position, moved);
+				positions.put(moved, position);
+			}
+			
+			population.remove(last);
+			pool.release(worst);
+		}
+	}
+}
\ No newline at end of file
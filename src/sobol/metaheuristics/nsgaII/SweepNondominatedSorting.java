@@ -0,0 +1,54 @@
+package sobol.metaheuristics.nsgaII;
+
+/**
+ * Non-dominated sorting for two objectives in O(N log N) time. The points are scanned in
+ * lexicographic order, so that a point is dominated by a front if and only if the front
+ * holds a point whose second objective is not greater than its own. The smallest second
+ * objective of each front grows from one front to the next, so the front of each point
+ * is found by binary search.
+ */
+public class SweepNondominatedSorting extends LexicographicSorting
+{
+	/**
+	 * Smallest second objective among the points of each front
+	 */
+	private double[] frontMinimum = new double[0];
+
+	@Override
+	protected int rankDistinct(int count, int[] ranks)
+	{
+		if (numberOfObjectives != 2)
+			throw new IllegalArgumentException("The sweep only sorts points with two objectives, not " + numberOfObjectives);
+		
+		if (frontMinimum.length < count)
+			frontMinimum = new double[count];
+		
+		int fronts = 0;
+		
+		for (int i = 0; i < count; i++)
+		{
+			int point = points[i];
+			double value = objectives[2 * point + 1];
+			int low = 0;
+			int high = fronts;
+			
+			while (low < high)
+			{
+				int middle = (low + high) >>> 1;
+				
+				if (frontMinimum[middle] > value)
+					high = middle;
+				else
+					low = middle + 1;
+			}
+			
+			ranks[point] = low;
+			frontMinimum[low] = value;
+			
+			if (low == fronts)
+				fronts++;
+		}
+		
+		return fronts;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+
+public class TestCrowdingDistance extends TestCase
+{
+	private static final int OBJECTIVES = 3;
+	
+	private double[] randomPoints(Random random, int count)
+	{
+		double[] objectives = new double[count * OBJECTIVES];
+		
+		for (int i = 0; i < objectives.length; i++)
+			objectives[i] = random.nextInt(6);
+		
+		return objectives;
+	}
+	
+	private double[] stableSortDistances(final double[] objectives, int count)
+	{
+		List<Integer> order = new ArrayList<Integer>();
+		double[] distances = new double[count];
+		
+		for (int j = 0; j < count; j++)
+			order.add(j);
+		
+		for (int i = 0; i < OBJECTIVES; i++)
+		{
+			final int objective = i;
+			
+			Collections.sort(order, new Comparator<Integer>()
+			{
+				public int compare(Integer first, Integer second)
+				{
+					return Double.compare(objectives[first * OBJECTIVES + objective], objectives[second * OBJECTIVES + objective]);
+				}
+			});
+			
+			double minimum = objectives[order.get(0) * OBJECTIVES + i];
+			double maximum = objectives[order.get(count - 1) * OBJECTIVES + i];
+			distances[order.get(0)] = Double.POSITIVE_INFINITY;
+			distances[order.get(count - 1)] = Double.POSITIVE_INFINITY;
+			
+			for (int j = 1; j < count - 1; j++)
+				distances[order.get(j)] += (objectives[order.get(j + 1) * OBJECTIVES + i] - objectives[order.get(j - 1) * OBJECTIVES + i]) / (maximum - minimum);
+		}
+		
+		return distances;
+	}
+	
+	public void testMatchesStableSort()
+	{
+		Random random = new Random(1234);
+		CrowdingDistance crowding = new CrowdingDistance();
+		
+		for (int count = 3; count < 80; count++)
+		{
+			double[] objectives = randomPoints(random, count);
+			double[] distances = new double[count];
+			crowding.assign(objectives, count, OBJECTIVES, distances);
+			double[] expected = stableSortDistances(objectives, count);
+			
+			for (int j = 0; j < count; j++)
+				assertEquals(Double.valueOf(expected[j]), Double.valueOf(distances[j]));
+		}
+	}
+	
+	public void testIncrementalMatchesFull()
+	{
+		Random random = new Random(4321);
+		IncrementalCrowding incremental = new IncrementalCrowding(OBJECTIVES);
+		CrowdingDistance crowding = new CrowdingDistance();
+		List<Integer> slots = new ArrayList<Integer>();
+		List<double[]> points = new ArrayList<double[]>();
+		
+		for (int step = 0; step < 500; step++)
+		{
+			if (slots.size() > 3 && random.nextInt(3) == 0)
+			{
+				int position = random.nextInt(slots.size());
+				incremental.remove(slots.remove(position));
+				points.remove(position);
+			}
+			else
+			{
+				double[] point = randomPoints(random, 1);
+				slots.add(incremental.add(point));
+				points.add(point);
+			}
+			
+			int count = points.size();
+			double[] objectives = new double[count * OBJECTIVES];
+			double[] distances = new double[count];
+			
+			for (int j = 0; j < count; j++)
+				System.arraycopy(points.get(j), 0, objectives, j * OBJECTIVES, OBJECTIVES);
+			
+			crowding.assign(objectives, count, OBJECTIVES, distances);
+			assertEquals(count, incremental.size());
+			
+			for (int j = 0; j < count; j++)
+				assertEquals(Double.valueOf(distances[j]), Double.valueOf(incremental.getDistance(slots.get(j))));
+		}
+	}
+	
+	public void testChangedSlots()
+	{
+		Random random = new Random(7);
+		IncrementalCrowding incremental = new IncrementalCrowding(OBJECTIVES);
+		List<Integer> slots = new ArrayList<Integer>();
+		double[] known = new double[1000];
+		
+		for (int step = 0; step < 1000; step++)
+		{
+			if (slots.size() > 20 && random.nextBoolean())
+				incremental.remove(slots.remove(random.nextInt(slots.size())));
+			else
+			{
+				double[] point = new double[OBJECTIVES];
+				
+				for (int k = 0; k < OBJECTIVES; k++)
+					point[k] = random.nextInt(10);
+				
+				slots.add(incremental.add(point));
+			}
+			
+			for (int i = 0; i < incremental.getChangedCount(); i++)
+			{
+				int slot = incremental.getChanged(i);
+				
+				if (slots.contains(slot))
+					known[slot] = incremental.getDistance(slot);
+			}
+			
+			incremental.clearChanged();
+			
+			for (int slot : slots)
+				assertEquals(incremental.getDistance(slot), known[slot], 0.0);
+		}
+	}
+}
\ No newline at end of file
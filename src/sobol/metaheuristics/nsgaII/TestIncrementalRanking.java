@@ -0,0 +1,85 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import junit.framework.TestCase;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionSet;
+import sobol.base.solutionType.IntSolutionType;
+
+public class TestIncrementalRanking extends TestCase
+{
+	private static final int OBJECTIVES = 3;
+	
+	private void checkRanks(List<Solution> solutions)
+	{
+		double[] objectives = new double[solutions.size() * OBJECTIVES];
+		
+		for (int i = 0; i < solutions.size(); i++)
+			for (int k = 0; k < OBJECTIVES; k++)
+				objectives[i * OBJECTIVES + k] = solutions.get(i).getObjective(k);
+		
+		int[] ranks = new int[solutions.size()];
+		new FastNondominatedSorting().sort(objectives, solutions.size(), OBJECTIVES, ranks);
+		
+		for (int i = 0; i < solutions.size(); i++)
+			assertEquals(ranks[i], solutions.get(i).getRank());
+	}
+	
+	private void checkCrowding(IncrementalRanking ranking)
+	{
+		ranking.updateCrowding();
+		Distance distance = new Distance();
+		
+		for (int rank = 0; rank < ranking.getNumberOfFronts(); rank++)
+		{
+			SolutionSet front = ranking.getFront(rank);
+			double[] incremental = new double[front.size()];
+			
+			for (int i = 0; i < front.size(); i++)
+				incremental[i] = front.get(i).getCrowdingDistance();
+			
+			distance.crowdingDistanceAssignment(front, OBJECTIVES);
+			
+			for (int i = 0; i < front.size(); i++)
+				assertEquals(front.get(i).getCrowdingDistance(), incremental[i], 0.0);
+		}
+	}
+	
+	public void testInsertAndRemove()
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		IntSolutionType type = new IntSolutionType(2, 0, 10);
+		IncrementalRanking ranking = new IncrementalRanking(OBJECTIVES);
+		List<Solution> solutions = new ArrayList<Solution>();
+		Random random = new Random(1234);
+		
+		for (int step = 0; step < 400; step++)
+		{
+			Solution solution = type.newSolution(OBJECTIVES);
+			
+			for (int k = 0; k < OBJECTIVES; k++)
+				solution.setObjective(k, random.nextInt(8));
+			
+			ranking.add(solution);
+			solutions.add(solution);
+			
+			if (solutions.size() > 30)
+			{
+				Solution worst = ranking.removeWorst();
+				assertTrue(solutions.remove(worst));
+				
+				for (Solution remaining : solutions)
+					assertTrue(remaining.getRank() <= worst.getRank());
+			}
+			
+			checkRanks(solutions);
+			
+			if (step % 3 == 0)
+				checkCrowding(ranking);
+		}
+	}
+}
\ No newline at end of file
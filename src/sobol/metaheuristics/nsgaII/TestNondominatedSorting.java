@@ -0,0 +1,86 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Arrays;
+import java.util.Random;
+import junit.framework.TestCase;
+
+public class TestNondominatedSorting extends TestCase
+{
+	/**
+	 * Finds the fronts by peeling the non-dominated points off the set, one front at a time
+	 */
+	private int[] reference(double[] objectives, int count, int numberOfObjectives)
+	{
+		int[] ranks = new int[count];
+		Arrays.fill(ranks, -1);
+		int assigned = 0;
+		
+		for (int front = 0; assigned < count; front++)
+		{
+			boolean[] dominated = new boolean[count];
+			
+			for (int p = 0; p < count; p++)
+				for (int q = 0; q < count; q++)
+					if (ranks[p] < 0 && ranks[q] < 0 && ObjectiveVectors.compare(objectives, q, p, numberOfObjectives) < 0)
+						dominated[p] = true;
+			
+			for (int p = 0; p < count; p++)
+				if (ranks[p] < 0 && !dominated[p])
+				{
+					ranks[p] = front;
+					assigned++;
+				}
+		}
+		
+		return ranks;
+	}
+	
+	private void check(NondominatedSorting sorting, int minimumObjectives, int maximumObjectives)
+	{
+		Random random = new Random(1234);
+		
+		for (int run = 0; run < 200; run++)
+		{
+			int numberOfObjectives = minimumObjectives + random.nextInt(maximumObjectives - minimumObjectives + 1);
+			int count = random.nextInt(120);
+			int values = 2 + random.nextInt(20);
+			double[] objectives = new double[count * numberOfObjectives];
+			
+			for (int i = 0; i < objectives.length; i++)
+				objectives[i] = (run % 2 == 0) ? random.nextInt(values) : random.nextDouble();
+			
+			int[] expected = reference(objectives, count, numberOfObjectives);
+			int[] ranks = new int[count];
+			int fronts = sorting.sort(objectives, count, numberOfObjectives, ranks);
+			int expectedFronts = 0;
+			
+			for (int i = 0; i < count; i++)
+			{
+				assertEquals(expected[i], ranks[i]);
+				expectedFronts = Math.max(expectedFronts, expected[i] + 1);
+			}
+			
+			assertEquals(expectedFronts, fronts);
+		}
+	}
+	
+	public void testFastSorting()
+	{
+		check(new FastNondominatedSorting(), 1, 5);
+	}
+	
+	public void testSweep()
+	{
+		check(new SweepNondominatedSorting(), 2, 2);
+	}
+	
+	public void testEfficientSorting()
+	{
+		check(new EfficientNondominatedSorting(), 1, 5);
+	}
+	
+	public void testDivideAndConquer()
+	{
+		check(new DivideAndConquerNondominatedSorting(), 1, 6);
+	}
+}
\ No newline at end of file
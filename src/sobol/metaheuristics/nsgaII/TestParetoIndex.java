@@ -0,0 +1,54 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Random;
+import junit.framework.TestCase;
+import sobol.base.comparator.DominanceComparator;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.solution.IntSolution;
+import sobol.base.solutionType.IntSolutionType;
+
+public class TestParetoIndex extends TestCase
+{
+	/**
+	 * Inserts the same solutions into an indexed list and into a list that scans its
+	 * solutions. The objectives are taken from the first genes, so that identical
+	 * solutions have equal objectives, while the last gene creates distinct solutions
+	 * with equal objectives.
+	 */
+	private void checkSameList(int objectives, int range, int count)
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(1234L));
+		IntSolutionType type = new IntSolutionType(objectives + 1, 0, range);
+		NonDominatedSolutionList indexed = new NonDominatedSolutionList();
+		NonDominatedSolutionList scanned = new NonDominatedSolutionList(new DominanceComparator());
+		Random random = new Random(1234);
+		
+		for (int step = 0; step < count; step++)
+		{
+			IntSolution solution = (IntSolution) type.newSolution(objectives);
+			
+			for (int k = 0; k <= objectives; k++)
+				solution.setValue(k, (k < objectives) ? random.nextInt(range) : random.nextInt(2));
+			
+			for (int k = 0; k < objectives; k++)
+				solution.setObjective(k, 2 * solution.getValue(k) - solution.getValue((k + 1) % objectives));
+			
+			assertEquals(scanned.add(solution), indexed.add(solution));
+			assertEquals(scanned.size(), indexed.size());
+			
+			for (int i = 0; i < scanned.size(); i++)
+				assertSame(scanned.get(i), indexed.get(i));
+		}
+	}
+	
+	public void testTwoObjectives()
+	{
+		checkSameList(2, 40, 3000);
+	}
+	
+	public void testFourObjectives()
+	{
+		checkSameList(4, 12, 3000);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import junit.framework.TestCase;
+import sobol.base.algorithm.Problem;
+import sobol.base.crossover.BinaryUniformCrossover;
+import sobol.base.mutation.BinaryFlipMutation;
+import sobol.base.random.RandomGeneratorFactory;
+import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.selection.BinaryTournament;
+import sobol.base.solution.BinarySolution;
+import sobol.base.solution.DuplicateFilter;
+import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionSet;
+import sobol.base.solutionType.BinarySolutionType;
+
+public class TestSteadyStateNSGAII extends TestCase
+{
+	private static final int SIZE = 40;
+	private static final int POPULATION = 30;
+	
+	private static class Knapsack extends Problem
+	{
+		private double[] costs;
+		private double[] values;
+		
+		public Knapsack()
+		{
+			super(new BinarySolutionType(SIZE), 2);
+			Random random = new Random(5);
+			costs = new double[SIZE];
+			values = new double[SIZE];
+			
+			for (int i = 0; i < SIZE; i++)
+			{
+				costs[i] = random.nextInt(100) / 10.0;
+				values[i] = random.nextInt(100) / 10.0;
+			}
+		}
+		
+		public void evaluate(Solution solution)
+		{
+			BinarySolution binary = (BinarySolution) solution;
+			double cost = 0.0;
+			double value = 0.0;
+			
+			for (int i = 0; i < SIZE; i++)
+				if (binary.getIth(i))
+				{
+					cost += costs[i];
+					value += values[i];
+				}
+			
+			solution.setObjective(0, cost);
+			solution.setObjective(1, -value);
+		}
+	}
+	
+	private static class Checker implements Notifier
+	{
+		private Problem problem;
+		private int calls;
+		private SolutionSet last;
+		
+		public Checker(Problem problem)
+		{
+			this.problem = problem;
+		}
+		
+		public void newIteration(int generations, int evaluations, SolutionSet population)
+		{
+			assertEquals(calls++, generations);
+			assertEquals(POPULATION, population.size());
+			double[] objectives = new double[POPULATION * 2];
+			DuplicateFilter filter = new DuplicateFilter(POPULATION);
+			
+			for (int i = 0; i < POPULATION; i++)
+			{
+				Solution solution = population.get(i);
+				Solution evaluated = solution.clone();
+				problem.evaluate(evaluated);
+				assertTrue(filter.add(solution));
+				
+				for (int k = 0; k < 2; k++)
+				{
+					assertEquals(evaluated.getObjective(k), solution.getObjective(k), 0.0);
+					objectives[i * 2 + k] = solution.getObjective(k);
+				}
+			}
+			
+			int[] ranks = new int[POPULATION];
+			new FastNondominatedSorting().sort(objectives, POPULATION, 2, ranks);
+			
+			for (int i = 0; i < POPULATION; i++)
+				assertEquals(ranks[i], population.get(i).getRank());
+			
+			last = new SolutionSet(POPULATION);
+			
+			for (int i = 0; i < POPULATION; i++)
+				last.add(population.get(i).clone());
+		}
+	}
+	
+	private SolutionSet run(ExecutorService executor)
+	{
+		RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory(11L));
+		RandomGeneratorFactory.setRandomFactoryForOperator(new PseudoRandomGeneratorFactory(12L));
+		Checker checker = new Checker(new Knapsack());
+		SteadyStateNSGAII algorithm = (executor == null) ? new SteadyStateNSGAII(checker.problem) : new SteadyStateNSGAII(checker.problem, executor, 4);
+		SolutionSet front = algorithm.execute(POPULATION, 20 * POPULATION, new BinaryUniformCrossover(0.9), new BinaryFlipMutation(1.0 / SIZE), new BinaryTournament(), checker);
+		
+		assertEquals(19, checker.calls);
+		int firstFront = 0;
+		
+		for (int i = 0; i < checker.last.size(); i++)
+			if (checker.last.get(i).getRank() == 0)
+				firstFront++;
+		
+		assertEquals(firstFront, front.size());
+		
+		for (int i = 0; i < front.size(); i++)
+		{
+			assertEquals(0, front.get(i).getRank());
+			
+			for (int j = 0; j < front.size(); j++)
+				assertFalse(dominates(front.get(j), front.get(i)));
+		}
+		
+		return front;
+	}
+	
+	private static boolean dominates(Solution solution1, Solution solution2)
+	{
+		return solution1.getObjective(0) <= solution2.getObjective(0) && solution1.getObjective(1) <= solution2.getObjective(1) && (solution1.getObjective(0) < solution2.getObjective(0) || solution1.getObjective(1) < solution2.getObjective(1));
+	}
+	
+	public void testSequential()
+	{
+		SolutionSet first = run(null);
+		SolutionSet second = run(null);
+		assertEquals(first.size(), second.size());
+		
+		for (int i = 0; i < first.size(); i++)
+			assertEquals(0.0, first.get(i).calculateDistance(second.get(i)), 0.0);
+	}
+	
+	public void testConcurrent()
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try
+		{
+			for (int i = 0; i < 5; i++)
+				run(executor);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+}
\ No newline at end of file
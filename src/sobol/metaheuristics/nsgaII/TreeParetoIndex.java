@@ -0,0 +1,423 @@
+package sobol.metaheuristics.nsgaII;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import sobol.base.solution.Solution;
+
+/**
+ * Index over a set of non-dominated solutions with three or more objectives, organized
+ * as an ND-tree. Each node keeps the ideal and nadir points of the solutions below it,
+ * which allow whole subtrees to be skipped, accepted or removed by a single comparison.
+ * The bounds are widened as solutions are added and are not narrowed when solutions
+ * are removed, so they may be loose but are always safe.
+ */
+class TreeParetoIndex extends ParetoIndex
+{
+	/**
+	 * Maximum number of solutions in a leaf before it is split
+	 */
+	private static final int LEAF_SIZE = 20;
+
+	/**
+	 * Node of the tree: a leaf holds solutions, an internal node holds other nodes
+	 */
+	private static class Node
+	{
+		double[] ideal;
+		double[] nadir;
+		int count;
+		List<Node> children;
+		List<Solution> members;
+		List<double[]> points;
+
+		Node(int numberOfObjectives)
+		{
+			ideal = new double[numberOfObjectives];
+			nadir = new double[numberOfObjectives];
+			members = new ArrayList<Solution>();
+			points = new ArrayList<double[]>();
+		}
+
+		/**
+		 * Widens the bounds of the node to cover a point
+		 */
+		void cover(double[] point)
+		{
+			for (int k = 0; k < point.length; k++)
+			{
+				if (count == 0 || point[k] < ideal[k])
+					ideal[k] = point[k];
+				
+				if (count == 0 || point[k] > nadir[k])
+					nadir[k] = point[k];
+			}
+		}
+
+		/**
+		 * Calculates the squared distance from a point to the middle of the bounds
+		 */
+		double distanceToMiddle(double[] point)
+		{
+			double distance = 0.0;
+			
+			for (int k = 0; k < point.length; k++)
+			{
+				double difference = point[k] - (ideal[k] + nadir[k]) / 2;
+				distance += difference * difference;
+			}
+			
+			return distance;
+		}
+	}
+
+	/**
+	 * Number of objectives of the solutions
+	 */
+	private int numberOfObjectives_;
+
+	/**
+	 * Root of the tree
+	 */
+	private Node root_;
+
+	/**
+	 * Objective values of the solution being queried
+	 */
+	private double[] point_;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param numberOfObjectives	Number of objectives of the solutions
+	 */
+	public TreeParetoIndex(int numberOfObjectives)
+	{
+		numberOfObjectives_ = numberOfObjectives;
+		root_ = new Node(numberOfObjectives);
+		point_ = new double[numberOfObjectives];
+	}
+
+	public int size()
+	{
+		return root_.count;
+	}
+
+	public void clear()
+	{
+		root_ = new Node(numberOfObjectives_);
+	}
+
+	public boolean isDominated(Solution solution)
+	{
+		return isDominated(root_, getObjectives(solution, point_));
+	}
+
+	private boolean isDominated(Node node, double[] point)
+	{
+		if (node.count == 0 || !weaklyDominates(node.ideal, point))
+			return false;
+		
+		// Every solution below the node is not worse than the nadir
+		if (dominates(node.nadir, point))
+			return true;
+		
+		if (node.children == null)
+		{
+			for (double[] member : node.points)
+				if (dominates(member, point))
+					return true;
+			
+			return false;
+		}
+		
+		for (Node child : node.children)
+			if (isDominated(child, point))
+				return true;
+		
+		return false;
+	}
+
+	public void findEqual(Solution solution, Collection<Solution> result)
+	{
+		findEqual(root_, getObjectives(solution, point_), result);
+	}
+
+	private void findEqual(Node node, double[] point, Collection<Solution> result)
+	{
+		if (node.count == 0 || !weaklyDominates(node.ideal, point) || !weaklyDominates(point, node.nadir))
+			return;
+		
+		if (node.children == null)
+		{
+			for (int i = 0; i < node.points.size(); i++)
+				if (weaklyDominates(node.points.get(i), point) && weaklyDominates(point, node.points.get(i)))
+					result.add(node.members.get(i));
+			
+			return;
+		}
+		
+		for (Node child : node.children)
+			findEqual(child, point, result);
+	}
+
+	public void removeDominated(Solution solution, Collection<Solution> removed)
+	{
+		removeDominated(root_, getObjectives(solution, point_), removed);
+		
+		if (root_.count == 0)
+			clear();
+	}
+
+	/**
+	 * Removes the solutions below a node dominated by a point
+	 * 
+	 * @return the number of solutions removed
+	 */
+	private int removeDominated(Node node, double[] point, Collection<Solution> removed)
+	{
+		if (node.count == 0 || !weaklyDominates(point, node.nadir))
+			return 0;
+		
+		// Every solution below the node is not better than the ideal
+		if (dominates(point, node.ideal))
+		{
+			int count = node.count;
+			collect(node, removed);
+			node.count = 0;
+			return count;
+		}
+		
+		int count = 0;
+		
+		if (node.children == null)
+		{
+			int kept = 0;
+			
+			for (int i = 0; i < node.points.size(); i++)
+			{
+				if (dominates(point, node.points.get(i)))
+				{
+					removed.add(node.members.get(i));
+					count++;
+				}
+				else
+				{
+					node.members.set(kept, node.members.get(i));
+					node.points.set(kept, node.points.get(i));
+					kept++;
+				}
+			}
+			
+			node.members.subList(kept, node.members.size()).clear();
+			node.points.subList(kept, node.points.size()).clear();
+		}
+		else
+		{
+			for (int i = node.children.size() - 1; i >= 0; i--)
+			{
+				Node child = node.children.get(i);
+				count += removeDominated(child, point, removed);
+				
+				if (child.count == 0)
+					node.children.remove(i);
+			}
+		}
+		
+		node.count -= count;
+		return count;
+	}
+
+	/**
+	 * Collects all the solutions below a node
+	 */
+	private void collect(Node node, Collection<Solution> result)
+	{
+		if (node.children == null)
+			result.addAll(node.members);
+		else
+			for (Node child : node.children)
+				collect(child, result);
+	}
+
+	public void add(Solution solution)
+	{
+		double[] point = getObjectives(solution, new double[numberOfObjectives_]);
+		Node node = root_;
+		
+		while (node.children != null)
+		{
+			node.cover(point);
+			node.count++;
+			
+			Node closest = null;
+			double distance = Double.POSITIVE_INFINITY;
+			
+			for (Node child : node.children)
+			{
+				double candidate = child.distanceToMiddle(point);
+				
+				if (closest == null || candidate < distance)
+				{
+					closest = child;
+					distance = candidate;
+				}
+			}
+			
+			node = closest;
+		}
+		
+		node.cover(point);
+		node.count++;
+		node.members.add(solution);
+		node.points.add(point);
+		
+		if (node.members.size() > LEAF_SIZE)
+			split(node);
+	}
+
+	/**
+	 * Turns a leaf into an internal node. The solutions farthest from each other are
+	 * taken as the seeds of the new leaves, and each of the others joins the leaf whose
+	 * bounds have the closest middle.
+	 */
+	private void split(Node node)
+	{
+		List<double[]> points = node.points;
+		int size = points.size();
+		int branches = Math.min(numberOfObjectives_ + 1, size);
+		double[] nearest = new double[size];
+		boolean[] seed = new boolean[size];
+		List<Node> children = new ArrayList<Node>();
+		
+		// The first seed is the point with the largest total distance to the others
+		int first = 0;
+		double largest = -1.0;
+		
+		for (int i = 0; i < size; i++)
+		{
+			double total = 0.0;
+			
+			for (int j = 0; j < size; j++)
+				total += squaredDistance(points.get(i), points.get(j));
+			
+			if (total > largest)
+			{
+				largest = total;
+				first = i;
+			}
+		}
+		
+		Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+		int next = first;
+		
+		for (int b = 0; b < branches; b++)
+		{
+			seed[next] = true;
+			Node child = new Node(numberOfObjectives_);
+			child.cover(points.get(next));
+			child.count = 1;
+			child.members.add(node.members.get(next));
+			child.points.add(points.get(next));
+			children.add(child);
+			
+			int farthest = -1;
+			
+			for (int i = 0; i < size; i++)
+			{
+				if (seed[i])
+					continue;
+				
+				nearest[i] = Math.min(nearest[i], squaredDistance(points.get(i), points.get(next)));
+				
+				if (farthest < 0 || nearest[i] > nearest[farthest])
+					farthest = i;
+			}
+			
+			next = farthest;
+		}
+		
+		for (int i = 0; i < size; i++)
+		{
+			if (seed[i])
+				continue;
+			
+			Node closest = children.get(0);
+			
+			for (Node child : children)
+				if (child.distanceToMiddle(points.get(i)) < closest.distanceToMiddle(points.get(i)))
+					closest = child;
+			
+			closest.cover(points.get(i));
+			closest.count++;
+			closest.members.add(node.members.get(i));
+			closest.points.add(points.get(i));
+		}
+		
+		node.children = children;
+		node.members = null;
+		node.points = null;
+	}
+
+	public boolean remove(Solution solution)
+	{
+		boolean found = remove(root_, getObjectives(solution, point_), solution);
+		
+		if (root_.count == 0)
+			clear();
+		
+		return found;
+	}
+
+	private boolean remove(Node node, double[] point, Solution solution)
+	{
+		if (node.count == 0 || !weaklyDominates(node.ideal, point) || !weaklyDominates(point, node.nadir))
+			return false;
+		
+		if (node.children == null)
+		{
+			for (int i = 0; i < node.members.size(); i++)
+			{
+				if (node.members.get(i) == solution)
+				{
+					node.members.remove(i);
+					node.points.remove(i);
+					node.count--;
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
+		for (int i = 0; i < node.children.size(); i++)
+		{
+			Node child = node.children.get(i);
+			
+			if (remove(child, point, solution))
+			{
+				if (child.count == 0)
+					node.children.remove(i);
+				
+				node.count--;
+				return true;
+			}
+		}
+		
+		return false;
+	}
+
+	private static double squaredDistance(double[] first, double[] second)
+	{
+		double distance = 0.0;
+		
+		for (int k = 0; k < first.length; k++)
+		{
+			double difference = first[k] - second[k];
+			distance += difference * difference;
+		}
+		
+		return distance;
+	}
+}
\ No newline at end of file
@@ -4,5 +4,9 @@ import sobol.base.solution.Solution;
 
 public interface Notifier
 {
+	/**
+	 * Reports the best individual of a generation. The algorithm reuses the individual in
+	 * later generations, so a copy must be taken if it is to be kept.
+	 */
 	void newIteration(int number, Solution best);
 }
\ No newline at end of file
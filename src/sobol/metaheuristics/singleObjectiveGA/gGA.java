@@ -6,12 +6,15 @@
 package sobol.metaheuristics.singleObjectiveGA;
 
 import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import sobol.base.algorithm.BatchEvaluator;
 import sobol.base.algorithm.Problem;
 import sobol.base.comparator.ObjectiveComparator;
 import sobol.base.crossover.CrossoverOperator;
 import sobol.base.mutation.MutationOperator;
 import sobol.base.selection.SelectionOperator;
 import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionPool;
 import sobol.base.solution.SolutionSet;
 
 /**
@@ -20,6 +23,7 @@ import sobol.base.solution.SolutionSet;
 public class gGA
 {
 	private Problem problem_;
+	private BatchEvaluator evaluator_;
 
 	/**
 	 * Constructor Create a new GGA instance.
@@ -27,8 +31,22 @@ public class gGA
 	 * @param problem Problem to solve.
 	 */
 	public gGA(Problem problem)
+	{
+		this(problem, null);
+	}
+
+	/**
+	 * Constructor Create a new GGA instance that evaluates each generation as a batch
+	 * on an executor, which requires a problem able to evaluate several solutions at
+	 * the same time.
+	 * 
+	 * @param problem Problem to solve.
+	 * @param executor Executor that runs the evaluations, or null to run them in sequence.
+	 */
+	public gGA(Problem problem, ExecutorService executor)
 	{
 		this.problem_ = problem;
+		this.evaluator_ = new BatchEvaluator(problem, executor);
 	}
 
 	/**
@@ -40,7 +58,9 @@ public class gGA
 	}
 
 	/**
-	 * Execute the GGA algorithm given a notifier
+	 * Execute the GGA algorithm given a notifier. The current and offspring populations
+	 * swap roles every generation, and the individuals of the replaced population are
+	 * recycled as offspring of the following ones.
 	 */
 	public SolutionSet execute(int populationSize, int maxEvaluations, CrossoverOperator crossoverOperator, MutationOperator mutationOperator, SelectionOperator selectionOperator, Notifier notifier)
 	{
@@ -50,16 +70,18 @@ public class gGA
 		// Initialize the variables
 		SolutionSet population = new SolutionSet(populationSize);
 		SolutionSet offspringPopulation = new SolutionSet(populationSize);
+		SolutionPool pool = new SolutionPool();
 		int evaluations = 0;
 
 		// Create the initial population
 		for (int i = 0; i < populationSize; i++)
 		{
 			Solution newIndividual = problem_.newSolution();
-			problem_.evaluate(newIndividual);
 			evaluations++;
 			population.add(newIndividual);
 		}
+		
+		evaluator_.evaluate(population);
 
 		// Sort population
 		population.sort(comparator);
@@ -67,8 +89,12 @@ public class gGA
 		while (evaluations < maxEvaluations)
 		{
 			// Copy the best two individuals to the offspring population
-			offspringPopulation.add(population.get(0).clone());
-			offspringPopulation.add(population.get(1).clone());
+			for (int i = 0; i < 2; i++)
+			{
+				Solution elite = pool.acquire(population.get(i));
+				elite.copyFrom(population.get(i));
+				offspringPopulation.add(elite);
+			}
 
 			// Reproductive cycle
 			for (int i = 0; i < (populationSize / 2 - 1); i++)
@@ -78,29 +104,30 @@ public class gGA
 				Solution parent1 = selectionOperator.execute(population);
 
 				// Crossover
-				Solution[] offspring = crossoverOperator.execute(parent0, parent1);
+				Solution child0 = pool.acquire(parent0);
+				Solution child1 = pool.acquire(parent1);
+				crossoverOperator.executeInto(parent0, parent1, child0, child1);
 
 				// Mutation
-				mutationOperator.execute(offspring[0]);
-				mutationOperator.execute(offspring[1]);
-
-				// Evaluation of the new individual
-				problem_.evaluate(offspring[0]);
-				problem_.evaluate(offspring[1]);
-				evaluations += 2;
+				mutationOperator.execute(child0);
+				mutationOperator.execute(child1);
 
 				// Replacement: the two new individuals are inserted in the offspring population
-				offspringPopulation.add(offspring[0]);
-				offspringPopulation.add(offspring[1]);
+				offspringPopulation.add(child0);
+				offspringPopulation.add(child1);
+				evaluations += 2;
 			}
 
+			// Evaluation of the new individuals, skipping the elite
+			evaluator_.evaluate(offspringPopulation, 2, offspringPopulation.size());
+
 			// The offspring population becomes the new current population
+			pool.recycle(population, offspringPopulation);
 			population.clear();
-
-			for (int i = 0; i < populationSize; i++)
-				population.add(offspringPopulation.get(i));
-
-			offspringPopulation.clear();
+			
+			SolutionSet swap = population;
+			population = offspringPopulation;
+			offspringPopulation = swap;
 			population.sort(comparator);
 
 			if (notifier != null)
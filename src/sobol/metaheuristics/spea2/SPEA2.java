@@ -6,12 +6,15 @@
 
 package sobol.metaheuristics.spea2;
 
+import java.util.concurrent.ExecutorService;
 import javax.management.JMException;
+import sobol.base.algorithm.BatchEvaluator;
 import sobol.base.algorithm.Problem;
 import sobol.base.crossover.CrossoverOperator;
 import sobol.base.mutation.MutationOperator;
 import sobol.base.selection.SelectionOperator;
 import sobol.base.solution.Solution;
+import sobol.base.solution.SolutionPool;
 import sobol.base.solution.SolutionSet;
 import sobol.metaheuristics.nsgaII.Notifier;
 import sobol.metaheuristics.nsgaII.Ranking;
@@ -31,18 +34,38 @@ public class SPEA2
 	 */
 	private Problem problem_;
 
+	/**
+	 * Evaluates the solutions created in each generation
+	 */
+	private BatchEvaluator evaluator_;
+
 	/**
 	 * Constructor. Create a new SPEA2 instance
 	 * 
 	 * @param problem Problem to solve
 	 */
 	public SPEA2(Problem problem)
+	{
+		this(problem, null);
+	}
+
+	/**
+	 * Constructor. Create a new SPEA2 instance that evaluates each generation as a
+	 * batch on an executor, which requires a problem able to evaluate several
+	 * solutions at the same time.
+	 * 
+	 * @param problem Problem to solve
+	 * @param executor Executor that runs the evaluations, or null to run them in sequence
+	 */
+	public SPEA2(Problem problem, ExecutorService executor)
 	{
 		this.problem_ = problem;
+		this.evaluator_ = new BatchEvaluator(problem, executor);
 	}
 
 	/**
-	 * Runs of the Spea2 algorithm.
+	 * Runs of the Spea2 algorithm. The population and offspring sets swap roles every
+	 * generation, and the solutions left out of the archive are recycled as offspring.
 	 * 
 	 * @return a <code>SolutionSet</code> that is a set of non dominated
 	 *         solutions as a result of the algorithm execution
@@ -53,6 +76,9 @@ public class SPEA2
 		// Initialize the variables
 		SolutionSet solutionSet = new SolutionSet(populationSize);
 		SolutionSet archive = new SolutionSet(archiveSize);
+		SolutionSet offSpringSolutionSet = new SolutionSet(populationSize);
+		SolutionPool pool = new SolutionPool();
+		Solution discarded = null;
 		int evaluations = 0;
 		int generations = 0;
 
@@ -60,20 +86,23 @@ public class SPEA2
 		for (int i = 0; i < populationSize; i++)
 		{
 			Solution newSolution = problem_.newSolution();
-			problem_.evaluate(newSolution);
 			evaluations++;
 			solutionSet.add(newSolution);
 		}
+		
+		evaluator_.evaluate(solutionSet);
 
 		while (evaluations < maxEvaluations)
 		{
 			SolutionSet union = ((SolutionSet) solutionSet).union(archive);
 			Spea2Fitness spea = new Spea2Fitness(union);
 			spea.fitnessAssign();
+			SolutionSet previousArchive = archive;
 			archive = spea.environmentalSelection(archiveSize);
+			pool.recycle(solutionSet, archive);
+			pool.recycle(previousArchive, archive);
 			
-			// Create a new offspringPopulation
-			SolutionSet offSpringSolutionSet = new SolutionSet(populationSize);
+			// Create a new offspringPopulation, which is evaluated as a batch
 			Solution parent0, parent1;
 			
 			while (offSpringSolutionSet.size() < populationSize)
@@ -94,15 +123,24 @@ public class SPEA2
 					parent1 = (Solution) selectionOperator.execute(archive);
 				} while (k < SPEA2.TOURNAMENTS_ROUNDS);
 
-				// make the crossover
-				Solution[] offSpring = (Solution[]) crossoverOperator.execute(parent0, parent1);
-				mutationOperator.execute(offSpring[0]);
-				problem_.evaluate(offSpring[0]);
-				offSpringSolutionSet.add(offSpring[0]);
+				// make the crossover, keeping only the first child
+				Solution child = pool.acquire(parent0);
+				
+				if (discarded == null)
+					discarded = parent1.clone();
+				
+				crossoverOperator.executeInto(parent0, parent1, child, discarded);
+				mutationOperator.execute(child);
+				offSpringSolutionSet.add(child);
 				evaluations++;
 			}
+			
+			evaluator_.evaluate(offSpringSolutionSet);
 
+			SolutionSet swap = solutionSet;
 			solutionSet = offSpringSolutionSet;
+			offSpringSolutionSet = swap;
+			offSpringSolutionSet.clear();
 
 			if (notifier != null)
 				notifier.newIteration(generations++, evaluations, solutionSet);
@@ -8,8 +8,12 @@ import javax.management.modelmbean.XMLParseException;
 import sobol.base.random.RandomGeneratorFactory;
 import sobol.base.random.faure.FaureRandomGeneratorFactory;
 import sobol.base.random.generic.AbstractRandomGeneratorFactory;
+import sobol.base.random.generic.PooledRandomGeneratorFactory;
+import sobol.base.random.generic.Scrambling;
+import sobol.base.random.generic.SplittableRandomGeneratorFactory;
 import sobol.base.random.halton.HaltonRandomGeneratorFactory;
 import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
+import sobol.base.random.sobol.ScrambledSobolRandomGeneratorFactory;
 import sobol.base.random.sobol.SobolRandomGeneratorFactory;
 import sobol.problems.clustering.generic.calculator.CalculadorIncrementalEVM;
 import sobol.problems.clustering.generic.calculator.CalculadorIncrementalMQ;
@@ -23,6 +27,10 @@ public class MainProgram
 	private static int CICLOS = 100;
 
 	private static int POPULATION_SIZE = 2000;
+
+	private static long SEED = 20140418L;
+
+	private static int POOL_SIZE = 1000;
 	
 	private static String[] instanceFilenamesReals =
 	{
@@ -92,10 +100,19 @@ public class MainProgram
 		return instances;
 	}
 	
-	private void runInstance(PrintWriter out, PrintWriter details, ICalculadorIncremental calculador, String tipo, Project instance, int cycles, int popSize) throws Exception
+	private AbstractRandomGeneratorFactory createCycleFactory(AbstractRandomGeneratorFactory randomFactory, int cycle)
+	{
+		if (randomFactory instanceof SplittableRandomGeneratorFactory)
+			return ((SplittableRandomGeneratorFactory) randomFactory).forCycle(cycle);
+		
+		return randomFactory;
+	}
+	
+	private void runInstance(PrintWriter out, PrintWriter details, ICalculadorIncremental calculador, String tipo, AbstractRandomGeneratorFactory randomFactory, Project instance, int cycles, int popSize) throws Exception
 	{
 		for (int i = 0; i < cycles; i++)
 		{
+			RandomGeneratorFactory.setRandomFactoryForPopulation(createCycleFactory(randomFactory, i));
 			int maxEvaluations = popSize * instance.getClassCount() * instance.getClassCount();
 			HillClimbingClustering hcc = new HillClimbingClustering(details, calculador, instance, maxEvaluations);
 			
@@ -124,9 +141,8 @@ public class MainProgram
 		for (int i = 0; i < instances.size(); i++)
 		{
 			Project projeto = instances.elementAt(i);
-			RandomGeneratorFactory.setRandomFactoryForPopulation(randomFactory);
 			ICalculadorIncremental calculador = new CalculadorIncrementalMQ(projeto, projeto.getClassCount());
-			runInstance(out, details, calculador, randomType, projeto, CICLOS, POPULATION_SIZE);
+			runInstance(out, details, calculador, randomType, randomFactory, projeto, CICLOS, POPULATION_SIZE);
 		}
 
 		out.close();
@@ -147,9 +163,8 @@ public class MainProgram
 		for (int i = 0; i < instances.size(); i++)
 		{
 			Project projeto = instances.elementAt(i);
-			RandomGeneratorFactory.setRandomFactoryForPopulation(randomFactory);
 			ICalculadorIncremental calculador = new CalculadorIncrementalEVM(projeto, projeto.getClassCount());
-			runInstance(out, details, calculador, randomType, projeto, CICLOS, POPULATION_SIZE);
+			runInstance(out, details, calculador, randomType, randomFactory, projeto, CICLOS, POPULATION_SIZE);
 		}
 
 		out.close();
@@ -166,9 +181,10 @@ public class MainProgram
 		Vector<Project> instances = new Vector<Project>();
 		instances.addAll(mp.readInstances(instanceFilenamesReals));
 		
-		mp.runInstanceGroupMQ(instances, "SOBOL", new SobolRandomGeneratorFactory());
-		mp.runInstanceGroupMQ(instances, "FAURE", new FaureRandomGeneratorFactory());
-		mp.runInstanceGroupMQ(instances, "HALTON", new HaltonRandomGeneratorFactory());
-		mp.runInstanceGroupMQ(instances, "PSEUDO", new PseudoRandomGeneratorFactory());		
+		mp.runInstanceGroupMQ(instances, "SOBOL", new PooledRandomGeneratorFactory(new SobolRandomGeneratorFactory(), POOL_SIZE));
+		mp.runInstanceGroupMQ(instances, "FAURE", new PooledRandomGeneratorFactory(new FaureRandomGeneratorFactory(), POOL_SIZE));
+		mp.runInstanceGroupMQ(instances, "HALTON", new PooledRandomGeneratorFactory(new HaltonRandomGeneratorFactory(), POOL_SIZE));
+		mp.runInstanceGroupMQ(instances, "PSEUDO", new PseudoRandomGeneratorFactory(SEED));
+		mp.runInstanceGroupMQ(instances, "SOBOL-LMS", new ScrambledSobolRandomGeneratorFactory(Scrambling.LINEAR_MATRIX, SEED));		
 	}
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import sobol.base.random.RandomGeneratorFactory;
 import sobol.base.random.faure.FaureRandomGeneratorFactory;
+import sobol.base.random.generic.PooledRandomGeneratorFactory;
 import sobol.base.random.halton.HaltonRandomGeneratorFactory;
 import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
 import sobol.base.random.sobol.SobolRandomGeneratorFactory;
@@ -16,6 +17,7 @@ public class MainProgram
 {
 	private static String GERADOR = "pseudo";
 	private static int CICLOS = 10;
+	private static int POOL_SIZE = 1000;
 
 	private static void run(PrintWriter out, PrintWriter details, String tipo, String instancia, double orcamento, int ciclos, int tamanho) throws Exception
 	{
@@ -50,13 +52,13 @@ public class MainProgram
 			RandomGeneratorFactory.setRandomFactoryForPopulation(new PseudoRandomGeneratorFactory());
 
 		if (GERADOR.compareTo("faure") == 0)
-			RandomGeneratorFactory.setRandomFactoryForPopulation(new FaureRandomGeneratorFactory());
+			RandomGeneratorFactory.setRandomFactoryForPopulation(new PooledRandomGeneratorFactory(new FaureRandomGeneratorFactory(), POOL_SIZE));
 
 		if (GERADOR.compareTo("halton") == 0)
-			RandomGeneratorFactory.setRandomFactoryForPopulation(new HaltonRandomGeneratorFactory());
+			RandomGeneratorFactory.setRandomFactoryForPopulation(new PooledRandomGeneratorFactory(new HaltonRandomGeneratorFactory(), POOL_SIZE));
 
 		if (GERADOR.compareTo("sobol") == 0)
-			RandomGeneratorFactory.setRandomFactoryForPopulation(new SobolRandomGeneratorFactory());
+			RandomGeneratorFactory.setRandomFactoryForPopulation(new PooledRandomGeneratorFactory(new SobolRandomGeneratorFactory(), POOL_SIZE));
 	}
 	
 	public static final void main(String[] args) throws Exception
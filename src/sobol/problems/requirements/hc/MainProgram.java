@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Vector;
 import sobol.base.random.RandomGeneratorFactory;
 import sobol.base.random.faure.FaureRandomGeneratorFactory;
+import sobol.base.random.generic.PooledRandomGeneratorFactory;
 import sobol.base.random.halton.HaltonRandomGeneratorFactory;
 import sobol.base.random.pseudo.PseudoRandomGeneratorFactory;
 import sobol.base.random.sobol.SobolRandomGeneratorFactory;
@@ -16,6 +17,8 @@ import sobol.problems.requirements.reader.RequirementReader;
 public class MainProgram
 {
 	private static int CICLOS = 1;
+
+	private static int POOL_SIZE = 1000;
 	
 	private static String[] instanceFilenamesClassic =
 	{
@@ -101,17 +104,17 @@ public class MainProgram
 			mp.runInstance(out, details, "PSEUDO", instance, CICLOS, 0.5);
 			mp.runInstance(out, details, "PSEUDO", instance, CICLOS, 0.7);
 
-			RandomGeneratorFactory.setRandomFactoryForPopulation(new SobolRandomGeneratorFactory());
+			RandomGeneratorFactory.setRandomFactoryForPopulation(new PooledRandomGeneratorFactory(new SobolRandomGeneratorFactory(), POOL_SIZE));
 			mp.runInstance(out, details, "SOBOL", instance, CICLOS, 0.3);
 			mp.runInstance(out, details, "SOBOL", instance, CICLOS, 0.5);
 			mp.runInstance(out, details, "SOBOL", instance, CICLOS, 0.7);
 			
-			RandomGeneratorFactory.setRandomFactoryForPopulation(new HaltonRandomGeneratorFactory());
+			RandomGeneratorFactory.setRandomFactoryForPopulation(new PooledRandomGeneratorFactory(new HaltonRandomGeneratorFactory(), POOL_SIZE));
 			mp.runInstance(out, details, "HALTON", instance, CICLOS, 0.3);
 			mp.runInstance(out, details, "HALTON", instance, CICLOS, 0.5);
 			mp.runInstance(out, details, "HALTON", instance, CICLOS, 0.7);
 
-			RandomGeneratorFactory.setRandomFactoryForPopulation(new FaureRandomGeneratorFactory());
+			RandomGeneratorFactory.setRandomFactoryForPopulation(new PooledRandomGeneratorFactory(new FaureRandomGeneratorFactory(), POOL_SIZE));
 			mp.runInstance(out, details, "FAURE", instance, CICLOS, 0.3);
 			mp.runInstance(out, details, "FAURE", instance, CICLOS, 0.5);
 			mp.runInstance(out, details, "FAURE", instance, CICLOS, 0.7);